@@ -0,0 +1,125 @@
+package com.meko.restapi.benchmark;
+
+import com.meko.restapi.Application;
+import com.meko.restapi.dto.BatchResultDTO;
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.service.MatchOddsService;
+import com.meko.restapi.service.MatchService;
+import com.meko.restapi.support.SqlStatementCounter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows stored per second by the batch services against one call per row, on the embedded H2
+ * database of the test profile. A match row counts its opening odds as rows too. Odds go to
+ * matches created before each call, {@value #ODDS_PER_TARGET} per match with the same
+ * specifiers in every match, like a feed's markets. A single match collecting every call's odds
+ * under ever new specifiers would grow without bound and mostly measure how the odds board and
+ * the key lookups scale with tens of thousands of specifiers. The test profile's statement
+ * counter is reset before each call for the same reason.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BatchInsertBenchmark {
+
+    private static final int ODDS_ROWS = 1000;
+    private static final int ODDS_PER_TARGET = 50;
+    private static final int MATCHES = 200;
+    private static final int ODDS_PER_MATCH = 4;
+    private static final int MATCH_ROWS = MATCHES * (1 + ODDS_PER_MATCH);
+
+    private ConfigurableApplicationContext context;
+    private MatchService matchService;
+    private MatchOddsService matchOddsService;
+    private final List<Long> targetMatchIds = new ArrayList<>();
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.docker.compose.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.meko.restapi=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        matchService = context.getBean(MatchService.class);
+        matchOddsService = context.getBean(MatchOddsService.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void createTargetMatches() {
+        SqlStatementCounter.reset();
+        targetMatchIds.clear();
+        for (MatchDTO target : BenchmarkData.newMatches(ODDS_ROWS / ODDS_PER_TARGET, 0)) {
+            targetMatchIds.add(matchService.createMatch(target).getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private List<MatchOddsDTO> nextOdds() {
+        List<MatchOddsDTO> odds = new ArrayList<>(ODDS_ROWS);
+        for (int i = 0; i < ODDS_ROWS; i++) {
+            long n = sequence++;
+            odds.add(new MatchOddsDTO(null, targetMatchIds.get(i / ODDS_PER_TARGET), "B" + i % ODDS_PER_TARGET,
+                    1.0 + (n % 40) * 0.25));
+        }
+        return odds;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ODDS_ROWS)
+    public void oddsOneByOne() {
+        for (MatchOddsDTO odds : nextOdds()) {
+            matchOddsService.createMatchOdds(odds);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ODDS_ROWS)
+    public BatchResultDTO oddsBatch() {
+        return matchOddsService.createMatchOddsBatch(nextOdds());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MATCH_ROWS)
+    public void matchesOneByOne() {
+        for (MatchDTO match : BenchmarkData.newMatches(MATCHES, ODDS_PER_MATCH)) {
+            List<MatchOddsDTO> odds = match.getMatchOdds();
+            match.setMatchOdds(null);
+            Long matchId = matchService.createMatch(match).getId();
+            for (MatchOddsDTO matchOdds : odds) {
+                matchOdds.setMatchId(matchId);
+                matchOddsService.createMatchOdds(matchOdds);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MATCH_ROWS)
+    public BatchResultDTO matchesBatch() {
+        return matchService.createMatchesBatch(BenchmarkData.newMatches(MATCHES, ODDS_PER_MATCH));
+    }
+}
@@ -0,0 +1,84 @@
+package com.meko.restapi.benchmark;
+
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.entity.Match;
+import com.meko.restapi.entity.MatchOdds;
+import com.meko.restapi.enumeration.Sport;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic fixtures shared by the benchmarks, so runs are comparable
+ */
+final class BenchmarkData {
+
+    private static final String[] SPECIFIERS = {"1", "X", "2", "O2.5", "U2.5", "GG", "NG"};
+
+    private BenchmarkData() {
+    }
+
+    static String specifier(int index) {
+        String base = SPECIFIERS[index % SPECIFIERS.length];
+        return index < SPECIFIERS.length ? base : base + "#" + index / SPECIFIERS.length;
+    }
+
+    static MatchDTO matchDTO(long id, int oddsCount) {
+        List<MatchOddsDTO> odds = new ArrayList<>(oddsCount);
+        for (int i = 0; i < oddsCount; i++) {
+            odds.add(new MatchOddsDTO(id * 1000 + i, id, specifier(i), 1.0 + (i % 40) * 0.25));
+        }
+        return new MatchDTO(id, "Team " + id + "A-Team " + id + "B",
+                LocalDate.of(2025, 1, 1).plusDays(id % 365), LocalTime.of(12 + (int) (id % 10), 0),
+                "Team " + id + "A", "Team " + id + "B",
+                id % 2 == 0 ? Sport.FOOTBALL : Sport.BASKETBALL, odds);
+    }
+
+    static Match match(long id, int oddsCount) {
+        Match match = new Match();
+        match.setId(id);
+        match.setDescription("Team " + id + "A-Team " + id + "B");
+        match.setMatchDate(LocalDate.of(2025, 1, 1).plusDays(id % 365));
+        match.setMatchTime(LocalTime.of(12 + (int) (id % 10), 0));
+        match.setTeamA("Team " + id + "A");
+        match.setTeamB("Team " + id + "B");
+        match.setSport(id % 2 == 0 ? Sport.FOOTBALL : Sport.BASKETBALL);
+        List<MatchOdds> odds = new ArrayList<>(oddsCount);
+        for (int i = 0; i < oddsCount; i++) {
+            MatchOdds matchOdds = new MatchOdds();
+            matchOdds.setId(id * 1000 + i);
+            matchOdds.setMatch(match);
+            matchOdds.setSpecifier(specifier(i));
+            matchOdds.setOdd(1.0 + (i % 40) * 0.25);
+            odds.add(matchOdds);
+        }
+        match.setMatchOdds(odds);
+        return match;
+    }
+
+    static List<MatchDTO> matchDTOs(int count, int oddsPerMatch) {
+        List<MatchDTO> matches = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            matches.add(matchDTO(id, oddsPerMatch));
+        }
+        return matches;
+    }
+
+    /**
+     * Matches without ids, ready to be stored through the batch endpoint or service
+     */
+    static List<MatchDTO> newMatches(int count, int oddsPerMatch) {
+        List<MatchDTO> matches = matchDTOs(count, oddsPerMatch);
+        matches.forEach(match -> {
+            match.setId(null);
+            match.getMatchOdds().forEach(odds -> {
+                odds.setId(null);
+                odds.setMatchId(null);
+            });
+        });
+        return matches;
+    }
+}
@@ -0,0 +1,43 @@
+package com.meko.restapi.benchmark;
+
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.entity.Match;
+import com.meko.restapi.util.DtoEntityConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/DTO conversion cost as the number of odds per match grows
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DtoConverterBenchmark {
+
+    @Param({"0", "10", "100"})
+    private int oddsPerMatch;
+
+    private Match match;
+    private MatchDTO matchDTO;
+
+    @Setup
+    public void setUp() {
+        match = BenchmarkData.match(42, oddsPerMatch);
+        matchDTO = BenchmarkData.matchDTO(42, oddsPerMatch);
+    }
+
+    @Benchmark
+    public MatchDTO entityToDto() {
+        return DtoEntityConverter.convertToDTO(match);
+    }
+
+    @Benchmark
+    public Match dtoToEntity() {
+        return DtoEntityConverter.convertToEntity(matchDTO);
+    }
+}
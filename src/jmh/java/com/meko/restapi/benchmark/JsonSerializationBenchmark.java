@@ -0,0 +1,59 @@
+package com.meko.restapi.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.util.MatchFields;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON cost of the match list response, using a mapper configured like the one Spring Boot builds
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonSerializationBenchmark {
+
+    private static final TypeReference<List<MatchDTO>> MATCH_LIST = new TypeReference<>() {
+    };
+
+    @Param({"10", "1000"})
+    private int matchCount;
+
+    @Param({"3"})
+    private int oddsPerMatch;
+
+    private ObjectMapper objectMapper;
+    private List<MatchDTO> matches;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .filters(MatchFields.SERIALIZE_ALL)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        matches = BenchmarkData.matchDTOs(matchCount, oddsPerMatch);
+        json = objectMapper.writeValueAsBytes(matches);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(matches);
+    }
+
+    @Benchmark
+    public List<MatchDTO> deserialize() throws IOException {
+        return objectMapper.readValue(json, MATCH_LIST);
+    }
+}
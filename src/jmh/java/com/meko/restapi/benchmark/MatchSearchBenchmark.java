@@ -0,0 +1,128 @@
+package com.meko.restapi.benchmark;
+
+import com.meko.restapi.Application;
+import com.meko.restapi.dto.CursorPageDTO;
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.dto.MatchSearchCriteria;
+import com.meko.restapi.enumeration.Sport;
+import com.meko.restapi.service.MatchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/matches/search latency over a million matches (two odds each), with and without the
+ * V2 search indexes. Rows are generated in SQL: 2 years of dates, kickoffs between 10:00 and 21:30,
+ * 2000 teams. H2 indexes foreign keys on its own, so odds lookups stay indexed in both variants.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class MatchSearchBenchmark {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+    private static final int DAYS = 730;
+    private static final int TEAMS = 2000;
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"1000000"})
+    private int matchCount;
+
+    @Param({"true", "false"})
+    private boolean indexed;
+
+    private ConfigurableApplicationContext context;
+    private MatchService matchService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:search-" + indexed
+                                + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+                        "--spring.docker.compose.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.meko.restapi=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        matchService = context.getBean(MatchService.class);
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        // SYSTEM_RANGE names its column X, which DATABASE_TO_LOWER would otherwise look up as x
+        String numbers = "(select \"X\" as n from system_range(1, ?)) numbers";
+        jdbc.update("""
+                insert into matches (id, description, match_date, match_time, team_a, team_b, sport)
+                select n, 'Match ' || n,
+                       dateadd(day, mod(n, ?), date '2025-01-01'),
+                       cast(lpad(cast(10 + mod(n, 12) as varchar), 2, '0') || case when mod(n, 2) = 0 then ':00' else ':30' end as time),
+                       'Team ' || mod(n, ?), 'Team ' || mod(n * 7 + 3, ?),
+                       case when mod(n, 2) = 0 then 'FOOTBALL' else 'BASKETBALL' end
+                from %s
+                """.formatted(numbers), DAYS, TEAMS, TEAMS, matchCount);
+        jdbc.update("insert into match_odds (id, match_id, specifier, odd) select n * 2, n, '1', 1.85 from " + numbers, matchCount);
+        jdbc.update("insert into match_odds (id, match_id, specifier, odd) select n * 2 + 1, n, '2', 2.10 from " + numbers, matchCount);
+        if (!indexed) {
+            for (String index : new String[]{"idx_matches_kickoff", "idx_matches_sport_kickoff",
+                    "idx_matches_team_a_kickoff", "idx_matches_team_b_kickoff", "idx_match_odds_match_id"}) {
+                jdbc.execute("drop index " + index);
+            }
+        }
+        jdbc.execute("analyze");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private static LocalDate randomDay(int lastOffset) {
+        return FIRST_DAY.plusDays(ThreadLocalRandom.current().nextInt(DAYS - lastOffset));
+    }
+
+    private static String randomTeam() {
+        return "Team " + ThreadLocalRandom.current().nextInt(TEAMS);
+    }
+
+    @Benchmark
+    public CursorPageDTO<MatchDTO> sportInWeek() {
+        LocalDate from = randomDay(7);
+        return matchService.searchMatches(
+                new MatchSearchCriteria(Sport.FOOTBALL, from, from.plusDays(6), null, null, null), null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPageDTO<MatchDTO> team() {
+        return matchService.searchMatches(
+                new MatchSearchCriteria(null, null, null, randomTeam(), null, null), null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPageDTO<MatchDTO> eveningKickoffsInWeek() {
+        LocalDate from = randomDay(7);
+        return matchService.searchMatches(new MatchSearchCriteria(null, from, from.plusDays(6), null,
+                LocalTime.of(18, 0), LocalTime.of(21, 0)), null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPageDTO<MatchDTO> sportAndTeamInMonth() {
+        LocalDate from = randomDay(31);
+        return matchService.searchMatches(
+                new MatchSearchCriteria(Sport.BASKETBALL, from, from.plusDays(30), randomTeam(), null, null), null, PAGE_SIZE);
+    }
+}
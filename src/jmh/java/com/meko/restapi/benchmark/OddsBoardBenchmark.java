@@ -0,0 +1,118 @@
+package com.meko.restapi.benchmark;
+
+import com.meko.restapi.Application;
+import com.meko.restapi.config.CacheConfig;
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.service.MatchOddsService;
+import com.meko.restapi.service.MatchService;
+import com.meko.restapi.service.OddsBoardService;
+import com.meko.restapi.util.OddsBoard;
+import com.meko.restapi.util.Versioned;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-match and full-board odds reads from the in-memory board against the JPA path on the
+ * embedded H2 database. Per-match reads are measured as the odds endpoint serves them (from
+ * the per-match cache) and with the cache entry evicted first, so every call loads the rows.
+ * Board reads feed a checksum instead of building objects, as the board endpoints write
+ * straight to JSON.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OddsBoardBenchmark {
+
+    private static final int ODDS_PER_MATCH = 5;
+
+    @Param({"10000"})
+    private int matchCount;
+
+    private ConfigurableApplicationContext context;
+    private MatchService matchService;
+    private MatchOddsService matchOddsService;
+    private OddsBoardService oddsBoardService;
+    private Cache matchOddsCache;
+    private List<Long> matchIds;
+    private long checksum;
+    private final OddsBoard.OddsConsumer sum = (matchId, oddsId, specifier, odd) ->
+            checksum += oddsId + specifier.length() + Double.doubleToRawLongBits(odd);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.docker.compose.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.meko.restapi=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        matchService = context.getBean(MatchService.class);
+        matchOddsService = context.getBean(MatchOddsService.class);
+        oddsBoardService = context.getBean(OddsBoardService.class);
+        matchOddsCache = context.getBean(CacheManager.class).getCache(CacheConfig.MATCH_ODDS_CACHE);
+
+        for (int created = 0; created < matchCount; created += 1000) {
+            matchService.createMatchesBatch(BenchmarkData.newMatches(Math.min(1000, matchCount - created), ODDS_PER_MATCH));
+        }
+        matchIds = new ArrayList<>();
+        matchService.exportMatches(match -> matchIds.add(match.getId()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private Long randomMatchId() {
+        return matchIds.get(ThreadLocalRandom.current().nextInt(matchIds.size()));
+    }
+
+    @Benchmark
+    public Versioned<List<MatchOddsDTO>> matchOddsCached() {
+        return matchOddsService.getVersionedMatchOddsByMatchId(randomMatchId());
+    }
+
+    @Benchmark
+    public Versioned<List<MatchOddsDTO>> matchOddsJpa() {
+        Long matchId = randomMatchId();
+        matchOddsCache.evict(matchId);
+        return matchOddsService.getVersionedMatchOddsByMatchId(matchId);
+    }
+
+    @Benchmark
+    public long matchOddsBoard() {
+        checksum = 0;
+        oddsBoardService.forEachOdds(randomMatchId(), sum);
+        return checksum;
+    }
+
+    @Benchmark
+    public List<MatchDTO> fullBoardJpa() {
+        return matchService.getAllMatches();
+    }
+
+    @Benchmark
+    public long fullBoardBoard() {
+        checksum = 0;
+        oddsBoardService.forEachOdds(sum);
+        return checksum;
+    }
+}
@@ -0,0 +1,98 @@
+package com.meko.restapi.benchmark;
+
+import com.meko.restapi.Application;
+import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.service.MatchOddsService;
+import com.meko.restapi.service.MatchService;
+import com.meko.restapi.service.OddsWriteBehindService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Odds updates written synchronously (one transaction each) against updates accepted by
+ * write-behind, with and without forcing the journal to disk. Updates hit random odds of
+ * a small set of matches, as during live play; the flushes run in the background.
+ * {@code updateWriteBehindConcurrent} has eight writers share the journal fsyncs.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OddsWriteBehindBenchmark {
+
+    private static final int MATCH_COUNT = 100;
+    private static final int ODDS_PER_MATCH = 5;
+
+    @Param({"true", "false"})
+    private boolean journalSync;
+
+    private ConfigurableApplicationContext context;
+    private MatchOddsService matchOddsService;
+    private OddsWriteBehindService oddsWriteBehindService;
+    private final List<MatchOddsDTO> odds = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.docker.compose.enabled=false",
+                        "--app.odds-write-behind.enabled=true",
+                        "--app.odds-write-behind.journal-sync=" + journalSync,
+                        "--app.odds-write-behind.journal-dir=" + Files.createTempDirectory("odds-journal"),
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.meko.restapi=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        MatchService matchService = context.getBean(MatchService.class);
+        matchOddsService = context.getBean(MatchOddsService.class);
+        oddsWriteBehindService = context.getBean(OddsWriteBehindService.class);
+
+        matchService.createMatchesBatch(BenchmarkData.newMatches(MATCH_COUNT, ODDS_PER_MATCH));
+        matchService.exportMatches(match -> odds.addAll(match.getMatchOdds()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private MatchOddsDTO randomUpdate() {
+        MatchOddsDTO current = odds.get(ThreadLocalRandom.current().nextInt(odds.size()));
+        double odd = 1.01 + ThreadLocalRandom.current().nextInt(1000) / 100.0;
+        return new MatchOddsDTO(current.getId(), current.getMatchId(), current.getSpecifier(), odd);
+    }
+
+    @Benchmark
+    public MatchOddsDTO updateSynchronous() {
+        MatchOddsDTO update = randomUpdate();
+        return matchOddsService.updateMatchOdds(update.getId(), update);
+    }
+
+    @Benchmark
+    public boolean updateWriteBehind() {
+        MatchOddsDTO update = randomUpdate();
+        return oddsWriteBehindService.accept(update.getId(), update);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean updateWriteBehindConcurrent() {
+        return updateWriteBehind();
+    }
+}
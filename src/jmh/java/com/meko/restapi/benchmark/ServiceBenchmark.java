@@ -0,0 +1,125 @@
+package com.meko.restapi.benchmark;
+
+import com.meko.restapi.Application;
+import com.meko.restapi.dto.BatchResultDTO;
+import com.meko.restapi.dto.CursorPageDTO;
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.service.MatchOddsService;
+import com.meko.restapi.service.MatchService;
+import com.meko.restapi.util.Versioned;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service hot paths against the embedded H2 database of the test profile.
+ * Absolute numbers are not comparable with PostgreSQL, relative ones between runs are.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ServiceBenchmark {
+
+    private static final int ODDS_PER_MATCH = 5;
+    private static final int WRITE_BATCH_SIZE = 100;
+
+    @Param({"1000"})
+    private int matchCount;
+
+    private ConfigurableApplicationContext context;
+    private MatchService matchService;
+    private MatchOddsService matchOddsService;
+    private List<Long> matchIds;
+    private Long writeTargetId;
+    private String secondPageCursor;
+    private long writeSequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.docker.compose.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.meko.restapi=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        matchService = context.getBean(MatchService.class);
+        matchOddsService = context.getBean(MatchOddsService.class);
+
+        matchService.createMatchesBatch(BenchmarkData.newMatches(matchCount, ODDS_PER_MATCH));
+        matchIds = new ArrayList<>();
+        matchService.exportMatches(match -> matchIds.add(match.getId()));
+
+        MatchDTO writeTarget = BenchmarkData.matchDTO(0, 0);
+        writeTarget.setId(null);
+        writeTargetId = matchService.createMatch(writeTarget).getId();
+        secondPageCursor = matchService.getMatchesPage(null, 50).getNextCursor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private Long randomMatchId() {
+        return matchIds.get(ThreadLocalRandom.current().nextInt(matchIds.size()));
+    }
+
+    private MatchOddsDTO nextOdds() {
+        long n = writeSequence++;
+        return new MatchOddsDTO(null, writeTargetId, "W" + n, 1.0 + (n % 40) * 0.25);
+    }
+
+    @Benchmark
+    public MatchDTO getMatchById() {
+        return matchService.getMatchById(randomMatchId());
+    }
+
+    @Benchmark
+    public Versioned<List<MatchOddsDTO>> getVersionedMatchOddsByMatchId() {
+        return matchOddsService.getVersionedMatchOddsByMatchId(randomMatchId());
+    }
+
+    @Benchmark
+    public CursorPageDTO<MatchDTO> getMatchesPage() {
+        return matchService.getMatchesPage(secondPageCursor, 50);
+    }
+
+    @Benchmark
+    public List<MatchDTO> getAllMatches() {
+        return matchService.getAllMatches();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WRITE_BATCH_SIZE)
+    public void createMatchOddsOneByOne() {
+        for (int i = 0; i < WRITE_BATCH_SIZE; i++) {
+            matchOddsService.createMatchOdds(nextOdds());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WRITE_BATCH_SIZE)
+    public BatchResultDTO createMatchOddsBatch() {
+        List<MatchOddsDTO> batch = new ArrayList<>(WRITE_BATCH_SIZE);
+        for (int i = 0; i < WRITE_BATCH_SIZE; i++) {
+            batch.add(nextOdds());
+        }
+        return matchOddsService.createMatchOddsBatch(batch);
+    }
+}
@@ -0,0 +1,48 @@
+package com.meko.restapi.benchmark;
+
+import com.meko.restapi.util.TeamNameIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autocomplete lookups over 10k distinct teams playing a million matches, for a short
+ * (many candidates) and a longer (few candidates) prefix
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TeamNameIndexBenchmark {
+
+    private static final String[] WORDS = {"Athletic", "Real", "Dynamo", "Sporting", "Olympique", "União",
+            "Club", "Atlético", "Ολυμπιακός", "Παναθηναϊκός", "Racing", "Inter"};
+
+    @Param({"ath", "dynamo 1"})
+    private String prefix;
+
+    private TeamNameIndex index;
+
+    @Setup
+    public void setUp() {
+        int teams = 10_000;
+        index = new TeamNameIndex();
+        for (long matchId = 1; matchId <= 1_000_000; matchId++) {
+            index.add(team((int) (matchId * 7 % teams)), matchId);
+            index.add(team((int) (matchId * 13 % teams)), matchId);
+        }
+    }
+
+    private static String team(int i) {
+        return WORDS[i % WORDS.length] + " " + WORDS[(i / WORDS.length) % WORDS.length] + " " + i;
+    }
+
+    @Benchmark
+    public List<TeamNameIndex.Suggestion> suggest() {
+        return index.suggest(prefix, 10);
+    }
+}
@@ -0,0 +1,178 @@
+package com.meko.restapi.benchmark;
+
+import com.meko.restapi.Application;
+import com.meko.restapi.service.MatchService;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load test of the same application in platform-thread and virtual-thread mode.
+ * Each client keeps one request in flight against a mix of a database read
+ * (GET /api/matches/{id}) and a cached read (GET /api/match-odds/match/{id}).
+ * While the virtual-thread run is measured, JFR jdk.VirtualThreadPinned events are collected.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark -DskipTests test-compile exec:java \
+ *     -Dexec.mainClass=com.meko.restapi.benchmark.VirtualThreadLoadComparison -Dexec.classpathScope=test \
+ *     -Dload.clients=1000 -Dload.seconds=30
+ * </pre>
+ */
+public final class VirtualThreadLoadComparison {
+
+    private static final int MATCHES = 500;
+    private static final int ODDS_PER_MATCH = 5;
+
+    private VirtualThreadLoadComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("load.clients", 1000);
+        int seconds = Integer.getInteger("load.seconds", 30);
+        int warmupSeconds = Integer.getInteger("load.warmup-seconds", 10);
+
+        List<String> report = new ArrayList<>();
+        for (boolean virtual : new boolean[]{false, true}) {
+            report.add(run(virtual, clients, warmupSeconds, seconds));
+        }
+        System.out.printf("%nclients=%d, measured %ds after %ds warm-up, Hikari pool 10, Tomcat max threads 200%n",
+                clients, seconds, warmupSeconds);
+        System.out.printf("%-9s %10s %9s %9s %9s %9s %8s %7s%n",
+                "mode", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors", "pinned");
+        report.forEach(System.out::println);
+        System.exit(0);
+    }
+
+    private static String run(boolean virtual, int clients, int warmupSeconds, int seconds) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + virtual + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+                        "--spring.docker.compose.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.meko.restapi=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        try (RecordingStream pinning = new RecordingStream();
+             ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(clientThreads)
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .build()) {
+            context.getBean(MatchService.class).createMatchesBatch(BenchmarkData.newMatches(MATCHES, ODDS_PER_MATCH));
+            List<Long> matchIds = new ArrayList<>();
+            context.getBean(MatchService.class).exportMatches(match -> matchIds.add(match.getId()));
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            PinnedSites pinned = new PinnedSites();
+            pinning.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            pinning.onEvent("jdk.VirtualThreadPinned", pinned::add);
+            pinning.startAsync();
+
+            long start = System.nanoTime();
+            long measureFrom = start + Duration.ofSeconds(warmupSeconds).toNanos();
+            long deadline = measureFrom + Duration.ofSeconds(seconds).toNanos();
+            Queue<long[]> latencies = new ConcurrentLinkedQueue<>();
+            LongAdder errors = new LongAdder();
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                long[][] own = {new long[1024]};
+                int[] size = {0};
+                threads.add(Thread.ofVirtual().start(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        Long id = matchIds.get(random.nextInt(matchIds.size()));
+                        String path = random.nextBoolean() ? "/api/matches/" + id : "/api/match-odds/match/" + id;
+                        long sent = System.nanoTime();
+                        boolean ok;
+                        try {
+                            HttpResponse<Void> response = http.send(
+                                    HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30)).build(),
+                                    HttpResponse.BodyHandlers.discarding());
+                            ok = response.statusCode() == 200;
+                        } catch (Exception ex) {
+                            ok = false;
+                        }
+                        long done = System.nanoTime();
+                        if (sent < measureFrom) {
+                            continue;
+                        }
+                        if (!ok) {
+                            errors.increment();
+                        } else {
+                            if (size[0] == own[0].length) {
+                                own[0] = Arrays.copyOf(own[0], size[0] * 2);
+                            }
+                            own[0][size[0]++] = done - sent;
+                        }
+                    }
+                    latencies.add(Arrays.copyOf(own[0], size[0]));
+                }));
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            pinning.close();
+
+            long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            pinned.print();
+            return String.format("%-9s %10.0f %9.2f %9.2f %9.2f %9.2f %8d %7d",
+                    virtual ? "virtual" : "platform", all.length / (double) seconds,
+                    millis(all, 0.50), millis(all, 0.99), millis(all, 0.999),
+                    all.length == 0 ? 0 : all[all.length - 1] / 1e6, errors.sum(), pinned.count.get());
+        } finally {
+            context.close();
+        }
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)] / 1e6;
+    }
+
+    /**
+     * Pinned events grouped by the topmost application frame of their stack
+     */
+    private static final class PinnedSites {
+
+        private final AtomicLong count = new AtomicLong();
+        private final ConcurrentHashMap<String, LongAdder> sites = new ConcurrentHashMap<>();
+
+        void add(RecordedEvent event) {
+            count.incrementAndGet();
+            String site = event.getStackTrace() == null ? "unknown" : event.getStackTrace().getFrames().stream()
+                    .filter(RecordedFrame::isJavaFrame)
+                    .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                    .filter(name -> !name.startsWith("java.") && !name.startsWith("jdk."))
+                    .findFirst().orElse("jdk");
+            sites.computeIfAbsent(site, key -> new LongAdder()).increment();
+        }
+
+        void print() {
+            sites.forEach((site, n) -> System.out.printf("  pinned %6d x at %s%n", n.sum(), site));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.meko.restapi.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.meko.restapi.config.BinaryFormatConfig;
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.util.MatchFields;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode time and payload size of the match board in each negotiable format, with
+ * mappers configured like the HTTP message converters. The payload size is printed once per
+ * trial, since it does not vary between iterations.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(jvmArgsAppend = "-Xmx2g")
+public class WireFormatBenchmark {
+
+    private static final TypeReference<List<MatchDTO>> MATCH_LIST = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"10", "1000", "100000"})
+    private int matchCount;
+
+    @Param({"3"})
+    private int oddsPerMatch;
+
+    private ObjectMapper objectMapper;
+    private List<MatchDTO> matches;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json()
+                    .filters(MatchFields.SERIALIZE_ALL)
+                    .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .build();
+            case "cbor" -> binary(new CBORFactory());
+            case "smile" -> binary(SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build());
+            default -> throw new IllegalArgumentException(format);
+        };
+        matches = BenchmarkData.matchDTOs(matchCount, oddsPerMatch);
+        payload = objectMapper.writeValueAsBytes(matches);
+        System.out.printf("%s payload for %d matches: %d bytes%n", format, matchCount, payload.length);
+    }
+
+    private static ObjectMapper binary(JsonFactory factory) {
+        return BinaryFormatConfig.binaryMapper(Jackson2ObjectMapperBuilder.json().filters(MatchFields.SERIALIZE_ALL), factory);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return objectMapper.writeValueAsBytes(matches);
+    }
+
+    @Benchmark
+    public List<MatchDTO> decode() throws IOException {
+        return objectMapper.readValue(payload, MATCH_LIST);
+    }
+}
@@ -0,0 +1,46 @@
+package com.meko.restapi.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String MATCH_ODDS_CACHE = "matchOddsByMatch";
+
+    @Value("${app.cache.match-odds.max-size:10000}")
+    private long matchOddsMaxSize;
+
+    @Value("${app.cache.match-odds.ttl:30s}")
+    private Duration matchOddsTtl;
+
+    /**
+     * Bounded, TTL-evicting cache of odds lists per match. Statistics are recorded so that
+     * Actuator publishes hit, miss and eviction counters (cache.gets, cache.evictions).
+     * Loads run outside Caffeine's bin lock (see {@link CallerLoadingCaffeineCache}).
+     */
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(MATCH_ODDS_CACHE) {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new CallerLoadingCaffeineCache(name, cache, isAllowNullValues());
+            }
+        };
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(matchOddsMaxSize)
+                .expireAfterWrite(matchOddsTtl)
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
+    }
+}
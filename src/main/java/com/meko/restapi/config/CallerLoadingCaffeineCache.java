@@ -0,0 +1,99 @@
+package com.meko.restapi.config;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caffeine cache whose {@code @Cacheable(sync = true)} loads run on the calling thread without
+ * holding a lock. Caffeine's own get(key, loader) runs the loader inside the map's bin lock, which
+ * pins a virtual thread for the whole query; here concurrent callers for the same key wait on the
+ * first caller's future instead. An eviction during a load discards the loaded value, as with Caffeine:
+ * evict detaches the in-flight load and clears the entry under the same bin lock of the in-flight
+ * map that the loader takes to store its value, and clear bumps a generation the loader checks there.
+ */
+public class CallerLoadingCaffeineCache extends CaffeineCache {
+
+    private final ConcurrentMap<Object, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public CallerLoadingCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                                      boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        long startedIn = generation.get();
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = loading.putIfAbsent(key, load);
+        if (inFlight != null) {
+            try {
+                return (T) inFlight.join();
+            } catch (CompletionException ex) {
+                throw new ValueRetrievalException(key, valueLoader, ex.getCause());
+            }
+        }
+        try {
+            T value = valueLoader.call();
+            loading.compute(key, (k, current) -> {
+                if (current != load) {
+                    return current;
+                }
+                if (generation.get() == startedIn) {
+                    put(key, value);
+                }
+                return null;
+            });
+            load.complete(value);
+            return value;
+        } catch (Throwable ex) {
+            loading.remove(key, load);
+            load.completeExceptionally(ex);
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        loading.compute(key, (k, current) -> {
+            super.evict(key);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        AtomicBoolean present = new AtomicBoolean();
+        loading.compute(key, (k, current) -> {
+            present.set(super.evictIfPresent(key));
+            return null;
+        });
+        return present.get();
+    }
+
+    @Override
+    public void clear() {
+        generation.incrementAndGet();
+        loading.clear();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        generation.incrementAndGet();
+        loading.clear();
+        return super.invalidate();
+    }
+}
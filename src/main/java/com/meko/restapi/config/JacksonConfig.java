@@ -0,0 +1,20 @@
+package com.meko.restapi.config;
+
+import com.meko.restapi.util.MatchFields;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * MatchDTO carries a Jackson filter so that {@code ?fields=} can trim it per response. Every
+ * mapper built from Boot's builder, the CBOR and Smile ones included, writes all of its
+ * properties unless a response sets other filters.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer matchFieldsFilterCustomizer() {
+        return builder -> builder.filters(MatchFields.SERIALIZE_ALL);
+    }
+}
@@ -0,0 +1,73 @@
+package com.meko.restapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Active when app.datasource.replica.jdbc-url is set. Read-only transactions then run on the
+ * replica pool and everything else on the primary pool (spring.datasource.*).
+ * <p>
+ * The application's DataSource is a {@link LazyConnectionDataSourceProxy}: it fetches the
+ * physical connection at the first statement, by which time the transaction manager has
+ * marked the connection read-only, and takes it from the read-only target if so.
+ */
+@Configuration
+@ConditionalOnProperty("app.datasource.replica.jdbc-url")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Configured like a Hikari pool under app.datasource.replica (jdbc-url, username,
+     * password, maximum-pool-size, ...). Keep its connection-timeout short: it bounds how
+     * long a read waits before falling back to the primary.
+     */
+    @Bean
+    @ConfigurationProperties("app.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        return DataSourceBuilder.create().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 @Value("${app.datasource.replica.retry-interval:30s}") Duration retryInterval) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaFallbackDataSource(replica, primary, retryInterval));
+        return dataSource;
+    }
+
+    /**
+     * Picked up by Boot's task executor, which also runs streamed responses such as the
+     * export: the task keeps the read-your-writes pin of the request that submitted it, long
+     * after the request thread itself has been unpinned.
+     */
+    @Bean
+    public TaskDecorator primaryPinTaskDecorator() {
+        return ReplicaFallbackDataSource::propagatePin;
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(
+            @Value("${app.datasource.replica.read-your-writes-window:5s}") Duration window) {
+        return new ReadYourWritesFilter(window);
+    }
+}
@@ -0,0 +1,102 @@
+package com.meko.restapi.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Connections for read-only transactions. Hands out replica connections unless the current
+ * thread is pinned to the primary (read-your-writes) or the replica recently failed to give a
+ * connection; then the primary serves the read. After a failure the replica is skipped for
+ * the retry interval instead of paying its connection timeout on every read.
+ */
+@Slf4j
+public class ReplicaFallbackDataSource extends DelegatingDataSource {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final long retryIntervalMillis;
+    private volatile long replicaDownUntil;
+
+    public ReplicaFallbackDataSource(DataSource replica, DataSource primary, Duration retryInterval) {
+        super(replica);
+        this.primary = primary;
+        this.retryIntervalMillis = retryInterval.toMillis();
+    }
+
+    /**
+     * Sends this thread's reads to the primary until {@link #unpin()}
+     */
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED_TO_PRIMARY.get() != null;
+    }
+
+    /**
+     * Runs a read on the primary. For loads whose result outlives the request, such as cache
+     * entries: read from a lagging replica right after a write, they would keep serving the
+     * old state to everyone until they expire.
+     */
+    public static <T> T onPrimary(Supplier<T> read) {
+        if (isPinnedToPrimary()) {
+            return read.get();
+        }
+        pinToPrimary();
+        try {
+            return read.get();
+        } finally {
+            unpin();
+        }
+    }
+
+    /**
+     * Carries the pin of the submitting thread over to a task that runs on another thread
+     */
+    public static Runnable propagatePin(Runnable task) {
+        if (!isPinnedToPrimary()) {
+            return task;
+        }
+        return () -> onPrimary(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (isPinnedToPrimary() || System.currentTimeMillis() < replicaDownUntil) {
+            return primary.getConnection();
+        }
+        try {
+            return obtainTargetDataSource().getConnection();
+        } catch (SQLException | RuntimeException ex) {
+            // Hikari reports a pool that cannot start as a RuntimeException
+            replicaDownUntil = System.currentTimeMillis() + retryIntervalMillis;
+            log.warn("Replica unavailable, reading from the primary for the next {} ms: {}",
+                    retryIntervalMillis, ex.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("Routing data sources use the credentials of their pools");
+    }
+
+    public boolean isReplicaAvailable() {
+        return System.currentTimeMillis() >= replicaDownUntil;
+    }
+}
@@ -0,0 +1,45 @@
+package com.meko.restapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableScheduling
+public class StreamConfig {
+
+    @Value("${app.stream.dispatch-threads:8}")
+    private int dispatchThreads;
+
+    /**
+     * Writes pending odds changes to stream subscribers. Each subscriber has at most one
+     * queued drain task, so the queue is bounded by the number of subscribers.
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public TaskExecutor oddsStreamExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(dispatchThreads);
+        executor.setMaxPoolSize(dispatchThreads);
+        executor.setThreadNamePrefix("odds-stream-");
+        return executor;
+    }
+
+    /**
+     * Virtual-thread variant: one short-lived virtual thread per drain task, so a subscriber
+     * blocked on a slow socket does not hold up the others.
+     */
+    @Bean(name = "oddsStreamExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public TaskExecutor virtualOddsStreamExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("odds-stream-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+}
@@ -0,0 +1,35 @@
+package com.meko.restapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Active with spring.threads.virtual.enabled=true. Boot then serves requests and runs
+ * the task executor and scheduler on virtual threads; this adds the JDBC admission limit.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    /**
+     * Wraps the Hikari pool in a semaphore of the same size, waiting at most the pool's
+     * connection timeout for a permit.
+     */
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    return new ConnectionLimitingDataSource(dataSource,
+                            dataSource.getMaximumPoolSize(), dataSource.getConnectionTimeout());
+                }
+                return bean;
+            }
+        };
+    }
+}
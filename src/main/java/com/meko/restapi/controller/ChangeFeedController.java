@@ -0,0 +1,47 @@
+package com.meko.restapi.controller;
+
+import com.meko.restapi.dto.ChangeFeedDTO;
+import com.meko.restapi.service.ChangeFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+@Tag(name = "Change Feed", description = "API endpoints for incremental resynchronization")
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+
+    @Operation(summary = "Get changes since a watermark",
+            description = "Returns matches and odds created, updated or deleted after 'since', in their current state, "
+                    + "with deletions as tombstones. Without 'since' only the current watermark is returned: take it "
+                    + "before a full load and poll from there. Keep calling with nextToken while hasMore is true. "
+                    + "Entries older than app.changes.keep are purged; a token from before the purge gets 410 and "
+                    + "the client has to reload everything. Changes are served once they are app.changes.settle-time "
+                    + "old, so that slower commits with smaller numbers are in; a commit still running after the "
+                    + "settle time can be missed by a client that polls meanwhile.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ChangeFeedDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid token or page size"),
+            @ApiResponse(responseCode = "410", description = "Token older than the retained change log; reload and poll from the current token"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping
+    public ResponseEntity<ChangeFeedDTO> getChanges(
+            @Parameter(description = "nextToken of the previous response; omit to get the current watermark")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum number of change log entries to read (capped by app.changes.max-page-size)")
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(changeFeedService.getChanges(since, size));
+    }
+}
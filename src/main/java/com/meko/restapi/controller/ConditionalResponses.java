@@ -0,0 +1,94 @@
+package com.meko.restapi.controller;
+
+import com.meko.restapi.util.EntityVersion;
+import com.meko.restapi.util.Versioned;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Validator headers for versioned resources. Responses are {@code no-cache}: clients may keep
+ * them but must revalidate, which costs a version lookup and a 304 while nothing changed.
+ * <p>
+ * JSON, CBOR and Smile bodies of the same version differ byte for byte, so each gets its own
+ * strong ETag, derived from the format the Accept header selects.
+ */
+final class ConditionalResponses {
+
+    private static final Map<MediaType, String> FORMATS = Map.of(
+            MediaType.APPLICATION_JSON, "",
+            MediaType.APPLICATION_CBOR, "cbor",
+            new MediaType("application", "x-jackson-smile"), "smile");
+
+    private ConditionalResponses() {
+    }
+
+    static <T> ResponseEntity<T> ok(Versioned<T> versioned) {
+        return status(HttpStatus.OK, versioned);
+    }
+
+    static <T> ResponseEntity<T> status(HttpStatus status, Versioned<T> versioned) {
+        return headers(ResponseEntity.status(status), versioned.version()).body(versioned.value());
+    }
+
+    static <T> ResponseEntity<T> notModified(EntityVersion version) {
+        return headers(ResponseEntity.status(HttpStatus.NOT_MODIFIED), version).build();
+    }
+
+    static boolean matchesIfNoneMatch(EntityVersion version, String ifNoneMatch) {
+        return version.matchesIfNoneMatch(ifNoneMatch, requestedFormat());
+    }
+
+    private static ResponseEntity.BodyBuilder headers(ResponseEntity.BodyBuilder builder, EntityVersion version) {
+        // The tag names the format, so caches must key on Accept as well
+        builder.cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT).eTag(version.eTag(requestedFormat()));
+        if (version.lastModified() != null) {
+            builder.lastModified(version.lastModified());
+        }
+        return builder;
+    }
+
+    /**
+     * The format the response is written in, as content negotiation picks it: the acceptable
+     * type with the highest quality, the first one on a tie. Null stands for JSON, which a
+     * wildcard or a missing header gets.
+     */
+    private static String requestedFormat() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return null;
+        }
+        String accept = attributes.getRequest().getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return null;
+        }
+        List<MediaType> acceptable;
+        try {
+            acceptable = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        MediaType best = null;
+        String format = null;
+        for (MediaType type : acceptable) {
+            if (best != null && type.getQualityValue() <= best.getQualityValue()) {
+                continue;
+            }
+            for (Map.Entry<MediaType, String> candidate : FORMATS.entrySet()) {
+                if (type.isCompatibleWith(candidate.getKey())) {
+                    best = type;
+                    format = type.isWildcardSubtype() || candidate.getValue().isEmpty() ? null : candidate.getValue();
+                    break;
+                }
+            }
+        }
+        return format;
+    }
+}
@@ -0,0 +1,129 @@
+package com.meko.restapi.controller;
+
+import com.meko.restapi.dto.ImportJobDTO;
+import com.meko.restapi.enumeration.ImportFormat;
+import com.meko.restapi.enumeration.ImportKind;
+import com.meko.restapi.enumeration.ImportStatus;
+import com.meko.restapi.service.ImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/imports")
+@RequiredArgsConstructor
+@Tag(name = "Bulk Import", description = "API endpoints for loading large CSV or NDJSON files")
+public class ImportController {
+
+    private final ImportService importService;
+
+    @Operation(summary = "Import matches from a file",
+            description = "Streams a CSV file (header: description,matchDate,matchTime,teamA,teamB,sport) or NDJSON "
+                    + "(one MatchDTO per line, optionally with opening odds in matchOdds) and stores it in chunks of "
+                    + "chunkSize rows, one transaction each. Invalid rows are rejected with their line number. "
+                    + "If the import fails, send the same file again with resume set to its id.")
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(content = {
+            @Content(mediaType = "text/csv"),
+            @Content(mediaType = "application/x-ndjson")
+    })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import completed; see rejections",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportJobDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Unsupported Content-Type, invalid chunk size or job to resume"),
+            @ApiResponse(responseCode = "404", description = "Import job to resume not found"),
+            @ApiResponse(responseCode = "409", description = "The import job is being run by another request"),
+            @ApiResponse(responseCode = "500", description = "Import stopped; committed chunks are kept and it can be resumed",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportJobDTO.class)))
+    })
+    @PostMapping("/matches")
+    public ResponseEntity<ImportJobDTO> importMatches(
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            @Parameter(description = "Name of the file, kept for reference")
+            @RequestParam(required = false) String source,
+            @Parameter(description = "Id of a failed import of the same file to continue")
+            @RequestParam(required = false) Long resume,
+            @Parameter(description = "Rows per transaction (default app.import.chunk-size, at most app.batch.max-size)")
+            @RequestParam(required = false) Integer chunkSize,
+            InputStream body) {
+        return respond(importService.runImport(ImportKind.MATCHES, ImportFormat.fromContentType(contentType), body,
+                source, resume, chunkSize));
+    }
+
+    @Operation(summary = "Import odds from a file",
+            description = "Streams a CSV file (header: matchId,specifier,odd) or NDJSON (one MatchOddsDTO per line) "
+                    + "and stores it in chunks like the match import.")
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(content = {
+            @Content(mediaType = "text/csv"),
+            @Content(mediaType = "application/x-ndjson")
+    })
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import completed; see rejections",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportJobDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Unsupported Content-Type, invalid chunk size or job to resume"),
+            @ApiResponse(responseCode = "404", description = "Import job to resume not found"),
+            @ApiResponse(responseCode = "409", description = "The import job is being run by another request"),
+            @ApiResponse(responseCode = "500", description = "Import stopped; committed chunks are kept and it can be resumed",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportJobDTO.class)))
+    })
+    @PostMapping("/match-odds")
+    public ResponseEntity<ImportJobDTO> importMatchOdds(
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            @Parameter(description = "Name of the file, kept for reference")
+            @RequestParam(required = false) String source,
+            @Parameter(description = "Id of a failed import of the same file to continue")
+            @RequestParam(required = false) Long resume,
+            @Parameter(description = "Rows per transaction (default app.import.chunk-size, at most app.batch.max-size)")
+            @RequestParam(required = false) Integer chunkSize,
+            InputStream body) {
+        return respond(importService.runImport(ImportKind.MATCH_ODDS, ImportFormat.fromContentType(contentType), body,
+                source, resume, chunkSize));
+    }
+
+    @Operation(summary = "Get an import job", description = "Progress of a running import or the outcome of a finished one, "
+            + "with the first rejected rows")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import job found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportJobDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Import job not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportJobDTO> getImportJob(
+            @Parameter(description = "ID of the import job", required = true)
+            @PathVariable Long id) {
+        return ResponseEntity.ok(importService.getImportJob(id));
+    }
+
+    @Operation(summary = "List recent import jobs", description = "Newest first, without rejected rows; "
+            + "use it to follow an import that is still running")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import jobs retrieved successfully",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ImportJobDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid limit"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping
+    public ResponseEntity<List<ImportJobDTO>> getRecentImportJobs(
+            @Parameter(description = "Maximum number of jobs (at most app.import.max-listed-jobs)")
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(importService.getRecentImportJobs(limit));
+    }
+
+    private static ResponseEntity<ImportJobDTO> respond(ImportJobDTO job) {
+        HttpStatus status = job.getStatus() == ImportStatus.FAILED ? HttpStatus.INTERNAL_SERVER_ERROR : HttpStatus.OK;
+        return ResponseEntity.status(status).body(job);
+    }
+}
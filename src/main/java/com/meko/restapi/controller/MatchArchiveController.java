@@ -0,0 +1,63 @@
+package com.meko.restapi.controller;
+
+import com.meko.restapi.dto.CursorPageDTO;
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.service.MatchArchiveService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/archive/matches")
+@RequiredArgsConstructor
+@Tag(name = "Match Archive", description = "API endpoints for reading archived matches")
+public class MatchArchiveController {
+
+    private final MatchArchiveService matchArchiveService;
+
+    @Operation(summary = "Get an archived match by ID",
+            description = "Retrieves a match, with its odds, that has been moved to the archive")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Archived match found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MatchDTO.class))),
+            @ApiResponse(responseCode = "404", description = "No archived match with this ID"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<MatchDTO> getArchivedMatch(
+            @Parameter(description = "ID the match had while live", required = true)
+            @PathVariable Long id) {
+        return ResponseEntity.ok(matchArchiveService.getArchivedMatch(id));
+    }
+
+    @Operation(summary = "Get a page of archived matches",
+            description = "Retrieves archived matches played between two dates, ordered by kickoff (date, time, id) "
+                    + "and paged like /api/matches/page. Only the archive partitions of these dates are read.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid dates, cursor or page size"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping
+    public ResponseEntity<CursorPageDTO<MatchDTO>> getArchivedMatches(
+            @Parameter(description = "First match date, inclusive", required = true, example = "2024-03-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last match date, inclusive", required = true, example = "2024-03-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Continuation token from the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of matches to return (capped by app.pagination.max-page-size)")
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(matchArchiveService.getArchivedMatches(from, to, cursor, size));
+    }
+}
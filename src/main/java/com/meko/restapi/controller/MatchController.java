@@ -1,7 +1,17 @@
 package com.meko.restapi.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.meko.restapi.dto.BatchResultDTO;
+import com.meko.restapi.dto.CursorPageDTO;
 import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.dto.MatchSearchCriteria;
+import com.meko.restapi.dto.TeamSuggestionDTO;
 import com.meko.restapi.service.MatchService;
+import com.meko.restapi.service.TeamSuggestionService;
+import com.meko.restapi.util.EntityVersion;
+import com.meko.restapi.util.MatchFields;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -12,11 +22,20 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/matches")
@@ -25,6 +44,8 @@ import java.util.List;
 public class MatchController {
     
     private final MatchService matchService;
+    private final TeamSuggestionService teamSuggestionService;
+    private final ObjectMapper objectMapper;
     
     @Operation(summary = "Create a new match", description = "Creates a new match with the provided details")
     @ApiResponses(value = {
@@ -39,6 +60,21 @@ public class MatchController {
         return new ResponseEntity<>(createdMatch, HttpStatus.CREATED);
     }
     
+    @Operation(summary = "Create matches in bulk",
+            description = "Creates many matches, optionally with opening odds in matchOdds, in one request. "
+                    + "Each item is validated independently and the response reports success or failure per item.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see per-item results",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Batch exceeds the maximum size"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDTO> createMatchesBatch(@RequestBody List<MatchDTO> matchDTOs) {
+        BatchResultDTO result = matchService.createMatchesBatch(matchDTOs);
+        return ResponseEntity.ok(result);
+    }
+    
     @Operation(summary = "Get all matches", description = "Retrieves all matches")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Matches retrieved successfully",
@@ -46,24 +82,158 @@ public class MatchController {
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping
-    public ResponseEntity<List<MatchDTO>> getAllMatches() {
-        List<MatchDTO> matches = matchService.getAllMatches();
+    @SparseFields
+    public ResponseEntity<List<MatchDTO>> getAllMatches(
+            @Parameter(description = "Comma-separated fields to return, e.g. teamA,teamB,matchDate,matchTime; "
+                    + "all of them if omitted. The id is always returned, the odds only with include=odds")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "odds to return the odds along with the selected fields; implied without fields")
+            @RequestParam(required = false) String include) {
+        List<MatchDTO> matches = matchService.getAllMatches(MatchFields.parse(fields, include));
         return ResponseEntity.ok(matches);
     }
     
+    @Operation(summary = "Get a page of matches",
+            description = "Retrieves matches ordered by kickoff (date, time, id) using keyset pagination. "
+                    + "Pass the returned nextCursor to fetch the following page.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/page")
+    @SparseFields
+    public ResponseEntity<CursorPageDTO<MatchDTO>> getMatchesPage(
+            @Parameter(description = "Continuation token from the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of matches to return (capped by app.pagination.max-page-size)")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Comma-separated fields to return, e.g. teamA,teamB,matchDate,matchTime; "
+                    + "all of them if omitted. The id is always returned, the odds only with include=odds")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "odds to return the odds along with the selected fields; implied without fields")
+            @RequestParam(required = false) String include) {
+        CursorPageDTO<MatchDTO> page = matchService.getMatchesPage(cursor, size, MatchFields.parse(fields, include));
+        return ResponseEntity.ok(page);
+    }
+    
+    @Operation(summary = "Search matches",
+            description = "Filters matches by any combination of sport, date range, team and kickoff window. "
+                    + "Results are ordered by kickoff (date, time, id) and paged like /page.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid filters, cursor or page size"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/search")
+    @SparseFields
+    public ResponseEntity<CursorPageDTO<MatchDTO>> searchMatches(
+            @ParameterObject MatchSearchCriteria criteria,
+            @Parameter(description = "Continuation token from the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of matches to return (capped by app.pagination.max-page-size)")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Comma-separated fields to return, e.g. teamA,teamB,matchDate,matchTime; "
+                    + "all of them if omitted. The id is always returned, the odds only with include=odds")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "odds to return the odds along with the selected fields; implied without fields")
+            @RequestParam(required = false) String include) {
+        CursorPageDTO<MatchDTO> page = matchService.searchMatches(criteria, cursor, size,
+                MatchFields.parse(fields, include));
+        return ResponseEntity.ok(page);
+    }
+    
+    @Operation(summary = "Suggest team names",
+            description = "Autocompletes team names from an in-memory index. Matching ignores case, accents and "
+                    + "punctuation, and a prefix may start any word of the name. Exact names rank first, then "
+                    + "name prefixes, then word prefixes; ties go to the team with more matches.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Blank prefix or invalid limit"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/teams/suggest")
+    public ResponseEntity<List<TeamSuggestionDTO>> suggestTeams(
+            @Parameter(description = "Beginning of the team name or of any word in it", example = "oly")
+            @RequestParam String prefix,
+            @Parameter(description = "Maximum number of suggestions (capped by app.team-suggest.max-limit)")
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(teamSuggestionService.suggestTeams(prefix, limit));
+    }
+    
+    @Operation(summary = "Export all matches",
+            description = "Streams every match with its odds as newline-delimited JSON. "
+                    + "The response is gzip-encoded when the client sends 'Accept-Encoding: gzip'.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportMatches(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        StreamingResponseBody body = responseStream -> {
+            OutputStream out = gzip ? new GZIPOutputStream(responseStream, 8192) : responseStream;
+            AtomicBoolean written = new AtomicBoolean();
+            // Let the container buffer decide when to flush instead of flushing per match
+            try (SequenceWriter writer = objectMapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .withRootValueSeparator("\n")
+                    .writeValues(out)) {
+                matchService.exportMatches(match -> {
+                    try {
+                        writer.write(match);
+                        written.set(true);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+                writer.flush();
+                if (written.get()) {
+                    out.write('\n');
+                }
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+    
     @Operation(summary = "Get match by ID", description = "Retrieves a specific match by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Match found",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = MatchDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Match unchanged since the If-None-Match ETag"),
             @ApiResponse(responseCode = "404", description = "Match not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/{id}")
+    @SparseFields
     public ResponseEntity<MatchDTO> getMatchById(
             @Parameter(description = "ID of the match to retrieve", required = true)
-            @PathVariable Long id) {
-        MatchDTO match = matchService.getMatchById(id);
-        return ResponseEntity.ok(match);
+            @PathVariable Long id,
+            @Parameter(description = "ETag from a previous response; answered with 304 while the match and its odds are unchanged")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @Parameter(description = "Comma-separated fields to return, e.g. teamA,teamB,matchDate,matchTime; "
+                    + "all of them if omitted. The id is always returned, the odds only with include=odds")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "odds to return the odds along with the selected fields; implied without fields")
+            @RequestParam(required = false) String include) {
+        MatchFields selection = MatchFields.parse(fields, include);
+        if (ifNoneMatch != null) {
+            EntityVersion version = matchService.getMatchVersion(id);
+            if (ConditionalResponses.matchesIfNoneMatch(version, ifNoneMatch)) {
+                return ConditionalResponses.notModified(version);
+            }
+        }
+        return ConditionalResponses.ok(matchService.getVersionedMatchById(id, selection));
     }
     
     @Operation(summary = "Update a match", description = "Updates an existing match with new details")
@@ -72,15 +242,18 @@ public class MatchController {
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = MatchDTO.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input data"),
             @ApiResponse(responseCode = "404", description = "Match not found"),
+            @ApiResponse(responseCode = "409", description = "Match modified concurrently"),
+            @ApiResponse(responseCode = "412", description = "Match changed since the If-Match ETag"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PutMapping("/{id}")
     public ResponseEntity<MatchDTO> updateMatch(
             @Parameter(description = "ID of the match to update", required = true)
             @PathVariable Long id,
+            @Parameter(description = "ETag the client last saw; the update is refused with 412 if the match has changed since")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody MatchDTO matchDTO) {
-        MatchDTO updatedMatch = matchService.updateMatch(id, matchDTO);
-        return ResponseEntity.ok(updatedMatch);
+        return ConditionalResponses.ok(matchService.updateMatch(id, matchDTO, EntityVersion.fromIfMatch(ifMatch)));
     }
     
     @Operation(summary = "Delete a match", description = "Deletes a match and its associated odds")
@@ -0,0 +1,39 @@
+package com.meko.restapi.controller;
+
+import com.meko.restapi.util.MatchFields;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Trims the MatchDTOs of a match endpoint response to the {@code fields} and {@code include}
+ * the request asked for, in JSON, CBOR and Smile alike. The controller has already
+ * rejected invalid values and read only the selected columns.
+ */
+@RestControllerAdvice(assignableTypes = MatchController.class)
+public class MatchFieldsResponseBodyAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return super.supports(returnType, converterType) && returnType.hasMethodAnnotation(SparseFields.class);
+    }
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            MatchFields fields = MatchFields.parse(servletRequest.getServletRequest().getParameter("fields"),
+                    servletRequest.getServletRequest().getParameter("include"));
+            if (!fields.isAll()) {
+                bodyContainer.setFilters(fields.filters());
+            }
+        }
+    }
+}
@@ -1,7 +1,13 @@
 package com.meko.restapi.controller;
 
+import com.meko.restapi.dto.BatchResultDTO;
 import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.enumeration.UpsertOutcome;
 import com.meko.restapi.service.MatchOddsService;
+import com.meko.restapi.service.OddsWriteBehindService;
+import com.meko.restapi.util.EntityVersion;
+import com.meko.restapi.util.Upserted;
+import com.meko.restapi.util.Versioned;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -12,6 +18,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -25,6 +32,7 @@ import java.util.List;
 public class MatchOddsController {
     
     private final MatchOddsService matchOddsService;
+    private final OddsWriteBehindService oddsWriteBehindService;
     
     @Operation(summary = "Create match odds", description = "Creates new betting odds for a specific match")
     @ApiResponses(value = {
@@ -39,6 +47,21 @@ public class MatchOddsController {
         return new ResponseEntity<>(createdOdds, HttpStatus.CREATED);
     }
     
+    @Operation(summary = "Create match odds in bulk",
+            description = "Creates many betting odds in one request. Each item is validated independently "
+                    + "and the response reports success or failure per item.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see per-item results",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Batch exceeds the maximum size"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDTO> createMatchOddsBatch(@RequestBody List<MatchOddsDTO> matchOddsDTOs) {
+        BatchResultDTO result = matchOddsService.createMatchOddsBatch(matchOddsDTOs);
+        return ResponseEntity.ok(result);
+    }
+    
     @Operation(summary = "Get match odds by ID", description = "Retrieves specific match odds by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Match odds found",
@@ -50,40 +73,92 @@ public class MatchOddsController {
     public ResponseEntity<MatchOddsDTO> getMatchOddsById(
             @Parameter(description = "ID of the match odds to retrieve", required = true)
             @PathVariable Long id) {
-        MatchOddsDTO matchOdds = matchOddsService.getMatchOddsById(id);
-        return ResponseEntity.ok(matchOdds);
+        return ConditionalResponses.ok(matchOddsService.getVersionedMatchOddsById(id));
     }
     
     @Operation(summary = "Get match odds by match ID", description = "Retrieves all match odds for a specific match")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Match odds retrieved successfully",
                     content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = MatchOddsDTO.class)))),
+            @ApiResponse(responseCode = "304", description = "Odds unchanged since the If-None-Match ETag"),
             @ApiResponse(responseCode = "404", description = "Match not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/match/{matchId}")
     public ResponseEntity<List<MatchOddsDTO>> getMatchOddsByMatchId(
             @Parameter(description = "ID of the match for which to retrieve odds", required = true)
-            @PathVariable Long matchId) {
-        List<MatchOddsDTO> matchOdds = matchOddsService.getMatchOddsByMatchId(matchId);
-        return ResponseEntity.ok(matchOdds);
+            @PathVariable Long matchId,
+            @Parameter(description = "ETag from a previous response; answered with 304 while the odds are unchanged")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            EntityVersion version = matchOddsService.getMatchOddsVersionByMatchId(matchId);
+            if (ConditionalResponses.matchesIfNoneMatch(version, ifNoneMatch)) {
+                return ConditionalResponses.notModified(version);
+            }
+        }
+        return ConditionalResponses.ok(matchOddsService.getVersionedMatchOddsByMatchId(matchId));
     }
     
-    @Operation(summary = "Update match odds", description = "Updates existing betting odds")
+    @Operation(summary = "Update match odds", description = "Updates existing betting odds. With write-behind "
+            + "enabled (app.odds-write-behind.enabled), an update without If-Match that keeps the specifier is "
+            + "journaled and acknowledged with 202; reads show it at once and it reaches the database with the next flush.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Match odds updated successfully",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = MatchOddsDTO.class))),
+            @ApiResponse(responseCode = "202", description = "Update accepted by write-behind",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MatchOddsDTO.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input data"),
             @ApiResponse(responseCode = "404", description = "Match odds not found"),
+            @ApiResponse(responseCode = "409", description = "Match odds modified concurrently"),
+            @ApiResponse(responseCode = "412", description = "Match odds changed since the If-Match ETag"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PutMapping("/{id}")
     public ResponseEntity<MatchOddsDTO> updateMatchOdds(
             @Parameter(description = "ID of the match odds to update", required = true)
             @PathVariable Long id,
+            @Parameter(description = "ETag the client last saw; the update is refused with 412 if the odds have changed since")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody MatchOddsDTO matchOddsDTO) {
-        MatchOddsDTO updatedOdds = matchOddsService.updateMatchOdds(id, matchOddsDTO);
-        return ResponseEntity.ok(updatedOdds);
+        if (ifMatch == null && oddsWriteBehindService.accept(id, matchOddsDTO)) {
+            return ResponseEntity.accepted().body(
+                    new MatchOddsDTO(id, matchOddsDTO.getMatchId(), matchOddsDTO.getSpecifier(), matchOddsDTO.getOdd()));
+        }
+        return ConditionalResponses.ok(matchOddsService.updateMatchOdds(id, matchOddsDTO, EntityVersion.fromIfMatch(ifMatch)));
+    }
+    
+    @Operation(summary = "Upsert match odds by match and specifier",
+            description = "Creates the odds of the match with this specifier, or updates their value if they exist, "
+                    + "in one statement. The id in the body is ignored.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Match odds updated, or already had this value",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MatchOddsDTO.class))),
+            @ApiResponse(responseCode = "201", description = "Match odds created",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MatchOddsDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "404", description = "Match not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PutMapping("/by-key")
+    public ResponseEntity<MatchOddsDTO> upsertMatchOdds(@Valid @RequestBody MatchOddsDTO matchOddsDTO) {
+        Upserted<MatchOddsDTO> upserted = matchOddsService.upsertMatchOdds(matchOddsDTO);
+        HttpStatus status = upserted.outcome() == UpsertOutcome.CREATED ? HttpStatus.CREATED : HttpStatus.OK;
+        return ConditionalResponses.status(status, new Versioned<>(upserted.value(), upserted.version()));
+    }
+    
+    @Operation(summary = "Upsert match odds in bulk by match and specifier",
+            description = "Creates or updates many betting odds with one statement. Each item is validated "
+                    + "independently and the response reports per item whether it was created, updated or unchanged. "
+                    + "Of several items with the same match and specifier, the last one is applied.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see per-item results",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Batch exceeds the maximum size"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PutMapping("/by-key/batch")
+    public ResponseEntity<BatchResultDTO> upsertMatchOddsBatch(@RequestBody List<MatchOddsDTO> matchOddsDTOs) {
+        return ResponseEntity.ok(matchOddsService.upsertMatchOddsBatch(matchOddsDTOs));
     }
     
     @Operation(summary = "Delete match odds", description = "Deletes specific match odds by its ID")
@@ -0,0 +1,83 @@
+package com.meko.restapi.controller;
+
+import com.meko.restapi.dto.OddsChangeDTO;
+import com.meko.restapi.enumeration.Sport;
+import com.meko.restapi.listener.OddsStreamBroadcaster;
+import com.meko.restapi.listener.OddsSubscriber;
+import com.meko.restapi.service.MatchOddsService;
+import com.meko.restapi.service.OddsWriteBehindService;
+import com.meko.restapi.util.PendingOdds;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/match-odds/stream")
+@RequiredArgsConstructor
+@Tag(name = "Match Odds Streaming", description = "Server-Sent Events streams of committed odds changes")
+public class MatchOddsStreamController {
+
+    private final MatchOddsService matchOddsService;
+    private final OddsWriteBehindService oddsWriteBehindService;
+    private final OddsStreamBroadcaster broadcaster;
+
+    @Operation(summary = "Stream odds changes for a match",
+            description = "Opens a Server-Sent Events stream. The first 'snapshot' event carries the current odds; "
+                    + "each following 'odds' event is a committed change. Pending changes for a slow client are "
+                    + "coalesced to the latest value per specifier.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = OddsChangeDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Match not found"),
+            @ApiResponse(responseCode = "503", description = "Subscriber limit reached")
+    })
+    @GetMapping(value = "/match/{matchId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMatchOdds(
+            @Parameter(description = "ID of the match to follow", required = true)
+            @PathVariable Long matchId) {
+        // Subscribed before the snapshot is read, so no change committed in between is lost
+        OddsSubscriber subscriber = requireCapacity(broadcaster.subscribeToMatch(matchId));
+        try {
+            PendingOdds pending = oddsWriteBehindService.pendingForMatch(matchId);
+            subscriber.start(pending.apply(matchOddsService.getMatchOddsByMatchId(matchId)));
+        } catch (RuntimeException ex) {
+            subscriber.cancel();
+            throw ex;
+        }
+        return subscriber.getEmitter();
+    }
+
+    @Operation(summary = "Stream odds changes for a sport",
+            description = "Opens a Server-Sent Events stream of 'odds' events for every match of the given sport. "
+                    + "Pending changes for a slow client are coalesced to the latest value per match and specifier.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = OddsChangeDTO.class))),
+            @ApiResponse(responseCode = "503", description = "Subscriber limit reached")
+    })
+    @GetMapping(value = "/sport/{sport}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSportOdds(
+            @Parameter(description = "Sport to follow", required = true)
+            @PathVariable Sport sport) {
+        OddsSubscriber subscriber = requireCapacity(broadcaster.subscribeToSport(sport));
+        subscriber.start(null);
+        return subscriber.getEmitter();
+    }
+
+    private OddsSubscriber requireCapacity(OddsSubscriber subscriber) {
+        if (subscriber == null) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Stream subscriber limit reached");
+        }
+        return subscriber;
+    }
+}
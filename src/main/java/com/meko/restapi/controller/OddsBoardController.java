@@ -0,0 +1,96 @@
+package com.meko.restapi.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.service.OddsBoardService;
+import com.meko.restapi.service.OddsWriteBehindService;
+import com.meko.restapi.util.OddsBoard;
+import com.meko.restapi.util.PendingOdds;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Odds straight from the in-memory board. Entries are written to the response as they are
+ * read, without building entities or DTOs; the JSON has the shape of {@link MatchOddsDTO}.
+ * Updates still buffered by write-behind replace the board values they belong to.
+ */
+@RestController
+@RequestMapping("/api/match-odds/board")
+@RequiredArgsConstructor
+@Tag(name = "Odds Board", description = "API endpoints for reading current odds from memory")
+public class OddsBoardController {
+
+    private final OddsBoardService oddsBoardService;
+    private final OddsWriteBehindService oddsWriteBehindService;
+    private final ObjectMapper objectMapper;
+
+    @Operation(summary = "Get the full odds board",
+            description = "Returns the current odds of all matches, grouped by match, from memory. "
+                    + "Writes show up once their transaction has committed, or once accepted by write-behind.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Board retrieved successfully",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = MatchOddsDTO.class)))),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping
+    public void getBoard(HttpServletResponse response) throws IOException {
+        PendingOdds pending = oddsWriteBehindService.pending();
+        writeOdds(response, consumer -> oddsBoardService.forEachOdds(pending.apply(consumer)));
+    }
+
+    @Operation(summary = "Get the odds of a match from the board",
+            description = "Same content as GET /api/match-odds/match/{matchId}, served from memory and without "
+                    + "conditional request support. Unknown matches and matches without odds give an empty list.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Odds retrieved successfully",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = MatchOddsDTO.class)))),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/match/{matchId}")
+    public void getMatchBoard(
+            @Parameter(description = "ID of the match", required = true)
+            @PathVariable Long matchId,
+            HttpServletResponse response) throws IOException {
+        PendingOdds pending = oddsWriteBehindService.pendingForMatch(matchId);
+        writeOdds(response, consumer -> oddsBoardService.forEachOdds(matchId, pending.apply(consumer)));
+    }
+
+    private void writeOdds(HttpServletResponse response, Consumer<OddsBoard.OddsConsumer> board) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+            try {
+                board.accept((matchId, oddsId, specifier, odd) -> {
+                    try {
+                        generator.writeStartObject();
+                        generator.writeNumberField("id", oddsId);
+                        generator.writeNumberField("matchId", matchId);
+                        generator.writeStringField("specifier", specifier);
+                        generator.writeNumberField("odd", odd);
+                        generator.writeEndObject();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            generator.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.meko.restapi.controller;
+
+import com.meko.restapi.dto.OddsHistorySeriesDTO;
+import com.meko.restapi.service.OddsHistoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/match-odds/history")
+@RequiredArgsConstructor
+@Tag(name = "Match Odds History", description = "API endpoints for historical price series")
+public class OddsHistoryController {
+
+    private final OddsHistoryService oddsHistoryService;
+
+    @Operation(summary = "Get odds history of a match",
+            description = "Returns the price series of every specifier of a match within a time range. "
+                    + "With 'bucket' (ISO-8601 duration, e.g. PT1M) each bucket is reduced to first/last/min/max.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "History retrieved successfully",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = OddsHistorySeriesDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid range or bucket"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/match/{matchId}")
+    public ResponseEntity<List<OddsHistorySeriesDTO>> getOddsHistory(
+            @Parameter(description = "ID of the match", required = true)
+            @PathVariable Long matchId,
+            @Parameter(description = "Start of the range (inclusive); defaults to 24 hours before 'to'", example = "2024-03-31T00:00:00Z")
+            @RequestParam(required = false) Instant from,
+            @Parameter(description = "End of the range (inclusive); defaults to now", example = "2024-03-31T23:59:59Z")
+            @RequestParam(required = false) Instant to,
+            @Parameter(description = "Downsampling bucket width as ISO-8601 duration", example = "PT1M")
+            @RequestParam(required = false) Duration bucket) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofDays(1));
+        List<OddsHistorySeriesDTO> history = oddsHistoryService.getHistory(matchId, start, end, bucket);
+        return ResponseEntity.ok(history);
+    }
+}
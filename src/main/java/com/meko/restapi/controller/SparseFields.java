@@ -0,0 +1,15 @@
+package com.meko.restapi.controller;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler whose MatchDTOs are written with only the {@code fields} and
+ * {@code include} of the request, see {@link MatchFieldsResponseBodyAdvice}
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@interface SparseFields {
+}
@@ -0,0 +1,42 @@
+package com.meko.restapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.meko.restapi.enumeration.UpsertOutcome;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Outcome of a single item in a batch request")
+public class BatchItemResultDTO {
+    @Schema(description = "Zero-based position of the item in the request", example = "0")
+    private int index;
+
+    @Schema(description = "Whether the item was stored", example = "true")
+    private boolean success;
+
+    @Schema(description = "Identifier assigned to the stored item", example = "42")
+    private Long id;
+
+    @Schema(description = "What an upsert did with the item; absent for plain inserts", example = "UPDATED")
+    private UpsertOutcome outcome;
+
+    @Schema(description = "Reason the item was rejected", example = "odd: Odd must be positive")
+    private String error;
+
+    public static BatchItemResultDTO created(int index, Long id) {
+        return new BatchItemResultDTO(index, true, id, null, null);
+    }
+
+    public static BatchItemResultDTO upserted(int index, Long id, UpsertOutcome outcome) {
+        return new BatchItemResultDTO(index, true, id, outcome, null);
+    }
+
+    public static BatchItemResultDTO failed(int index, String error) {
+        return new BatchItemResultDTO(index, false, null, null, error);
+    }
+}
@@ -0,0 +1,31 @@
+package com.meko.restapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@Schema(description = "Per-item outcome of a batch request")
+public class BatchResultDTO {
+    @Schema(description = "Number of items stored", example = "998")
+    private int succeeded;
+
+    @Schema(description = "Number of items rejected", example = "2")
+    private int failed;
+
+    @Schema(description = "Outcome of each item, in request order")
+    private List<BatchItemResultDTO> results = new ArrayList<>();
+
+    public void add(BatchItemResultDTO result) {
+        results.add(result);
+        if (result.isSuccess()) {
+            succeeded++;
+        } else {
+            failed++;
+        }
+    }
+}
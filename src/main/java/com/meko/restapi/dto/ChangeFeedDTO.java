@@ -0,0 +1,29 @@
+package com.meko.restapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Matches and odds changed after a watermark, in their current state")
+public class ChangeFeedDTO {
+    @Schema(description = "Created or updated matches; their odds are reported separately, so matchOdds is null")
+    private List<MatchDTO> matches;
+
+    @Schema(description = "Created or updated odds")
+    private List<MatchOddsDTO> odds;
+
+    @Schema(description = "Deleted matches and odds")
+    private List<TombstoneDTO> deleted;
+
+    @Schema(description = "Watermark to pass as 'since' on the next call", example = "1289")
+    private String nextToken;
+
+    @Schema(description = "Whether more changes are already available after nextToken")
+    private boolean hasMore;
+}
@@ -0,0 +1,24 @@
+package com.meko.restapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One page of results with an opaque token for fetching the next page")
+public class CursorPageDTO<T> {
+    @Schema(description = "Items on this page")
+    private List<T> items;
+
+    @Schema(description = "Token to pass as 'cursor' to fetch the next page; null when there are no more results",
+            example = "MjAyNC0wMy0zMXwxMjowMHw0Mg")
+    private String nextCursor;
+
+    @Schema(description = "Whether more results follow this page")
+    private boolean hasMore;
+}
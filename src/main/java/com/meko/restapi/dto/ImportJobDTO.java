@@ -0,0 +1,59 @@
+package com.meko.restapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.meko.restapi.enumeration.ImportFormat;
+import com.meko.restapi.enumeration.ImportKind;
+import com.meko.restapi.enumeration.ImportStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Progress and outcome of a bulk import")
+public class ImportJobDTO {
+    @Schema(description = "Identifier of the import; pass it as 'resume' to continue a failed import", example = "3")
+    private Long id;
+
+    @Schema(description = "What the rows describe", example = "MATCHES")
+    private ImportKind kind;
+
+    @Schema(description = "File format", example = "CSV")
+    private ImportFormat format;
+
+    @Schema(description = "Name of the imported file, as given by the client", example = "fixtures-2025.csv")
+    private String source;
+
+    @Schema(description = "RUNNING, COMPLETED, or FAILED (resumable)", example = "COMPLETED")
+    private ImportStatus status;
+
+    @Schema(description = "Rows written per transaction", example = "1000")
+    private int chunkSize;
+
+    @Schema(description = "Data rows read and committed so far, stored or rejected", example = "48000")
+    private long rowsProcessed;
+
+    @Schema(description = "Rows stored", example = "47995")
+    private long succeeded;
+
+    @Schema(description = "Rows rejected", example = "5")
+    private long rejected;
+
+    @Schema(description = "Why the import stopped, for a FAILED import")
+    private String error;
+
+    @Schema(description = "When the import was first started")
+    private Instant startedAt;
+
+    @Schema(description = "When the last chunk was committed")
+    private Instant updatedAt;
+
+    @Schema(description = "Rejected rows in file order, up to app.import.max-reported-rejections; omitted in lists")
+    private List<ImportRejectionDTO> rejections;
+}
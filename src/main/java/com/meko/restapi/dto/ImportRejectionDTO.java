@@ -0,0 +1,18 @@
+package com.meko.restapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A row of an import file that was not stored")
+public class ImportRejectionDTO {
+    @Schema(description = "Line of the file the row starts on, counting from 1", example = "1207")
+    private long line;
+
+    @Schema(description = "Reason the row was rejected", example = "matchDate: Match date is required")
+    private String message;
+}
@@ -1,6 +1,8 @@
 package com.meko.restapi.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.meko.restapi.enumeration.Sport;
+import com.meko.restapi.util.MatchFields;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -16,6 +18,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Schema(description = "Match information with associated betting odds")
+@JsonFilter(MatchFields.FILTER)
 public class MatchDTO {
     @Schema(description = "Unique identifier of the match", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
     private Long id;
@@ -46,4 +49,12 @@ public class MatchDTO {
     
     @Schema(description = "List of betting odds for this match")
     private List<MatchOddsDTO> matchOdds;
+
+    /**
+     * For constructor expressions in queries; the odds are read separately
+     */
+    public MatchDTO(Long id, String description, LocalDate matchDate, LocalTime matchTime,
+                    String teamA, String teamB, Sport sport) {
+        this(id, description, matchDate, matchTime, teamA, teamB, sport, null);
+    }
 }
@@ -0,0 +1,39 @@
+package com.meko.restapi.dto;
+
+import com.meko.restapi.enumeration.Sport;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Match search filters; every filter is optional and they are combined with AND")
+public class MatchSearchCriteria {
+    @Schema(description = "Type of sport", example = "FOOTBALL")
+    private Sport sport;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    @Schema(description = "First match date, inclusive", example = "2024-03-01")
+    private LocalDate dateFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    @Schema(description = "Last match date, inclusive", example = "2024-03-31")
+    private LocalDate dateTo;
+
+    @Schema(description = "Team playing on either side (exact name)", example = "OSFP")
+    private String team;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.TIME)
+    @Schema(description = "Earliest kickoff time of day, inclusive", example = "18:00")
+    private LocalTime kickoffFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.TIME)
+    @Schema(description = "Latest kickoff time of day, inclusive", example = "21:30")
+    private LocalTime kickoffTo;
+}
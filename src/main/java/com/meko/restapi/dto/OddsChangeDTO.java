@@ -0,0 +1,32 @@
+package com.meko.restapi.dto;
+
+import com.meko.restapi.event.ChangeType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A committed change to betting odds, pushed to stream subscribers")
+public class OddsChangeDTO {
+    @Schema(description = "Kind of change", example = "UPDATED")
+    private ChangeType type;
+
+    @Schema(description = "Identifier of the odds", example = "1")
+    private Long id;
+
+    @Schema(description = "ID of the associated match", example = "1")
+    private Long matchId;
+
+    @Schema(description = "Betting specifier", example = "X")
+    private String specifier;
+
+    @Schema(description = "Latest odd value; last known value for deletions", example = "1.5")
+    private Double odd;
+
+    public static OddsChangeDTO of(ChangeType type, MatchOddsDTO odds) {
+        return new OddsChangeDTO(type, odds.getId(), odds.getMatchId(), odds.getSpecifier(), odds.getOdd());
+    }
+}
@@ -0,0 +1,42 @@
+package com.meko.restapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "A price tick, or an aggregate of the ticks in one bucket when downsampled")
+public class OddsHistoryPointDTO {
+    @Schema(description = "Tick time, or bucket start when downsampled", example = "2024-03-31T12:00:00Z")
+    private Instant timestamp;
+
+    @Schema(description = "Odd value of a raw tick", example = "1.85")
+    private Double odd;
+
+    @Schema(description = "First odd in the bucket", example = "1.85")
+    private Double first;
+
+    @Schema(description = "Last odd in the bucket", example = "1.80")
+    private Double last;
+
+    @Schema(description = "Lowest odd in the bucket", example = "1.78")
+    private Double min;
+
+    @Schema(description = "Highest odd in the bucket", example = "1.90")
+    private Double max;
+
+    public static OddsHistoryPointDTO tick(Instant timestamp, double odd) {
+        return new OddsHistoryPointDTO(timestamp, odd, null, null, null, null);
+    }
+
+    public static OddsHistoryPointDTO bucket(Instant start, double first, double last, double min, double max) {
+        return new OddsHistoryPointDTO(start, null, first, last, min, max);
+    }
+}
@@ -0,0 +1,20 @@
+package com.meko.restapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Price history of one specifier of a match")
+public class OddsHistorySeriesDTO {
+    @Schema(description = "Betting specifier", example = "1")
+    private String specifier;
+
+    @Schema(description = "Points in time order")
+    private List<OddsHistoryPointDTO> points;
+}
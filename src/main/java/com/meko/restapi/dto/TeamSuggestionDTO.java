@@ -0,0 +1,23 @@
+package com.meko.restapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Team name matching an autocomplete prefix")
+public class TeamSuggestionDTO {
+    @Schema(description = "Team name as stored", example = "Olympiacos")
+    private String team;
+
+    @Schema(description = "Number of matches the team plays in", example = "2")
+    private int matchCount;
+
+    @Schema(description = "Identifiers of those matches, ascending", example = "[1, 7]")
+    private List<Long> matchIds;
+}
@@ -0,0 +1,22 @@
+package com.meko.restapi.dto;
+
+import com.meko.restapi.enumeration.ChangeEntityType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A deleted match or odds entry. Deleting a match also deletes all of its odds.")
+public class TombstoneDTO {
+    @Schema(description = "Kind of the deleted row", example = "MATCH_ODDS")
+    private ChangeEntityType entityType;
+
+    @Schema(description = "Identifier of the deleted row", example = "42")
+    private Long id;
+
+    @Schema(description = "Match the row belonged to", example = "7")
+    private Long matchId;
+}
@@ -0,0 +1,57 @@
+package com.meko.restapi.entity;
+
+import com.meko.restapi.enumeration.Sport;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A match moved out of the live tables by the archiver. Rows are written with one
+ * INSERT ... SELECT per chunk and never changed afterwards.
+ */
+@Entity
+@Immutable
+@Table(name = "matches_archive")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ArchivedMatch {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String description;
+
+    @Column(name = "match_date", nullable = false)
+    private LocalDate matchDate;
+
+    @Column(name = "match_time", nullable = false)
+    private LocalTime matchTime;
+
+    @Column(name = "team_a", nullable = false)
+    private String teamA;
+
+    @Column(name = "team_b", nullable = false)
+    private String teamB;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Sport sport;
+
+    /** The last version the match had while live */
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "last_modified", nullable = false)
+    private Instant lastModified;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+}
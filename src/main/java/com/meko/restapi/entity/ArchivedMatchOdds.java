@@ -0,0 +1,44 @@
+package com.meko.restapi.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Odds of an {@link ArchivedMatch}. The match date is repeated so that the table can be
+ * partitioned, and read, by it.
+ */
+@Entity
+@Immutable
+@Table(name = "match_odds_archive")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ArchivedMatchOdds {
+
+    @Id
+    private Long id;
+
+    @Column(name = "match_id", nullable = false)
+    private Long matchId;
+
+    @Column(name = "match_date", nullable = false)
+    private LocalDate matchDate;
+
+    @Column(nullable = false)
+    private String specifier;
+
+    @Column(nullable = false)
+    private Double odd;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+}
@@ -0,0 +1,46 @@
+package com.meko.restapi.entity;
+
+import com.meko.restapi.enumeration.ChangeEntityType;
+import com.meko.restapi.event.ChangeType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * One committed write to a match or its odds. Rows are keyed by a sequence number drawn just
+ * before commit; the primary key index serves "everything after seq N". They are removed when
+ * their match leaves the live tables, which leaves its tombstone behind, and once they are
+ * older than app.changes.keep.
+ */
+@Entity
+@Table(name = "change_log")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ChangeLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "change_log_seq")
+    @SequenceGenerator(name = "change_log_seq", sequenceName = "change_log_seq", allocationSize = 1)
+    private Long seq;
+
+    @Column(name = "entity_type", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private ChangeEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "match_id", nullable = false)
+    private Long matchId;
+
+    @Column(name = "change_type", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private ChangeType changeType;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+}
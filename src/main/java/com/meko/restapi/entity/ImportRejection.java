@@ -0,0 +1,31 @@
+package com.meko.restapi.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A row of an import file that was not stored, with the line it starts on
+ */
+@Entity
+@Table(name = "import_rejections")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ImportRejection {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "import_rejections_seq")
+    @SequenceGenerator(name = "import_rejections_seq", sequenceName = "import_rejections_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "line_number", nullable = false)
+    private long lineNumber;
+
+    @Column(nullable = false, length = 1000)
+    private String message;
+}
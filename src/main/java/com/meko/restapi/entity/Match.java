@@ -4,6 +4,7 @@ import com.meko.restapi.enumeration.Sport;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
@@ -19,7 +20,8 @@ import java.util.List;
 public class Match {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "matches_seq")
+    @SequenceGenerator(name = "matches_seq", sequenceName = "matches_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -41,6 +43,22 @@ public class Match {
     @Enumerated(EnumType.STRING)
     private Sport sport;
     
+    /**
+     * Incremented on every update of the match and, through
+     * {@code MatchRepository.touch}, on every change to its odds
+     */
+    @Version
+    private long version;
+    
+    @Column(name = "last_modified", nullable = false)
+    private Instant lastModified;
+    
     @OneToMany(mappedBy = "match", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<MatchOdds> matchOdds = new ArrayList<>();
+
+    @PrePersist
+    @PreUpdate
+    void markModified() {
+        lastModified = Instant.now();
+    }
 }
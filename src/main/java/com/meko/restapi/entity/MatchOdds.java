@@ -5,7 +5,8 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "match_odds")
+@Table(name = "match_odds",
+        uniqueConstraints = @UniqueConstraint(name = "uk_match_odds_match_specifier", columnNames = {"match_id", "specifier"}))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -14,7 +15,8 @@ import lombok.*;
 public class MatchOdds {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "match_odds_seq")
+    @SequenceGenerator(name = "match_odds_seq", sequenceName = "match_odds_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -27,4 +29,7 @@ public class MatchOdds {
     
     @Column(nullable = false)
     private Double odd;
+    
+    @Version
+    private long version;
 }
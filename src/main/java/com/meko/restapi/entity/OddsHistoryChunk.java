@@ -0,0 +1,47 @@
+package com.meko.restapi.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A run of consecutive price ticks for one (match, specifier), packed with
+ * {@link com.meko.restapi.util.OddsTickCodec}. Rows are append-only: compacted
+ * {@link OddsHistoryTick ticks} extend the latest chunk until it is full or the UTC day
+ * changes, then a new chunk is started.
+ */
+@Entity
+@Table(name = "odds_history_chunks")
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString(exclude = "payload")
+public class OddsHistoryChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "odds_history_chunks_seq")
+    @SequenceGenerator(name = "odds_history_chunks_seq", sequenceName = "odds_history_chunks_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "match_id", nullable = false)
+    private Long matchId;
+
+    @Column(nullable = false)
+    private String specifier;
+
+    @Column(name = "first_ts", nullable = false)
+    private Instant firstTs;
+
+    @Column(name = "last_ts", nullable = false)
+    private Instant lastTs;
+
+    @Column(name = "tick_count", nullable = false)
+    private int tickCount;
+
+    @Column(name = "last_odd_fp", nullable = false)
+    private long lastOddFixedPoint;
+
+    @Column(nullable = false, length = 16384)
+    private byte[] payload;
+}
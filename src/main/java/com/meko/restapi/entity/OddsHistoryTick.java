@@ -0,0 +1,41 @@
+package com.meko.restapi.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A price tick that has not been packed into an {@link OddsHistoryChunk} yet. Recording a
+ * tick only inserts one of these; they are compacted into chunks in the background.
+ */
+@Entity
+@Table(name = "odds_history_ticks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class OddsHistoryTick {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "odds_history_ticks_seq")
+    @SequenceGenerator(name = "odds_history_ticks_seq", sequenceName = "odds_history_ticks_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "match_id", nullable = false)
+    private Long matchId;
+
+    @Column(nullable = false)
+    private String specifier;
+
+    @Column(nullable = false)
+    private Instant ts;
+
+    @Column(name = "odd_fp", nullable = false)
+    private long oddFixedPoint;
+
+    // the odds were just created, so the tick starts a chunk of its own
+    @Column(name = "new_series", nullable = false)
+    private boolean newSeries;
+}
@@ -0,0 +1,9 @@
+package com.meko.restapi.enumeration;
+
+/**
+ * Kind of row a change feed entry refers to
+ */
+public enum ChangeEntityType {
+    MATCH,
+    MATCH_ODDS
+}
@@ -0,0 +1,43 @@
+package com.meko.restapi.enumeration;
+
+import com.meko.restapi.exception.BadRequestException;
+import lombok.Getter;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+
+/**
+ * File formats accepted by the bulk import, identified by the request's Content-Type
+ */
+@Getter
+public enum ImportFormat {
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    ImportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public static ImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            try {
+                MediaType requested = MediaType.parseMediaType(contentType);
+                return Arrays.stream(values())
+                        .filter(format -> MediaType.parseMediaType(format.mediaType).equalsTypeAndSubtype(requested))
+                        .findFirst()
+                        .orElseThrow(() -> unsupported(contentType));
+            } catch (InvalidMediaTypeException e) {
+                throw unsupported(contentType);
+            }
+        }
+        throw unsupported(null);
+    }
+
+    private static BadRequestException unsupported(String contentType) {
+        return new BadRequestException("Unsupported import Content-Type " + contentType
+                + "; use " + CSV.mediaType + " or " + NDJSON.mediaType);
+    }
+}
@@ -0,0 +1,9 @@
+package com.meko.restapi.enumeration;
+
+/**
+ * What the rows of a bulk import describe
+ */
+public enum ImportKind {
+    MATCHES,
+    MATCH_ODDS
+}
@@ -0,0 +1,10 @@
+package com.meko.restapi.enumeration;
+
+/**
+ * State of a bulk import. A FAILED import can be resumed from its last committed chunk.
+ */
+public enum ImportStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
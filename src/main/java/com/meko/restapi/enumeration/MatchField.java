@@ -0,0 +1,31 @@
+package com.meko.restapi.enumeration;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Scalar fields of a match that a client can ask for with {@code ?fields=}. The property is
+ * both the attribute of the Match entity and the JSON name in MatchDTO.
+ */
+@Getter
+public enum MatchField {
+    ID("id"),
+    DESCRIPTION("description"),
+    MATCH_DATE("matchDate"),
+    MATCH_TIME("matchTime"),
+    TEAM_A("teamA"),
+    TEAM_B("teamB"),
+    SPORT("sport");
+
+    private final String property;
+
+    MatchField(String property) {
+        this.property = property;
+    }
+
+    public static Optional<MatchField> fromProperty(String property) {
+        return Arrays.stream(values()).filter(field -> field.property.equals(property)).findFirst();
+    }
+}
@@ -0,0 +1,11 @@
+package com.meko.restapi.enumeration;
+
+/**
+ * What an upsert by natural key did to the row. UNCHANGED rows were not written and keep
+ * their version.
+ */
+public enum UpsertOutcome {
+    CREATED,
+    UPDATED,
+    UNCHANGED
+}
@@ -0,0 +1,7 @@
+package com.meko.restapi.event;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,12 @@
+package com.meko.restapi.event;
+
+/**
+ * Published by the match service whenever a match is written. Listeners that must only
+ * observe committed data use {@code @TransactionalEventListener}. {@code before} is null for
+ * CREATED and {@code after} is null for DELETED.
+ */
+public record MatchChangedEvent(ChangeType type, Long matchId, Teams before, Teams after) {
+
+    public record Teams(String teamA, String teamB) {
+    }
+}
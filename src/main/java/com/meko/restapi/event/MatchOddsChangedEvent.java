@@ -0,0 +1,12 @@
+package com.meko.restapi.event;
+
+import com.meko.restapi.dto.MatchOddsDTO;
+
+/**
+ * Published by the match odds service whenever odds are written. For deletions
+ * {@code odds} holds the last known state of the removed row. {@code version} is the row
+ * version after the write, or the version that was deleted, so listeners that may see
+ * events out of commit order can tell which one is newer.
+ */
+public record MatchOddsChangedEvent(ChangeType type, MatchOddsDTO odds, long version) {
+}
@@ -0,0 +1,13 @@
+package com.meko.restapi.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.GONE)
+public class ChangeTokenExpiredException extends RuntimeException {
+
+    public ChangeTokenExpiredException(long token, long purgedThrough) {
+        super(String.format("Change token %d is older than the retained change log, which starts after %d; "
+                + "reload everything and poll from the current token", token, purgedThrough));
+    }
+}
@@ -0,0 +1,12 @@
+package com.meko.restapi.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String resourceName, Long id, String currentETag) {
+        super(String.format("%s with id %s has changed; current ETag is %s", resourceName, id, currentETag));
+    }
+}
@@ -0,0 +1,31 @@
+package com.meko.restapi.listener;
+
+import com.meko.restapi.enumeration.ChangeEntityType;
+import com.meko.restapi.event.MatchChangedEvent;
+import com.meko.restapi.event.MatchOddsChangedEvent;
+import com.meko.restapi.service.ChangeFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Appends every match and odds write to the change log. A plain (synchronous) listener, so
+ * the entry commits or rolls back together with the write.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeLogRecorder {
+
+    private final ChangeFeedService changeFeedService;
+
+    @EventListener
+    public void onMatchChanged(MatchChangedEvent event) {
+        changeFeedService.recordChange(ChangeEntityType.MATCH, event.matchId(), event.matchId(), event.type());
+    }
+
+    @EventListener
+    public void onMatchOddsChanged(MatchOddsChangedEvent event) {
+        changeFeedService.recordChange(ChangeEntityType.MATCH_ODDS, event.odds().getId(),
+                event.odds().getMatchId(), event.type());
+    }
+}
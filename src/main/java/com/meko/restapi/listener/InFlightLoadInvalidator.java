@@ -0,0 +1,38 @@
+package com.meko.restapi.listener;
+
+import com.meko.restapi.event.MatchChangedEvent;
+import com.meko.restapi.event.MatchOddsChangedEvent;
+import com.meko.restapi.service.MatchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Detaches shared match reads from a match once a change to it has committed, so a client
+ * that reads after its own write never joins a load that started before the write. The match
+ * body holds its odds, so either change affects it. Loads of the cached odds list are detached
+ * by the cache eviction of {@link MatchOddsCacheInvalidator}.
+ */
+@Component
+@RequiredArgsConstructor
+public class InFlightLoadInvalidator {
+
+    private final MatchService matchService;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMatchOddsChanged(MatchOddsChangedEvent event) {
+        forget(event.odds().getMatchId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMatchChanged(MatchChangedEvent event) {
+        forget(event.matchId());
+    }
+
+    private void forget(Long matchId) {
+        if (matchId != null) {
+            matchService.forgetInFlightLoads(matchId);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.meko.restapi.listener;
+
+import com.meko.restapi.config.CacheConfig;
+import com.meko.restapi.event.MatchChangedEvent;
+import com.meko.restapi.event.MatchOddsChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts cached odds lists once the writing transaction has committed, so a reader can
+ * never re-populate the cache with data that is later rolled back. An eviction that races
+ * with an in-flight load does not wait for it: it detaches the load, which then returns its
+ * possibly stale value to its callers without storing it, so the next read loads afresh.
+ */
+@Component
+@RequiredArgsConstructor
+public class MatchOddsCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMatchOddsChanged(MatchOddsChangedEvent event) {
+        evict(event.odds().getMatchId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMatchChanged(MatchChangedEvent event) {
+        evict(event.matchId());
+    }
+
+    private void evict(Long matchId) {
+        Cache cache = cacheManager.getCache(CacheConfig.MATCH_ODDS_CACHE);
+        if (cache != null && matchId != null) {
+            cache.evict(matchId);
+        }
+    }
+}
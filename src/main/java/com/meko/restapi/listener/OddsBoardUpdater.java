@@ -0,0 +1,37 @@
+package com.meko.restapi.listener;
+
+import com.meko.restapi.event.MatchChangedEvent;
+import com.meko.restapi.event.MatchOddsChangedEvent;
+import com.meko.restapi.service.OddsBoardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Builds the in-memory odds board once the application is up and applies every committed
+ * odds change and match deletion to it afterwards.
+ */
+@Component
+@RequiredArgsConstructor
+public class OddsBoardUpdater {
+
+    private final OddsBoardService oddsBoardService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        oddsBoardService.rebuildBoard();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMatchOddsChanged(MatchOddsChangedEvent event) {
+        oddsBoardService.applyOddsChange(event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMatchChanged(MatchChangedEvent event) {
+        oddsBoardService.applyMatchChange(event);
+    }
+}
@@ -0,0 +1,28 @@
+package com.meko.restapi.listener;
+
+import com.meko.restapi.event.ChangeType;
+import com.meko.restapi.event.MatchOddsChangedEvent;
+import com.meko.restapi.service.OddsHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records every price of created or updated odds. A plain (synchronous) listener, so the
+ * tick is written in the same transaction as the odds change.
+ */
+@Component
+@RequiredArgsConstructor
+public class OddsHistoryRecorder {
+
+    private final OddsHistoryService oddsHistoryService;
+
+    @EventListener
+    public void onMatchOddsChanged(MatchOddsChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            return;
+        }
+        oddsHistoryService.recordTick(event.odds().getMatchId(), event.odds().getSpecifier(),
+                event.odds().getOdd(), event.type() == ChangeType.CREATED);
+    }
+}
@@ -0,0 +1,155 @@
+package com.meko.restapi.listener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.meko.restapi.dto.OddsChangeDTO;
+import com.meko.restapi.enumeration.Sport;
+import com.meko.restapi.event.MatchChangedEvent;
+import com.meko.restapi.event.MatchOddsChangedEvent;
+import com.meko.restapi.repository.MatchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans committed odds changes out to stream subscribers of a match or a sport. Publishing
+ * only parks the change on each subscriber; writing to the sockets happens on the
+ * dispatch executor, so a committing request never waits for slow clients.
+ */
+@Slf4j
+@Component
+public class OddsStreamBroadcaster {
+
+    private final MatchRepository matchRepository;
+    private final Executor executor;
+    private final Map<Long, Set<OddsSubscriber>> matchSubscribers = new ConcurrentHashMap<>();
+    private final Map<Sport, Set<OddsSubscriber>> sportSubscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Cache<Long, Sport> sportByMatch = Caffeine.newBuilder().maximumSize(10_000).build();
+
+    @Value("${app.stream.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${app.stream.timeout:30m}")
+    private Duration timeout;
+
+    public OddsStreamBroadcaster(MatchRepository matchRepository,
+                                 @Qualifier("oddsStreamExecutor") Executor executor) {
+        this.matchRepository = matchRepository;
+        this.executor = executor;
+    }
+
+    /**
+     * Registers a subscriber, or returns null when the node is at its subscriber limit.
+     * The caller must {@link OddsSubscriber#start(Object) start} it, or
+     * {@link OddsSubscriber#cancel() cancel} it if the stream is not returned.
+     */
+    public OddsSubscriber subscribeToMatch(Long matchId) {
+        return register(matchSubscribers, matchId);
+    }
+
+    public OddsSubscriber subscribeToSport(Sport sport) {
+        return register(sportSubscribers, sport);
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMatchOddsChanged(MatchOddsChangedEvent event) {
+        OddsChangeDTO change = OddsChangeDTO.of(event.type(), event.odds());
+        Long matchId = change.getMatchId();
+
+        Set<OddsSubscriber> byMatch = matchSubscribers.get(matchId);
+        if (byMatch != null) {
+            byMatch.forEach(subscriber -> subscriber.offer(change));
+        }
+        if (!sportSubscribers.isEmpty()) {
+            Sport sport = sportOf(matchId);
+            Set<OddsSubscriber> bySport = sport == null ? null : sportSubscribers.get(sport);
+            if (bySport != null) {
+                bySport.forEach(subscriber -> subscriber.offer(change));
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMatchChanged(MatchChangedEvent event) {
+        sportByMatch.invalidate(event.matchId());
+    }
+
+    /**
+     * Periodic heartbeat so that dead connections are detected and proxies keep idle
+     * streams open.
+     */
+    @Scheduled(fixedDelayString = "${app.stream.heartbeat-interval:15s}")
+    public void sendHeartbeats() {
+        matchSubscribers.values().forEach(set -> set.forEach(OddsSubscriber::heartbeat));
+        sportSubscribers.values().forEach(set -> set.forEach(OddsSubscriber::heartbeat));
+    }
+
+    /**
+     * Loaded outside the cache so the query never runs under the map's bin lock,
+     * which would pin a virtual thread.
+     */
+    private Sport sportOf(Long matchId) {
+        Sport sport = sportByMatch.getIfPresent(matchId);
+        if (sport == null) {
+            sport = matchRepository.findSportById(matchId).orElse(null);
+            if (sport != null) {
+                sportByMatch.put(matchId, sport);
+            }
+        }
+        return sport;
+    }
+
+    /**
+     * Subscribers join and leave their group inside compute on its key, and the last one to
+     * leave removes the group, so the maps only hold matches and sports that are watched.
+     */
+    private <K> OddsSubscriber register(Map<K, Set<OddsSubscriber>> groups, K key) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        OddsSubscriber subscriber = new OddsSubscriber(emitter, executor);
+        groups.compute(key, (k, group) -> {
+            Set<OddsSubscriber> members = group == null ? ConcurrentHashMap.newKeySet() : group;
+            members.add(subscriber);
+            return members;
+        });
+
+        AtomicBoolean registered = new AtomicBoolean(true);
+        Runnable unregister = () -> {
+            subscriber.close();
+            if (registered.compareAndSet(true, false)) {
+                groups.computeIfPresent(key, (k, group) -> {
+                    group.remove(subscriber);
+                    return group.isEmpty() ? null : group;
+                });
+                subscriberCount.decrementAndGet();
+            }
+        };
+        subscriber.releaseWith(unregister);
+        emitter.onCompletion(unregister);
+        emitter.onTimeout(unregister);
+        emitter.onError(ex -> unregister.run());
+        log.debug("Stream subscriber registered, {} active", subscriberCount.get());
+        return subscriber;
+    }
+}
@@ -0,0 +1,125 @@
+package com.meko.restapi.listener;
+
+import com.meko.restapi.dto.OddsChangeDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One stream subscriber. Offers never block: changes are parked in a map keyed by
+ * (match, specifier), so while a slow client is still being written to, newer prices
+ * simply replace older pending ones instead of queueing up. At most one drain task per
+ * subscriber is scheduled on the executor at any time.
+ */
+public class OddsSubscriber {
+
+    static final String ODDS_EVENT = "odds";
+    static final String SNAPSHOT_EVENT = "snapshot";
+
+    private final SseEmitter emitter;
+    private final Executor executor;
+    private final Map<String, OddsChangeDTO> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean paused = true;
+    private volatile boolean heartbeatDue;
+    private volatile boolean closed;
+    private volatile Runnable release = () -> { };
+
+    public OddsSubscriber(SseEmitter emitter, Executor executor) {
+        this.emitter = emitter;
+        this.executor = executor;
+    }
+
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public void offer(OddsChangeDTO change) {
+        if (closed) {
+            return;
+        }
+        pending.put(change.getMatchId() + ":" + change.getSpecifier(), change);
+        schedule();
+    }
+
+    public void heartbeat() {
+        heartbeatDue = true;
+        schedule();
+    }
+
+    /**
+     * Sends the initial state and then starts delivering changes. Changes offered before
+     * this call are held back and delivered afterwards, so nothing between subscription
+     * and snapshot is lost.
+     */
+    public void start(Object snapshot) {
+        if (snapshot != null) {
+            try {
+                emitter.send(SseEmitter.event().name(SNAPSHOT_EVENT).data(snapshot));
+            } catch (IOException | IllegalStateException ex) {
+                close();
+                return;
+            }
+        }
+        paused = false;
+        schedule();
+    }
+
+    public void close() {
+        closed = true;
+        pending.clear();
+    }
+
+    /**
+     * Closes the subscriber and gives its slot back to the broadcaster. For a stream that
+     * failed before its emitter reached MVC, whose completion callbacks will never fire.
+     */
+    public void cancel() {
+        close();
+        release.run();
+    }
+
+    void releaseWith(Runnable release) {
+        this.release = release;
+    }
+
+    private void schedule() {
+        if (paused || closed) {
+            return;
+        }
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        do {
+            try {
+                if (heartbeatDue) {
+                    heartbeatDue = false;
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+                for (String key : pending.keySet()) {
+                    OddsChangeDTO change = pending.remove(key);
+                    if (change != null) {
+                        emitter.send(SseEmitter.event().name(ODDS_EVENT).data(change));
+                    }
+                }
+            } catch (IOException | IllegalStateException ex) {
+                close();
+                emitter.completeWithError(ex);
+                return;
+            } finally {
+                draining.set(false);
+            }
+        } while (!closed && (!pending.isEmpty() || heartbeatDue) && draining.compareAndSet(false, true));
+    }
+}
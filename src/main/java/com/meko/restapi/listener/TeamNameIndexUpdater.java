@@ -0,0 +1,31 @@
+package com.meko.restapi.listener;
+
+import com.meko.restapi.event.MatchChangedEvent;
+import com.meko.restapi.service.TeamSuggestionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Builds the team autocomplete index once the application is up and applies every
+ * committed match change to it afterwards.
+ */
+@Component
+@RequiredArgsConstructor
+public class TeamNameIndexUpdater {
+
+    private final TeamSuggestionService teamSuggestionService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        teamSuggestionService.rebuildIndex();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMatchChanged(MatchChangedEvent event) {
+        teamSuggestionService.applyMatchChange(event);
+    }
+}
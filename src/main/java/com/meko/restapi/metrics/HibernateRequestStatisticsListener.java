@@ -0,0 +1,39 @@
+package com.meko.restapi.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Counts JDBC statements and their execution time for the current request. Hibernate creates
+ * one instance per session (hibernate.session.events.auto), so the start timestamp is not shared.
+ */
+public class HibernateRequestStatisticsListener implements SessionEventListener {
+
+    private long executionStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        RequestQueryStatistics statistics = RequestQueryStatistics.current();
+        if (statistics != null) {
+            statistics.statementExecuted(System.nanoTime() - executionStart);
+        }
+    }
+}
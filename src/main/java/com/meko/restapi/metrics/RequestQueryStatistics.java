@@ -0,0 +1,62 @@
+package com.meko.restapi.metrics;
+
+/**
+ * Hibernate work done while serving one HTTP request. Bound to the request thread by
+ * {@link RequestQueryStatisticsFilter} and filled in by {@link HibernateRequestStatisticsListener}
+ * and {@link HibernateLoadStatisticsListener}; work on other threads is not attributed.
+ */
+public final class RequestQueryStatistics {
+
+    private static final ThreadLocal<RequestQueryStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long jdbcNanos;
+    private int entityLoads;
+    private int collectionFetches;
+
+    static RequestQueryStatistics begin() {
+        RequestQueryStatistics statistics = new RequestQueryStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Statistics of the request served by the calling thread, or null outside a request
+     */
+    static RequestQueryStatistics current() {
+        return CURRENT.get();
+    }
+
+    void statementExecuted(long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    void collectionFetched() {
+        collectionFetches++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+
+    public int getCollectionFetches() {
+        return collectionFetches;
+    }
+}
@@ -0,0 +1,75 @@
+package com.meko.restapi.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the Hibernate work of each API request, tagged like http.server.requests:
+ * hibernate.request.statements, hibernate.request.entity.loads,
+ * hibernate.request.collection.fetches and hibernate.request.jdbc.time.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestQueryStatisticsFilter extends OncePerRequestFilter {
+
+    private static final String API_PREFIX = "/api/";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(API_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestQueryStatistics statistics = RequestQueryStatistics.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueryStatistics.end();
+            record(request, response, statistics);
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, RequestQueryStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of(
+                "method", request.getMethod(),
+                "uri", pattern != null ? pattern.toString() : "UNKNOWN",
+                "status", Integer.toString(response.getStatus()));
+
+        summary("hibernate.request.statements", "JDBC statements executed per request", tags)
+                .record(statistics.getStatements());
+        summary("hibernate.request.entity.loads", "Entities loaded per request", tags)
+                .record(statistics.getEntityLoads());
+        summary("hibernate.request.collection.fetches", "Lazy collections fetched per request", tags)
+                .record(statistics.getCollectionFetches());
+        Timer.builder("hibernate.request.jdbc.time")
+                .description("Time spent executing JDBC statements per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getJdbcNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private DistributionSummary summary(String name, String description, Tags tags) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tags(tags)
+                .register(meterRegistry);
+    }
+}
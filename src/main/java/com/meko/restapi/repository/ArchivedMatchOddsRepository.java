@@ -0,0 +1,45 @@
+package com.meko.restapi.repository;
+
+import com.meko.restapi.entity.ArchivedMatchOdds;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedMatchOddsRepository extends JpaRepository<ArchivedMatchOdds, Long> {
+
+    /**
+     * Copies the odds of live matches into the archive with one INSERT ... SELECT, taking the
+     * match date from the match; returns the number of rows copied
+     */
+    @Modifying
+    @Query("""
+            insert into ArchivedMatchOdds (id, matchId, matchDate, specifier, odd, version, archivedAt)
+            select o.id, m.id, m.matchDate, o.specifier, o.odd, o.version, :now
+            from MatchOdds o join o.match m where m.id in :matchIds
+            """)
+    int copyFromLive(@Param("matchIds") Collection<Long> matchIds, @Param("now") Instant now);
+
+    /**
+     * The date range of the matches lets PostgreSQL skip the partitions of other months
+     */
+    @Query("""
+            select o from ArchivedMatchOdds o
+            where o.matchDate between :from and :to and o.matchId in :matchIds
+            order by o.matchId, o.id
+            """)
+    List<ArchivedMatchOdds> findByMatchIds(@Param("matchIds") Collection<Long> matchIds,
+                                           @Param("from") LocalDate from,
+                                           @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("delete from ArchivedMatchOdds o where o.matchDate < :before and o.matchId in :matchIds")
+    int deleteByMatchIdIn(@Param("matchIds") Collection<Long> matchIds, @Param("before") LocalDate before);
+}
@@ -0,0 +1,69 @@
+package com.meko.restapi.repository;
+
+import com.meko.restapi.entity.ArchivedMatch;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Every read is bounded by match date, so on PostgreSQL it only visits the partitions of
+ * that range.
+ */
+@Repository
+public interface ArchivedMatchRepository extends JpaRepository<ArchivedMatch, Long>, MatchArchivePartitionRepository {
+
+    /**
+     * Copies live matches into the archive with one INSERT ... SELECT; returns the number of
+     * rows copied
+     */
+    @Modifying
+    @Query("""
+            insert into ArchivedMatch (id, description, matchDate, matchTime, teamA, teamB, sport, version,
+                                       lastModified, archivedAt)
+            select m.id, m.description, m.matchDate, m.matchTime, m.teamA, m.teamB, m.sport, m.version,
+                   m.lastModified, :now
+            from Match m where m.id in :ids
+            """)
+    int copyFromLive(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    @Query("""
+            select m from ArchivedMatch m
+            where m.matchDate between :from and :to
+            order by m.matchDate, m.matchTime, m.id
+            """)
+    List<ArchivedMatch> findFirstPage(@Param("from") LocalDate from, @Param("to") LocalDate to, Limit limit);
+
+    /**
+     * Keyset page after the given (date, time, id) position, like
+     * {@link MatchRepository#findPageIdsAfter}
+     */
+    @Query("""
+            select m from ArchivedMatch m
+            where m.matchDate between :matchDate and :to
+              and (m.matchDate > :matchDate
+                   or (m.matchDate = :matchDate and (m.matchTime > :matchTime
+                       or (m.matchTime = :matchTime and m.id > :id))))
+            order by m.matchDate, m.matchTime, m.id
+            """)
+    List<ArchivedMatch> findPageAfter(@Param("to") LocalDate to,
+                                      @Param("matchDate") LocalDate matchDate,
+                                      @Param("matchTime") LocalTime matchTime,
+                                      @Param("id") Long id,
+                                      Limit limit);
+
+    @Query("select m.id from ArchivedMatch m where m.matchDate < :before order by m.matchDate, m.id")
+    List<Long> findIdsByMatchDateBefore(@Param("before") LocalDate before, Limit limit);
+
+    @Modifying
+    @Query("delete from ArchivedMatch m where m.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,18 @@
+package com.meko.restapi.repository;
+
+import com.meko.restapi.entity.ChangeLogEntry;
+
+import java.util.List;
+
+/**
+ * Writes change log entries with a hand-built statement, so a transaction's entries cost one
+ * JDBC batch instead of a sequence call and an insert each
+ */
+public interface ChangeLogAppendRepository {
+
+    /**
+     * Inserts the entries in list order. Each row draws its sequence number from
+     * change_log_seq in the INSERT itself; the entries' own {@code seq} is left unset.
+     */
+    void appendAll(List<ChangeLogEntry> entries);
+}
@@ -0,0 +1,45 @@
+package com.meko.restapi.repository;
+
+import com.meko.restapi.entity.ChangeLogEntry;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * The sequence of {@link ChangeLogEntry} hands out one number per call so numbers are drawn
+ * just before commit. Drawing them in the INSERT keeps that and still sends the whole list
+ * as one batch; H2 accepts PostgreSQL's {@code nextval} as well.
+ */
+@RequiredArgsConstructor
+public class ChangeLogAppendRepositoryImpl implements ChangeLogAppendRepository {
+
+    private static final String INSERT = """
+            insert into change_log (seq, entity_type, entity_id, match_id, change_type, changed_at)
+            values (nextval('change_log_seq'), ?, ?, ?, ?, ?)""";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public void appendAll(List<ChangeLogEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+                for (ChangeLogEntry entry : entries) {
+                    statement.setString(1, entry.getEntityType().name());
+                    statement.setLong(2, entry.getEntityId());
+                    statement.setLong(3, entry.getMatchId());
+                    statement.setString(4, entry.getChangeType().name());
+                    statement.setObject(5, entry.getChangedAt().atOffset(ZoneOffset.UTC));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+}
@@ -0,0 +1,49 @@
+package com.meko.restapi.repository;
+
+import com.meko.restapi.entity.ChangeLogEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ChangeLogEntryRepository extends JpaRepository<ChangeLogEntry, Long>, ChangeLogAppendRepository {
+
+    @Query("select coalesce(max(e.seq), 0) from ChangeLogEntry e where e.changedAt <= :settledBefore")
+    long findHead(@Param("settledBefore") Instant settledBefore);
+
+    @Query("""
+            select e from ChangeLogEntry e
+            where e.seq > :since and e.changedAt <= :settledBefore
+            order by e.seq""")
+    List<ChangeLogEntry> findAfter(@Param("since") long since, @Param("settledBefore") Instant settledBefore,
+                                   Limit limit);
+
+    @Query("select e.seq from ChangeLogEntry e where e.changedAt < :cutoff order by e.seq")
+    List<Long> findSeqsBefore(@Param("cutoff") Instant cutoff, Limit limit);
+
+    @Modifying
+    @Query("delete from ChangeLogEntry e where e.seq in :seqs")
+    int deleteBySeqIn(@Param("seqs") Collection<Long> seqs);
+
+    @Query(value = "select purged_through from change_log_purge where id = 1", nativeQuery = true)
+    long findPurgedThrough();
+
+    /**
+     * Records that the purge removed entries up to {@code seq}; the mark never moves back
+     */
+    @Modifying
+    @Query(value = "update change_log_purge set purged_through = greatest(purged_through, :seq) where id = 1",
+            nativeQuery = true)
+    int advancePurgedThrough(@Param("seq") long seq);
+
+    @Modifying
+    @Query("delete from ChangeLogEntry e where e.matchId in :matchIds")
+    int deleteByMatchIdIn(@Param("matchIds") Collection<Long> matchIds);
+}
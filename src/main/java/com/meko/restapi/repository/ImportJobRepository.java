@@ -0,0 +1,14 @@
+package com.meko.restapi.repository;
+
+import com.meko.restapi.entity.ImportJob;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    List<ImportJob> findAllByOrderByIdDesc(Limit limit);
+}
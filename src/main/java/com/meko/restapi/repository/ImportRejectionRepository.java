@@ -0,0 +1,14 @@
+package com.meko.restapi.repository;
+
+import com.meko.restapi.entity.ImportRejection;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ImportRejectionRepository extends JpaRepository<ImportRejection, Long> {
+
+    List<ImportRejection> findByJobIdOrderByLineNumber(Long jobId, Limit limit);
+}
@@ -0,0 +1,13 @@
+package com.meko.restapi.repository;
+
+import java.time.YearMonth;
+import java.util.Collection;
+
+public interface MatchArchivePartitionRepository {
+
+    /**
+     * Makes sure the archive tables have a partition for each month. A no-op on databases
+     * where they are not partitioned.
+     */
+    void createMonthlyPartitions(Collection<YearMonth> months);
+}
@@ -0,0 +1,62 @@
+package com.meko.restapi.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * On PostgreSQL the archive tables are range-partitioned by month of match_date (see the
+ * V7 migration under db/vendor/postgresql), and a row can only be inserted once its month
+ * has a partition. H2, used by the tests and benchmarks, has plain tables.
+ */
+@RequiredArgsConstructor
+public class MatchArchivePartitionRepositoryImpl implements MatchArchivePartitionRepository {
+
+    private static final List<String> TABLES = List.of("matches_archive", "match_odds_archive");
+
+    private final EntityManager entityManager;
+
+    // months known to have partitions, so each is created at most once per process
+    private final Set<YearMonth> created = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void createMonthlyPartitions(Collection<YearMonth> months) {
+        List<YearMonth> missing = months.stream().filter(month -> !created.contains(month)).distinct().toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            if (connection.getMetaData().getDatabaseProductName().equals("PostgreSQL")) {
+                try (Statement statement = connection.createStatement()) {
+                    for (YearMonth month : missing) {
+                        for (String table : TABLES) {
+                            statement.execute("create table if not exists %s_%d_%02d partition of %s for values from ('%s') to ('%s')"
+                                    .formatted(table, month.getYear(), month.getMonthValue(), table,
+                                            month.atDay(1), month.plusMonths(1).atDay(1)));
+                        }
+                    }
+                }
+            }
+        });
+        // the DDL is transactional on PostgreSQL, so the months only count as created once it commits
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    created.addAll(missing);
+                }
+            });
+        } else {
+            created.addAll(missing);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.meko.restapi.repository;
+
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.entity.Match;
+import com.meko.restapi.util.MatchFields;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Queries whose select list is built at runtime
+ */
+public interface MatchCriteriaRepository {
+
+    /**
+     * Ids of the first {@code limit} matches satisfying the specification, in the given order.
+     * Selects the id column only, so no match is loaded.
+     */
+    List<Long> findIds(Specification<Match> specification, Sort sort, int limit);
+
+    /**
+     * The matches with the given ids, or all matches if {@code ids} is null, ordered by id.
+     * Selects only the columns of the requested fields and joins the odds only if they are
+     * requested; the other properties of the DTOs stay null.
+     */
+    List<MatchDTO> findSparse(Collection<Long> ids, MatchFields fields);
+}
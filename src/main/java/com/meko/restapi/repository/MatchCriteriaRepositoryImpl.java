@@ -0,0 +1,121 @@
+package com.meko.restapi.repository;
+
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.entity.Match;
+import com.meko.restapi.entity.MatchOdds;
+import com.meko.restapi.enumeration.MatchField;
+import com.meko.restapi.enumeration.Sport;
+import com.meko.restapi.util.MatchFields;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JpaSpecificationExecutor always selects the entity; these run against single columns.
+ */
+@RequiredArgsConstructor
+public class MatchCriteriaRepositoryImpl implements MatchCriteriaRepository {
+
+    private static final String ODDS_ID = "oddsId";
+    private static final String SPECIFIER = "specifier";
+    private static final String ODD = "odd";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Long> findIds(Specification<Match> specification, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Match> root = query.from(Match.class);
+        query.select(root.get("id")).orderBy(QueryUtils.toOrders(sort, root, cb));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<MatchDTO> findSparse(Collection<Long> ids, MatchFields fields) {
+        if (ids != null && ids.isEmpty()) {
+            return List.of();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Match> root = query.from(Match.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        for (MatchField field : fields.fields()) {
+            selections.add(root.get(field.getProperty()).alias(field.getProperty()));
+        }
+        if (fields.includeOdds()) {
+            // Rows of one match stay adjacent because they are ordered by match id first
+            Join<Match, MatchOdds> odds = root.join("matchOdds", JoinType.LEFT);
+            selections.add(odds.get("id").alias(ODDS_ID));
+            selections.add(odds.get("specifier").alias(SPECIFIER));
+            selections.add(odds.get("odd").alias(ODD));
+            query.orderBy(cb.asc(root.get("id")), cb.asc(odds.get("id")));
+        } else {
+            query.orderBy(cb.asc(root.get("id")));
+        }
+        query.multiselect(selections);
+        if (ids != null) {
+            query.where(root.get("id").in(ids));
+        }
+
+        List<MatchDTO> matches = new ArrayList<>();
+        MatchDTO current = null;
+        for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+            Long id = tuple.get(MatchField.ID.getProperty(), Long.class);
+            if (current == null || !current.getId().equals(id)) {
+                current = toDTO(tuple, fields);
+                matches.add(current);
+            }
+            Long oddsId = fields.includeOdds() ? tuple.get(ODDS_ID, Long.class) : null;
+            if (oddsId != null) {
+                current.getMatchOdds().add(new MatchOddsDTO(oddsId, id,
+                        tuple.get(SPECIFIER, String.class), tuple.get(ODD, Double.class)));
+            }
+        }
+        return matches;
+    }
+
+    private static MatchDTO toDTO(Tuple tuple, MatchFields fields) {
+        MatchDTO dto = new MatchDTO();
+        for (MatchField field : fields.fields()) {
+            String property = field.getProperty();
+            switch (field) {
+                case ID -> dto.setId(tuple.get(property, Long.class));
+                case DESCRIPTION -> dto.setDescription(tuple.get(property, String.class));
+                case MATCH_DATE -> dto.setMatchDate(tuple.get(property, LocalDate.class));
+                case MATCH_TIME -> dto.setMatchTime(tuple.get(property, LocalTime.class));
+                case TEAM_A -> dto.setTeamA(tuple.get(property, String.class));
+                case TEAM_B -> dto.setTeamB(tuple.get(property, String.class));
+                case SPORT -> dto.setSport(tuple.get(property, Sport.class));
+            }
+        }
+        if (fields.includeOdds()) {
+            dto.setMatchOdds(new ArrayList<>());
+        }
+        return dto;
+    }
+}
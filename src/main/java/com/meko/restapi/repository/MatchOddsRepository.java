@@ -1,15 +1,94 @@
 package com.meko.restapi.repository;
 
+import com.meko.restapi.dto.MatchOddsDTO;
 import com.meko.restapi.entity.MatchOdds;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface MatchOddsRepository extends JpaRepository<MatchOdds, Long> {
+public interface MatchOddsRepository extends JpaRepository<MatchOdds, Long>, MatchOddsUpsertRepository {
     
-    List<MatchOdds> findByMatchId(Long matchId);
+    /**
+     * Filters on the foreign key column; the derived query joined matches and filtered on
+     * the joined id, which kept H2 from using idx_match_odds_match_id.
+     */
+    @Query("select o from MatchOdds o where o.match.id = :matchId")
+    List<MatchOdds> findByMatchId(@Param("matchId") Long matchId);
+
+    @Query("select new com.meko.restapi.dto.MatchOddsDTO(o.id, o.match.id, o.specifier, o.odd) "
+            + "from MatchOdds o where o.id in :ids order by o.id")
+    List<MatchOddsDTO> findDTOsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.meko.restapi.repository.MatchOddsRow(o.id, o.match.id, o.specifier, o.odd, o.version) "
+            + "from MatchOdds o where o.id = :id")
+    Optional<MatchOddsRow> findRowById(@Param("id") Long id);
     
-    void deleteByMatchId(Long matchId);
+    /**
+     * One DELETE statement instead of loading and removing each row; returns the number of
+     * rows deleted
+     */
+    @Modifying
+    @Query("delete from MatchOdds o where o.match.id = :matchId")
+    int deleteByMatchId(@Param("matchId") Long matchId);
+
+    @Modifying
+    @Query("delete from MatchOdds o where o.match.id in :matchIds")
+    int deleteByMatchIdIn(@Param("matchIds") Collection<Long> matchIds);
+
+    /**
+     * Streams all odds as DTOs ordered by match id, so they can be merged with
+     * {@link MatchRepository#streamAllOrderedById()} without hydrating entities.
+     */
+    @Query("select new com.meko.restapi.dto.MatchOddsDTO(o.id, o.match.id, o.specifier, o.odd) "
+            + "from MatchOdds o order by o.match.id, o.id")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = MatchRepository.STREAM_FETCH_SIZE))
+    Stream<MatchOddsDTO> streamAllOrderedByMatchId();
+
+    /**
+     * Streams every odds row with its version, for building the in-memory odds board
+     */
+    @Query("select o.match.id as matchId, o.id as id, o.version as version, o.specifier as specifier, o.odd as odd "
+            + "from MatchOdds o")
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = MatchRepository.STREAM_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<BoardOdds> streamBoardOdds();
+
+    @Query("select o.match.id as matchId, o.id as id, o.version as version, o.specifier as specifier, o.odd as odd "
+            + "from MatchOdds o where o.match.id in :matchIds")
+    List<BoardOdds> findBoardOddsByMatchIdIn(@Param("matchIds") Collection<Long> matchIds);
+
+    /**
+     * Odds of the given matches whose specifier is one of the given ones, read through
+     * uk_match_odds_match_specifier; a superset of the wanted (match, specifier) pairs when
+     * several matches are given, so callers filter on the pair.
+     */
+    @Query("select o.match.id as matchId, o.id as id, o.version as version, o.specifier as specifier, o.odd as odd "
+            + "from MatchOdds o where o.match.id in :matchIds and o.specifier in :specifiers")
+    List<BoardOdds> findBoardOddsByMatchIdInAndSpecifierIn(@Param("matchIds") Collection<Long> matchIds,
+                                                           @Param("specifiers") Collection<String> specifiers);
+
+    @Query("select o.match.id as matchId, o.id as id, o.version as version, o.specifier as specifier, o.odd as odd "
+            + "from MatchOdds o where o.id in :ids")
+    List<BoardOdds> findBoardOddsByIdIn(@Param("ids") Collection<Long> ids);
+
+    interface BoardOdds {
+        Long getMatchId();
+        Long getId();
+        long getVersion();
+        String getSpecifier();
+        Double getOdd();
+    }
 }
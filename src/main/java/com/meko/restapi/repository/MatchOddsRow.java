@@ -0,0 +1,18 @@
+package com.meko.restapi.repository;
+
+import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.util.EntityVersion;
+
+/**
+ * One odds row with its version, selected with a constructor expression
+ */
+public record MatchOddsRow(Long id, Long matchId, String specifier, Double odd, long version) {
+
+    public MatchOddsDTO toDTO() {
+        return new MatchOddsDTO(id, matchId, specifier, odd);
+    }
+
+    public EntityVersion entityVersion() {
+        return new EntityVersion(version, null);
+    }
+}
@@ -0,0 +1,35 @@
+package com.meko.restapi.repository;
+
+import com.meko.restapi.dto.MatchOddsDTO;
+
+import java.util.List;
+
+/**
+ * Writes odds in bulk with hand-built statements: upserts by the natural key (match,
+ * specifier) and batched updates by id
+ */
+public interface MatchOddsUpsertRepository {
+
+    /**
+     * Inserts the odds that do not exist yet and updates the ones whose odd differs, bumping
+     * their version. The items must have distinct keys and existing matches.
+     *
+     * @return the rows that were inserted (version 0) or updated; rows left as they were are absent
+     */
+    List<UpsertedOdds> upsertByKey(List<MatchOddsDTO> odds);
+
+    /**
+     * Updates each row in one JDBC batch, provided it is still at the given version, and
+     * bumps that version
+     *
+     * @return per update, whether its row was written; a row updated or deleted since it was
+     *         read is not
+     */
+    boolean[] updateIfUnchanged(List<VersionedUpdate> updates);
+
+    record VersionedUpdate(long id, long version, String specifier, double odd) {
+    }
+
+    record UpsertedOdds(long id, long matchId, String specifier, double odd, long version) {
+    }
+}
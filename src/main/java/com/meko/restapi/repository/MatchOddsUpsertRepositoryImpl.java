@@ -0,0 +1,131 @@
+package com.meko.restapi.repository;
+
+import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.entity.MatchOdds;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * PostgreSQL runs {@code INSERT ... ON CONFLICT DO UPDATE ... RETURNING}; H2, used by the
+ * tests and benchmarks, runs the equivalent {@code MERGE} and reads the written rows from
+ * its {@code FINAL TABLE}. Both skip the update when the odd is unchanged.
+ * <p>
+ * Every row is sent with an id drawn from the pooled generator of {@link MatchOdds}, the
+ * same one persist uses, so ids cost one sequence call per 50 rows. Rows that turn out to be
+ * updates leave their id unused, which only leaves a gap.
+ */
+@RequiredArgsConstructor
+public class MatchOddsUpsertRepositoryImpl implements MatchOddsUpsertRepository {
+
+    private static final String POSTGRES_UPSERT = """
+            insert into match_odds (id, match_id, specifier, odd, version)
+            select v.id, v.match_id, v.specifier, v.odd, 0
+            from (values %s) as v (id, match_id, specifier, odd)
+            on conflict (match_id, specifier) do update
+                set odd = excluded.odd, version = match_odds.version + 1
+                where match_odds.odd <> excluded.odd
+            returning id, match_id, specifier, odd, version""";
+
+    private static final String H2_UPSERT = """
+            select id, match_id, specifier, odd, version from final table (
+                merge into match_odds t
+                using (values %s) as v (id, match_id, specifier, odd)
+                on t.match_id = v.match_id and t.specifier = v.specifier
+                when matched and t.odd <> v.odd then
+                    update set odd = v.odd, version = t.version + 1
+                when not matched then
+                    insert (id, match_id, specifier, odd, version)
+                    values (v.id, v.match_id, v.specifier, v.odd, 0))""";
+
+    private static final String VERSIONED_UPDATE = """
+            update match_odds set specifier = ?, odd = ?, version = version + 1
+            where id = ? and version = ?""";
+
+    private static final String ROW =
+            "(cast(? as bigint), cast(? as bigint), cast(? as varchar(255)), cast(? as double precision))";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<UpsertedOdds> upsertByKey(List<MatchOddsDTO> odds) {
+        if (odds.isEmpty()) {
+            return List.of();
+        }
+        // rows are locked in key order, so concurrent upserts of overlapping keys cannot deadlock
+        List<MatchOddsDTO> ordered = odds.stream()
+                .sorted(Comparator.comparing(MatchOddsDTO::getMatchId).thenComparing(MatchOddsDTO::getSpecifier))
+                .toList();
+        // the statement bypasses the persistence context, so pending entity changes go first
+        entityManager.flush();
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(MatchOdds.class).getGenerator();
+        List<Long> ids = new ArrayList<>(ordered.size());
+        for (int i = 0; i < ordered.size(); i++) {
+            ids.add((Long) generator.generate(session, null, null, EventType.INSERT));
+        }
+        return session.doReturningWork(connection -> upsert(connection, ordered, ids));
+    }
+
+    @Override
+    public boolean[] updateIfUnchanged(List<VersionedUpdate> updates) {
+        if (updates.isEmpty()) {
+            return new boolean[0];
+        }
+        entityManager.flush();
+        return entityManager.unwrap(SharedSessionContractImplementor.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(VERSIONED_UPDATE)) {
+                for (VersionedUpdate update : updates) {
+                    statement.setString(1, update.specifier());
+                    statement.setDouble(2, update.odd());
+                    statement.setLong(3, update.id());
+                    statement.setLong(4, update.version());
+                    statement.addBatch();
+                }
+                int[] counts = statement.executeBatch();
+                boolean[] written = new boolean[counts.length];
+                for (int i = 0; i < counts.length; i++) {
+                    written[i] = counts[i] > 0;
+                }
+                return written;
+            }
+        });
+    }
+
+    private static List<UpsertedOdds> upsert(Connection connection, List<MatchOddsDTO> odds, List<Long> ids)
+            throws SQLException {
+        String template = connection.getMetaData().getDatabaseProductName().equals("H2") ? H2_UPSERT : POSTGRES_UPSERT;
+        String sql = template.formatted(String.join(", ", Collections.nCopies(odds.size(), ROW)));
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int parameter = 1;
+            for (int i = 0; i < odds.size(); i++) {
+                MatchOddsDTO dto = odds.get(i);
+                statement.setLong(parameter++, ids.get(i));
+                statement.setLong(parameter++, dto.getMatchId());
+                statement.setString(parameter++, dto.getSpecifier());
+                statement.setDouble(parameter++, dto.getOdd());
+            }
+            List<UpsertedOdds> written = new ArrayList<>();
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    written.add(new UpsertedOdds(rows.getLong("id"), rows.getLong("match_id"),
+                            rows.getString("specifier"), rows.getDouble("odd"), rows.getLong("version")));
+                }
+            }
+            return written;
+        }
+    }
+}
@@ -1,19 +1,167 @@
 package com.meko.restapi.repository;
 
+import com.meko.restapi.dto.MatchDTO;
 import com.meko.restapi.entity.Match;
 import com.meko.restapi.enumeration.Sport;
+import com.meko.restapi.util.EntityVersion;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+/**
+ * The GET endpoints read {@link MatchRow} projections, one row per odds joined to its match,
+ * so listing N matches costs one query instead of N+1. Entities are loaded for writes only.
+ */
 @Repository
-public interface MatchRepository extends JpaRepository<Match, Long> {
-    
-    List<Match> findByMatchDate(LocalDate matchDate);
-    
-    List<Match> findBySport(Sport sport);
-    
-    List<Match> findByTeamAOrTeamB(String teamA, String teamB);
+public interface MatchRepository extends JpaRepository<Match, Long>, JpaSpecificationExecutor<Match>,
+        MatchCriteriaRepository {
+
+    /** Rows per JDBC round trip when streaming; keeps export memory bounded. */
+    String STREAM_FETCH_SIZE = "500";
+
+    String SELECT_MATCH_ROWS = """
+            select new com.meko.restapi.repository.MatchRow(m.id, m.description, m.matchDate, m.matchTime,
+                m.teamA, m.teamB, m.sport, m.version, m.lastModified, o.id, o.specifier, o.odd)
+            from Match m left join m.matchOdds o
+            """;
+
+    @Query("select m.sport from Match m where m.id = :id")
+    Optional<Sport> findSportById(@Param("id") Long id);
+
+    /** Answers conditional requests without loading the match or its odds. */
+    @Query("select new com.meko.restapi.util.EntityVersion(m.version, m.lastModified) from Match m where m.id = :id")
+    Optional<EntityVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * Bumps the version of matches whose odds changed. A single UPDATE, so concurrent odds
+     * writers queue on the row lock instead of failing an optimistic check. Pending changes
+     * are flushed first and the persistence context is cleared afterwards, so a match loaded
+     * earlier in the transaction is read again with its new version instead of staying stale.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Match m set m.version = m.version + 1, m.lastModified = :now where m.id in :ids")
+    int touch(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    @Query("select m.id from Match m where m.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select new com.meko.restapi.dto.MatchDTO(m.id, m.description, m.matchDate, m.matchTime,
+                m.teamA, m.teamB, m.sport)
+            from Match m where m.id in :ids order by m.id
+            """)
+    List<MatchDTO> findDTOsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Locks the match row ahead of a set-based delete, so no odds can be added to it between
+     * deleting its odds and deleting the match
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select m.id as id, m.teamA as teamA, m.teamB as teamB from Match m where m.id = :id")
+    Optional<MatchTeams> lockTeamsById(@Param("id") Long id);
+
+    /**
+     * Oldest matches that kicked off before the given date, locked like
+     * {@link #lockTeamsById(Long)}. Range-scans idx_matches_kickoff.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select m.id as id, m.teamA as teamA, m.teamB as teamB, m.matchDate as matchDate from Match m
+            where m.matchDate < :before
+            order by m.matchDate, m.matchTime, m.id
+            """)
+    List<PastMatch> lockMatchesBefore(@Param("before") LocalDate before, Limit limit);
+
+    /**
+     * One DELETE statement; the odds of these matches must be deleted first. Returns the
+     * number of matches deleted.
+     */
+    @Modifying
+    @Query("delete from Match m where m.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * The match and its odds in one statement, so the version and the odds come from the
+     * same snapshot. Empty if there is no such match.
+     */
+    @Query(SELECT_MATCH_ROWS + "where m.id = :id order by o.id")
+    List<MatchRow> findRowsById(@Param("id") Long id);
+
+    @Query(SELECT_MATCH_ROWS + "where m.id in :ids order by m.id, o.id")
+    List<MatchRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_MATCH_ROWS + "order by m.id, o.id")
+    List<MatchRow> findAllRows();
+
+    @Query("select m.id from Match m order by m.matchDate, m.matchTime, m.id")
+    List<Long> findFirstPageIds(Limit limit);
+
+    /**
+     * Keyset page: ids strictly after the given (date, time, id) position. The leading
+     * {@code matchDate >= :matchDate} bound lets the database range-scan idx_matches_kickoff,
+     * so deep pages cost the same as the first one.
+     */
+    @Query("""
+            select m.id from Match m
+            where m.matchDate >= :matchDate
+              and (m.matchDate > :matchDate
+                   or (m.matchDate = :matchDate and (m.matchTime > :matchTime
+                       or (m.matchTime = :matchTime and m.id > :id))))
+            order by m.matchDate, m.matchTime, m.id
+            """)
+    List<Long> findPageIdsAfter(@Param("matchDate") LocalDate matchDate,
+                                @Param("matchTime") LocalTime matchTime,
+                                @Param("id") Long id,
+                                Limit limit);
+
+    /**
+     * Streams every match ordered by id, without odds and without loading entities. Must be
+     * consumed inside a transaction and closed by the caller.
+     */
+    @Query("""
+            select new com.meko.restapi.dto.MatchDTO(m.id, m.description, m.matchDate, m.matchTime,
+                m.teamA, m.teamB, m.sport)
+            from Match m order by m.id
+            """)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    Stream<MatchDTO> streamAllOrderedById();
+
+    /**
+     * Streams only the team columns of every match, for rebuilding in-memory indexes.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    @Query("select m.id as id, m.teamA as teamA, m.teamB as teamB from Match m")
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<MatchTeams> streamTeams();
+
+    interface MatchTeams {
+        Long getId();
+        String getTeamA();
+        String getTeamB();
+    }
+
+    interface PastMatch extends MatchTeams {
+        LocalDate getMatchDate();
+    }
 }
@@ -0,0 +1,46 @@
+package com.meko.restapi.repository;
+
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.enumeration.Sport;
+import com.meko.restapi.util.EntityVersion;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A match joined with one of its odds, selected with a constructor expression so no entity is
+ * loaded. A match with N odds comes back as N rows and a match without odds as one row whose
+ * odds columns are null; {@link #toDTOs} groups them again.
+ */
+public record MatchRow(Long id, String description, LocalDate matchDate, LocalTime matchTime,
+                       String teamA, String teamB, Sport sport, long version, Instant lastModified,
+                       Long oddsId, String specifier, Double odd) {
+
+    public EntityVersion entityVersion() {
+        return new EntityVersion(version, lastModified);
+    }
+
+    /**
+     * Group match rows joined with their odds into one MatchDTO per match, in the order the
+     * matches first appear. Rows of one match must be adjacent.
+     */
+    public static List<MatchDTO> toDTOs(List<MatchRow> rows) {
+        List<MatchDTO> dtos = new ArrayList<>();
+        MatchDTO current = null;
+        for (MatchRow row : rows) {
+            if (current == null || !current.getId().equals(row.id())) {
+                current = new MatchDTO(row.id(), row.description(), row.matchDate(), row.matchTime(),
+                        row.teamA(), row.teamB(), row.sport(), new ArrayList<>());
+                dtos.add(current);
+            }
+            if (row.oddsId() != null) {
+                current.getMatchOdds().add(new MatchOddsDTO(row.oddsId(), row.id(), row.specifier(), row.odd()));
+            }
+        }
+        return dtos;
+    }
+}
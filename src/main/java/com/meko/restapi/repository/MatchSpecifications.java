@@ -0,0 +1,65 @@
+package com.meko.restapi.repository;
+
+import com.meko.restapi.entity.Match;
+import com.meko.restapi.enumeration.Sport;
+import com.meko.restapi.util.MatchCursor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Building blocks for match search. Each filter maps onto a leading column of one of the
+ * search indexes (see db/migration/V2__search_indexes.sql), and results are ordered by
+ * {@link #KICKOFF_ORDER} so they can be paged with a {@link MatchCursor}.
+ */
+public final class MatchSpecifications {
+
+    public static final Sort KICKOFF_ORDER = Sort.by("matchDate", "matchTime", "id");
+
+    private MatchSpecifications() {
+    }
+
+    public static Specification<Match> hasSport(Sport sport) {
+        return (root, query, cb) -> cb.equal(root.get("sport"), sport);
+    }
+
+    public static Specification<Match> involvesTeam(String team) {
+        return (root, query, cb) -> cb.or(cb.equal(root.get("teamA"), team), cb.equal(root.get("teamB"), team));
+    }
+
+    public static Specification<Match> onOrAfter(LocalDate date) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("matchDate"), date);
+    }
+
+    public static Specification<Match> onOrBefore(LocalDate date) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("matchDate"), date);
+    }
+
+    public static Specification<Match> kickoffAtOrAfter(LocalTime time) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("matchTime"), time);
+    }
+
+    public static Specification<Match> kickoffAtOrBefore(LocalTime time) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("matchTime"), time);
+    }
+
+    /**
+     * Keyset predicate: rows strictly after the cursor in {@link #KICKOFF_ORDER}, with the same
+     * leading {@code matchDate >=} bound as {@link MatchRepository#findPageIdsAfter}.
+     */
+    public static Specification<Match> after(MatchCursor cursor) {
+        return (root, query, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(root.get("matchDate"), cursor.matchDate()),
+                cb.or(
+                        cb.greaterThan(root.get("matchDate"), cursor.matchDate()),
+                        cb.and(
+                                cb.equal(root.get("matchDate"), cursor.matchDate()),
+                                cb.or(
+                                        cb.greaterThan(root.get("matchTime"), cursor.matchTime()),
+                                        cb.and(
+                                                cb.equal(root.get("matchTime"), cursor.matchTime()),
+                                                cb.greaterThan(root.get("id"), cursor.id()))))));
+    }
+}
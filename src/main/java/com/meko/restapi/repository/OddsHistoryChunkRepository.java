@@ -0,0 +1,36 @@
+package com.meko.restapi.repository;
+
+import com.meko.restapi.entity.OddsHistoryChunk;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OddsHistoryChunkRepository extends JpaRepository<OddsHistoryChunk, Long> {
+
+    /**
+     * The chunk compacted ticks are appended to, locked in case another instance compacts
+     * ticks of the same specifier.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<OddsHistoryChunk> findFirstByMatchIdAndSpecifierOrderByFirstTsDescIdDesc(Long matchId, String specifier);
+
+    @Query("select c from OddsHistoryChunk c where c.matchId = :matchId and c.lastTs >= :from and c.firstTs <= :to "
+            + "order by c.specifier, c.firstTs, c.id")
+    List<OddsHistoryChunk> findOverlapping(@Param("matchId") Long matchId,
+                                           @Param("from") Instant from,
+                                           @Param("to") Instant to);
+
+    @Modifying
+    @Query("delete from OddsHistoryChunk c where c.matchId in :matchIds")
+    int deleteByMatchIdIn(@Param("matchIds") Collection<Long> matchIds);
+}
@@ -0,0 +1,41 @@
+package com.meko.restapi.repository;
+
+import com.meko.restapi.entity.OddsHistoryTick;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OddsHistoryTickRepository extends JpaRepository<OddsHistoryTick, Long> {
+
+    /**
+     * The oldest ticks, locked so that two instances never compact the same ticks. One that
+     * waited for the lock skips the ticks the other has deleted.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from OddsHistoryTick t order by t.id")
+    List<OddsHistoryTick> lockOldest(Limit limit);
+
+    @Query("select t from OddsHistoryTick t where t.matchId = :matchId and t.ts >= :from and t.ts <= :to "
+            + "order by t.specifier, t.id")
+    List<OddsHistoryTick> findInRange(@Param("matchId") Long matchId,
+                                      @Param("from") Instant from,
+                                      @Param("to") Instant to);
+
+    @Modifying
+    @Query("delete from OddsHistoryTick t where t.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from OddsHistoryTick t where t.matchId in :matchIds")
+    int deleteByMatchIdIn(@Param("matchIds") Collection<Long> matchIds);
+}
@@ -0,0 +1,17 @@
+package com.meko.restapi.service;
+
+import com.meko.restapi.dto.ChangeFeedDTO;
+import com.meko.restapi.enumeration.ChangeEntityType;
+import com.meko.restapi.event.ChangeType;
+
+import java.time.Instant;
+import java.util.Collection;
+
+public interface ChangeFeedService {
+
+    void recordChange(ChangeEntityType entityType, Long entityId, Long matchId, ChangeType changeType);
+    ChangeFeedDTO getChanges(String since, Integer size);
+    void deleteMatchEntries(Collection<Long> matchIds);
+    void purgeExpiredEntries();
+    long purgeEntriesBefore(Instant cutoff);
+}
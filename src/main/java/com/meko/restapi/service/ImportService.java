@@ -0,0 +1,16 @@
+package com.meko.restapi.service;
+
+import com.meko.restapi.dto.ImportJobDTO;
+import com.meko.restapi.enumeration.ImportFormat;
+import com.meko.restapi.enumeration.ImportKind;
+
+import java.io.InputStream;
+import java.util.List;
+
+public interface ImportService {
+
+    ImportJobDTO runImport(ImportKind kind, ImportFormat format, InputStream input, String source,
+                           Long resumeJobId, Integer chunkSize);
+    ImportJobDTO getImportJob(Long id);
+    List<ImportJobDTO> getRecentImportJobs(Integer limit);
+}
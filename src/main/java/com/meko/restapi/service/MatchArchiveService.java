@@ -0,0 +1,14 @@
+package com.meko.restapi.service;
+
+import com.meko.restapi.dto.CursorPageDTO;
+import com.meko.restapi.dto.MatchDTO;
+
+import java.time.LocalDate;
+
+public interface MatchArchiveService {
+
+    long archiveMatchesBefore(LocalDate cutoff);
+    void archiveFinishedMatches();
+    MatchDTO getArchivedMatch(Long id);
+    CursorPageDTO<MatchDTO> getArchivedMatches(LocalDate from, LocalDate to, String cursor, Integer size);
+}
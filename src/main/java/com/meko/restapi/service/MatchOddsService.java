@@ -1,13 +1,24 @@
 package com.meko.restapi.service;
+import com.meko.restapi.dto.BatchResultDTO;
 import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.util.EntityVersion;
+import com.meko.restapi.util.Upserted;
+import com.meko.restapi.util.Versioned;
 
 import java.util.List;
 
 public interface MatchOddsService {
 
     MatchOddsDTO createMatchOdds(MatchOddsDTO matchOddsDTO);
+    BatchResultDTO createMatchOddsBatch(List<MatchOddsDTO> matchOddsDTOs);
     MatchOddsDTO getMatchOddsById(Long id);
+    Versioned<MatchOddsDTO> getVersionedMatchOddsById(Long id);
     List<MatchOddsDTO> getMatchOddsByMatchId(Long matchId);
+    Versioned<List<MatchOddsDTO>> getVersionedMatchOddsByMatchId(Long matchId);
+    EntityVersion getMatchOddsVersionByMatchId(Long matchId);
     MatchOddsDTO updateMatchOdds(Long id, MatchOddsDTO matchOddsDTO);
+    Versioned<MatchOddsDTO> updateMatchOdds(Long id, MatchOddsDTO matchOddsDTO, Long expectedVersion);
+    Upserted<MatchOddsDTO> upsertMatchOdds(MatchOddsDTO matchOddsDTO);
+    BatchResultDTO upsertMatchOddsBatch(List<MatchOddsDTO> matchOddsDTOs);
     void deleteMatchOdds(Long id);
 }
@@ -0,0 +1,9 @@
+package com.meko.restapi.service;
+
+import java.time.LocalDate;
+
+public interface MatchRetentionService {
+
+    long purgeMatchesBefore(LocalDate cutoff);
+    void purgeExpiredMatches();
+}
@@ -1,16 +1,34 @@
 package com.meko.restapi.service;
 
+import com.meko.restapi.dto.BatchResultDTO;
+import com.meko.restapi.dto.CursorPageDTO;
 import com.meko.restapi.dto.MatchDTO;
-import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.dto.MatchSearchCriteria;
+import com.meko.restapi.util.EntityVersion;
+import com.meko.restapi.util.MatchFields;
+import com.meko.restapi.util.Versioned;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface MatchService {
     
     MatchDTO createMatch(MatchDTO matchDTO);
+    BatchResultDTO createMatchesBatch(List<MatchDTO> matchDTOs);
     MatchDTO getMatchById(Long id);
+    Versioned<MatchDTO> getVersionedMatchById(Long id);
+    Versioned<MatchDTO> getVersionedMatchById(Long id, MatchFields fields);
+    EntityVersion getMatchVersion(Long id);
     List<MatchDTO> getAllMatches();
+    List<MatchDTO> getAllMatches(MatchFields fields);
+    CursorPageDTO<MatchDTO> getMatchesPage(String cursor, Integer size);
+    CursorPageDTO<MatchDTO> getMatchesPage(String cursor, Integer size, MatchFields fields);
+    CursorPageDTO<MatchDTO> searchMatches(MatchSearchCriteria criteria, String cursor, Integer size);
+    CursorPageDTO<MatchDTO> searchMatches(MatchSearchCriteria criteria, String cursor, Integer size, MatchFields fields);
+    void exportMatches(Consumer<MatchDTO> sink);
     MatchDTO updateMatch(Long id, MatchDTO matchDTO);
+    Versioned<MatchDTO> updateMatch(Long id, MatchDTO matchDTO, Long expectedVersion);
     void deleteMatch(Long id);
+    void forgetInFlightLoads(Long id);
 
 }
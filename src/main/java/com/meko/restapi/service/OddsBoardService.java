@@ -0,0 +1,15 @@
+package com.meko.restapi.service;
+
+import com.meko.restapi.event.MatchChangedEvent;
+import com.meko.restapi.event.MatchOddsChangedEvent;
+import com.meko.restapi.util.OddsBoard;
+
+public interface OddsBoardService {
+
+    int forEachOdds(Long matchId, OddsBoard.OddsConsumer consumer);
+    void forEachOdds(OddsBoard.OddsConsumer consumer);
+    String specifierOf(Long matchId, Long oddsId);
+    void rebuildBoard();
+    void applyOddsChange(MatchOddsChangedEvent event);
+    void applyMatchChange(MatchChangedEvent event);
+}
@@ -0,0 +1,16 @@
+package com.meko.restapi.service;
+
+import com.meko.restapi.dto.OddsHistorySeriesDTO;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface OddsHistoryService {
+
+    void recordTick(Long matchId, String specifier, double odd, boolean newSeries);
+    List<OddsHistorySeriesDTO> getHistory(Long matchId, Instant from, Instant to, Duration bucket);
+    void compactTicks();
+    void deleteHistory(Collection<Long> matchIds);
+}
@@ -0,0 +1,15 @@
+package com.meko.restapi.service;
+
+import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.util.PendingOdds;
+
+public interface OddsWriteBehindService {
+
+    boolean accept(Long id, MatchOddsDTO matchOddsDTO);
+    PendingOdds pending();
+    PendingOdds pendingForMatch(Long matchId);
+    PendingOdds pendingForOdds(Long id);
+    void flush();
+    void flushPendingMatch(Long matchId);
+    void flushPendingOdds(Long id);
+}
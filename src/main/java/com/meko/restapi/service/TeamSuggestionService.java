@@ -0,0 +1,13 @@
+package com.meko.restapi.service;
+
+import com.meko.restapi.dto.TeamSuggestionDTO;
+import com.meko.restapi.event.MatchChangedEvent;
+
+import java.util.List;
+
+public interface TeamSuggestionService {
+
+    List<TeamSuggestionDTO> suggestTeams(String prefix, Integer limit);
+    void rebuildIndex();
+    void applyMatchChange(MatchChangedEvent event);
+}
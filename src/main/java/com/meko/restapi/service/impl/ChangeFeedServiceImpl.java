@@ -0,0 +1,251 @@
+package com.meko.restapi.service.impl;
+
+import com.meko.restapi.dto.ChangeFeedDTO;
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.dto.TombstoneDTO;
+import com.meko.restapi.entity.ChangeLogEntry;
+import com.meko.restapi.enumeration.ChangeEntityType;
+import com.meko.restapi.event.ChangeType;
+import com.meko.restapi.exception.BadRequestException;
+import com.meko.restapi.exception.ChangeTokenExpiredException;
+import com.meko.restapi.repository.ChangeLogEntryRepository;
+import com.meko.restapi.repository.MatchOddsRepository;
+import com.meko.restapi.repository.MatchRepository;
+import com.meko.restapi.service.ChangeFeedService;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ChangeFeedServiceImpl implements ChangeFeedService {
+
+    private final ChangeLogEntryRepository changeLogRepository;
+    private final MatchRepository matchRepository;
+    private final MatchOddsRepository matchOddsRepository;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.changes.default-page-size:500}")
+    private int defaultPageSize;
+
+    @Value("${app.changes.max-page-size:5000}")
+    private int maxPageSize;
+
+    @Value("${app.changes.settle-time:2s}")
+    private Duration settleTime;
+
+    @Value("${app.changes.keep:7d}")
+    private Duration keep;
+
+    @Value("${app.changes.purge-chunk-size:5000}")
+    private int purgeChunkSize;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void createTransactionTemplate() {
+        // entries recorded without a transaction, and every purge chunk, commit on their own
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Buffers the change on the caller's transaction. The buffer is written just before
+     * commit, after all other statements have been flushed, so sequence numbers are drawn
+     * as close to the commit as possible. A change made outside a transaction is already
+     * committed, so its entry is written at once in a transaction of its own.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void recordChange(ChangeEntityType entityType, Long entityId, Long matchId, ChangeType changeType) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            transactionTemplate.executeWithoutResult(status -> entityManager.persist(
+                    new ChangeLogEntry(null, entityType, entityId, matchId, changeType, Instant.now())));
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.entries.add(new ChangeLogEntry(null, entityType, entityId, matchId, changeType, Instant.now()));
+    }
+
+    /**
+     * Entries after the watermark, collapsed to the latest change per row and returned in
+     * the row's current state. A row changed and then deleted appears only once its
+     * tombstone is in the page. Without a watermark only the current head is returned;
+     * take it before a full load and poll from there.
+     * <p>
+     * Sequence numbers are drawn before commit, so a transaction may commit a smaller number
+     * than one already visible. Entries are therefore only served once they are older than
+     * app.changes.settle-time, by which time every transaction that drew a smaller number
+     * has normally committed or rolled back. A commit that takes longer than the settle time
+     * after drawing its numbers can still be skipped by a reader that polled in between;
+     * the settle time bounds that window, it does not close it.
+     * <p>
+     * A token older than the purge mark may have skipped purged entries and is refused with
+     * {@link ChangeTokenExpiredException}. The mark is read after the page, so a purge that
+     * commits in between is always noticed.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ChangeFeedDTO getChanges(String since, Integer size) {
+        int pageSize = size == null ? defaultPageSize : size;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new BadRequestException("Page size must be between 1 and " + maxPageSize);
+        }
+        if (since == null) {
+            // once everything is purged the head would drop to zero, below the purge mark
+            long head = Math.max(changeLogRepository.findHead(settledBefore()), changeLogRepository.findPurgedThrough());
+            return new ChangeFeedDTO(List.of(), List.of(), List.of(), String.valueOf(head), false);
+        }
+        long watermark = parseWatermark(since);
+
+        List<ChangeLogEntry> entries = changeLogRepository.findAfter(watermark, settledBefore(),
+                Limit.of(pageSize + 1));
+        long purgedThrough = changeLogRepository.findPurgedThrough();
+        if (watermark < purgedThrough) {
+            throw new ChangeTokenExpiredException(watermark, purgedThrough);
+        }
+        boolean hasMore = entries.size() > pageSize;
+        if (hasMore) {
+            entries = entries.subList(0, pageSize);
+        }
+
+        Map<Long, ChangeLogEntry> latestMatches = new LinkedHashMap<>();
+        Map<Long, ChangeLogEntry> latestOdds = new LinkedHashMap<>();
+        for (ChangeLogEntry entry : entries) {
+            (entry.getEntityType() == ChangeEntityType.MATCH ? latestMatches : latestOdds).put(entry.getEntityId(), entry);
+        }
+
+        List<TombstoneDTO> deleted = new ArrayList<>();
+        List<Long> liveMatchIds = new ArrayList<>();
+        List<Long> liveOddsIds = new ArrayList<>();
+        collect(latestMatches, liveMatchIds, deleted);
+        collect(latestOdds, liveOddsIds, deleted);
+
+        List<MatchDTO> matches = liveMatchIds.isEmpty() ? List.of() : matchRepository.findDTOsByIdIn(liveMatchIds);
+        List<MatchOddsDTO> odds = liveOddsIds.isEmpty() ? List.of() : matchOddsRepository.findDTOsByIdIn(liveOddsIds);
+
+        String nextToken = entries.isEmpty() ? String.valueOf(watermark)
+                : String.valueOf(entries.get(entries.size() - 1).getSeq());
+        return new ChangeFeedDTO(matches, odds, deleted, nextToken, hasMore);
+    }
+
+    /**
+     * Drops the entries of matches being deleted, along with those of their odds. The
+     * tombstone the delete records is written at commit, after this, so readers still learn
+     * of the deletion; they only skip the changes it made irrelevant.
+     */
+    @Override
+    public void deleteMatchEntries(Collection<Long> matchIds) {
+        changeLogRepository.deleteByMatchIdIn(matchIds);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Scheduled(cron = "${app.changes.purge-cron:0 45 3 * * *}")
+    public void purgeExpiredEntries() {
+        purgeEntriesBefore(Instant.now().minus(keep));
+    }
+
+    /**
+     * Deletes entries changed before the cutoff, oldest first, app.changes.purge-chunk-size
+     * per transaction. Each chunk advances the purge mark in the same transaction, so from
+     * then on tokens older than its last entry are refused instead of silently missing it.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long purgeEntriesBefore(Instant cutoff) {
+        long purged = 0;
+        int done;
+        do {
+            done = transactionTemplate.execute(status -> {
+                List<Long> seqs = changeLogRepository.findSeqsBefore(cutoff, Limit.of(purgeChunkSize));
+                if (seqs.isEmpty()) {
+                    return 0;
+                }
+                changeLogRepository.advancePurgedThrough(seqs.get(seqs.size() - 1));
+                return changeLogRepository.deleteBySeqIn(seqs);
+            });
+            purged += done;
+        } while (done == purgeChunkSize);
+        if (purged > 0) {
+            log.info("Purged {} change log entries older than {}", purged, cutoff);
+        }
+        return purged;
+    }
+
+    private Instant settledBefore() {
+        return Instant.now().minus(settleTime);
+    }
+
+    private static void collect(Map<Long, ChangeLogEntry> latest, List<Long> liveIds, List<TombstoneDTO> deleted) {
+        for (ChangeLogEntry entry : latest.values()) {
+            if (entry.getChangeType() == ChangeType.DELETED) {
+                deleted.add(new TombstoneDTO(entry.getEntityType(), entry.getEntityId(), entry.getMatchId()));
+            } else {
+                liveIds.add(entry.getEntityId());
+            }
+        }
+    }
+
+    private static long parseWatermark(String since) {
+        try {
+            long watermark = Long.parseLong(since);
+            if (watermark >= 0) {
+                return watermark;
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        throw new BadRequestException("Invalid change token");
+    }
+
+    private class PendingChanges implements TransactionSynchronization {
+
+        private final List<ChangeLogEntry> entries = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            entityManager.flush();
+            Instant now = Instant.now();
+            for (ChangeLogEntry entry : entries) {
+                // stamped here, with its sequence number, so the settle time runs from the commit
+                entry.setChangedAt(now);
+            }
+            changeLogRepository.appendAll(entries);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(ChangeFeedServiceImpl.this);
+        }
+    }
+}
@@ -0,0 +1,409 @@
+package com.meko.restapi.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.meko.restapi.dto.BatchItemResultDTO;
+import com.meko.restapi.dto.BatchResultDTO;
+import com.meko.restapi.dto.ImportJobDTO;
+import com.meko.restapi.dto.ImportRejectionDTO;
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.entity.ImportJob;
+import com.meko.restapi.entity.ImportRejection;
+import com.meko.restapi.enumeration.ImportFormat;
+import com.meko.restapi.enumeration.ImportKind;
+import com.meko.restapi.enumeration.ImportStatus;
+import com.meko.restapi.exception.BadRequestException;
+import com.meko.restapi.exception.ResourceNotFoundException;
+import com.meko.restapi.repository.ImportJobRepository;
+import com.meko.restapi.repository.ImportRejectionRepository;
+import com.meko.restapi.service.ImportService;
+import com.meko.restapi.service.MatchOddsService;
+import com.meko.restapi.service.MatchService;
+import com.meko.restapi.util.BatchChunks;
+import com.meko.restapi.util.CsvReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.DataException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reads import files as a stream and hands them to the batch services one chunk at a time.
+ * Each chunk runs in its own transaction together with the progress update of its job, so
+ * after a failure exactly the rows of committed chunks are stored and a resumed import
+ * skips them. Only one chunk of rows is held in memory.
+ * <p>
+ * A row that passes validation but is refused by the database, such as a value too long for
+ * its column, rolls its chunk back. The chunk is then split in halves, each committed on its
+ * own, until the row is found; it is recorded as a rejection and the import goes on.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportServiceImpl implements ImportService {
+
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+
+    private final MatchService matchService;
+    private final MatchOddsService matchOddsService;
+    private final ImportJobRepository importJobRepository;
+    private final ImportRejectionRepository importRejectionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.import.chunk-size:1000}")
+    private int defaultChunkSize;
+
+    @Value("${app.batch.max-size:5000}")
+    private int maxChunkSize;
+
+    @Value("${app.import.max-reported-rejections:100}")
+    private int maxReportedRejections;
+
+    @Value("${app.import.max-listed-jobs:50}")
+    private int maxListedJobs;
+
+    @Override
+    public ImportJobDTO runImport(ImportKind kind, ImportFormat format, InputStream input, String source,
+                                  Long resumeJobId, Integer chunkSize) {
+        if (chunkSize != null && (chunkSize < 1 || chunkSize > maxChunkSize)) {
+            throw new BadRequestException("Chunk size must be between 1 and " + maxChunkSize);
+        }
+        ImportJob job = resumeJobId == null
+                ? startJob(kind, format, source, chunkSize == null ? defaultChunkSize : chunkSize)
+                : resumeJob(resumeJobId, kind, format, chunkSize);
+        log.info("Import {} of {} ({}) started after row {}", job.getId(), kind, format, job.getRowsProcessed());
+
+        try {
+            switch (kind) {
+                case MATCHES -> importRows(job, format, input, MatchDTO.class, matchService::createMatchesBatch);
+                case MATCH_ODDS -> importRows(job, format, input, MatchOddsDTO.class, matchOddsService::createMatchOddsBatch);
+            }
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Import {} failed", job.getId(), e);
+            markFailed(job.getId(), e);
+        }
+        return getImportJob(job.getId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ImportJobDTO getImportJob(Long id) {
+        ImportJob job = importJobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Import job", "id", id));
+        List<ImportRejectionDTO> rejections = importRejectionRepository
+                .findByJobIdOrderByLineNumber(id, Limit.of(maxReportedRejections)).stream()
+                .map(rejection -> new ImportRejectionDTO(rejection.getLineNumber(), rejection.getMessage()))
+                .toList();
+        return convertToDTO(job, rejections);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ImportJobDTO> getRecentImportJobs(Integer limit) {
+        int maxResults = limit == null ? maxListedJobs : limit;
+        if (maxResults < 1 || maxResults > maxListedJobs) {
+            throw new BadRequestException("Limit must be between 1 and " + maxListedJobs);
+        }
+        return importJobRepository.findAllByOrderByIdDesc(Limit.of(maxResults)).stream()
+                .map(job -> convertToDTO(job, null))
+                .toList();
+    }
+
+    private ImportJob startJob(ImportKind kind, ImportFormat format, String source, int chunkSize) {
+        Instant now = Instant.now();
+        ImportJob job = new ImportJob(null, kind, format, truncate(source, 255), ImportStatus.RUNNING, chunkSize,
+                0, 0, 0, null, now, now, 0);
+        return importJobRepository.save(job);
+    }
+
+    private ImportJob resumeJob(Long id, ImportKind kind, ImportFormat format, Integer chunkSize) {
+        return transactionTemplate.execute(status -> {
+            ImportJob job = importJobRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Import job", "id", id));
+            if (job.getKind() != kind || job.getFormat() != format) {
+                throw new BadRequestException("Import job " + id + " is a " + job.getFormat() + " import of "
+                        + job.getKind() + ", not " + format + " of " + kind);
+            }
+            if (job.getStatus() == ImportStatus.COMPLETED) {
+                throw new BadRequestException("Import job " + id + " has already completed");
+            }
+            job.setStatus(ImportStatus.RUNNING);
+            job.setError(null);
+            if (chunkSize != null) {
+                job.setChunkSize(chunkSize);
+            }
+            job.setUpdatedAt(Instant.now());
+            return importJobRepository.saveAndFlush(job);
+        });
+    }
+
+    private <T> void importRows(ImportJob job, ImportFormat format, InputStream input, Class<T> type,
+                                Function<List<T>, BatchResultDTO> batch) throws IOException {
+        RowReader<T> rows = format == ImportFormat.CSV
+                ? new CsvRowReader<>(input, objectMapper.readerFor(type))
+                : new NdjsonRowReader<>(input, objectMapper.readerFor(type));
+
+        for (long skipped = 0; skipped < job.getRowsProcessed(); skipped++) {
+            if (rows.next() == null) {
+                break;
+            }
+        }
+
+        long version = job.getVersion();
+        List<Row<T>> chunk = new ArrayList<>(job.getChunkSize());
+        Row<T> row;
+        while ((row = rows.next()) != null) {
+            chunk.add(row);
+            if (chunk.size() == job.getChunkSize()) {
+                version = commitOrSplit(job.getId(), version, chunk, batch, ImportStatus.RUNNING);
+                chunk.clear();
+            }
+        }
+        commitOrSplit(job.getId(), version, chunk, batch, ImportStatus.COMPLETED);
+    }
+
+    /**
+     * Halves are committed in file order, so rows processed stays a prefix of the file and a
+     * resumed import still skips exactly the committed rows
+     *
+     * @return the version of the job after the last commit
+     */
+    private <T> long commitOrSplit(Long jobId, long expectedVersion, List<Row<T>> chunk,
+                                   Function<List<T>, BatchResultDTO> batch, ImportStatus status) {
+        try {
+            return commitChunk(jobId, expectedVersion, chunk, batch, status);
+        } catch (RuntimeException e) {
+            if (!isRefusedData(e)) {
+                throw e;
+            }
+            if (chunk.size() == 1) {
+                Row<T> row = chunk.get(0);
+                log.warn("Import {}: line {} could not be stored", jobId, row.line(), e);
+                return commitChunk(jobId, expectedVersion, List.of(new Row<>(row.line(), null, BatchChunks.storeFailure(e))),
+                        batch, status);
+            }
+            log.info("Import {}: a chunk of {} rows could not be stored, splitting it", jobId, chunk.size());
+            int half = chunk.size() / 2;
+            long version = commitOrSplit(jobId, expectedVersion, chunk.subList(0, half), batch, ImportStatus.RUNNING);
+            return commitOrSplit(jobId, version, chunk.subList(half, chunk.size()), batch, status);
+        }
+    }
+
+    /**
+     * Stores the valid rows of a chunk, records the rejected ones and advances the job, all
+     * in one transaction.
+     *
+     * @return the version of the job after the commit
+     */
+    private <T> long commitChunk(Long jobId, long expectedVersion, List<Row<T>> chunk,
+                                 Function<List<T>, BatchResultDTO> batch, ImportStatus status) {
+        Long version = transactionTemplate.execute(transaction -> {
+            ImportJob job = importJobRepository.findById(jobId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Import job", "id", jobId));
+            if (job.getVersion() != expectedVersion) {
+                throw new OptimisticLockingFailureException("Import job " + jobId + " is being run by another request");
+            }
+
+            List<T> items = new ArrayList<>(chunk.size());
+            List<Long> itemLines = new ArrayList<>(chunk.size());
+            List<ImportRejection> rejections = new ArrayList<>();
+            for (Row<T> row : chunk) {
+                if (row.error() != null) {
+                    rejections.add(rejection(jobId, row.line(), row.error()));
+                } else {
+                    items.add(row.item());
+                    itemLines.add(row.line());
+                }
+            }
+
+            long succeeded = 0;
+            if (!items.isEmpty()) {
+                BatchResultDTO result = batch.apply(items);
+                succeeded = result.getSucceeded();
+                for (BatchItemResultDTO item : result.getResults()) {
+                    if (!item.isSuccess()) {
+                        rejections.add(rejection(jobId, itemLines.get(item.getIndex()), item.getError()));
+                    }
+                }
+            }
+            importRejectionRepository.saveAll(rejections);
+
+            // the batch services clear the persistence context, so the job is loaded again
+            job = importJobRepository.findById(jobId).orElseThrow();
+            job.setRowsProcessed(job.getRowsProcessed() + chunk.size());
+            job.setSucceeded(job.getSucceeded() + succeeded);
+            job.setRejected(job.getRejected() + rejections.size());
+            job.setStatus(status);
+            job.setUpdatedAt(Instant.now());
+            job = importJobRepository.saveAndFlush(job);
+            log.info("Import {}: {} rows processed, {} stored, {} rejected",
+                    jobId, job.getRowsProcessed(), job.getSucceeded(), job.getRejected());
+            return job.getVersion();
+        });
+        return Objects.requireNonNull(version);
+    }
+
+    /**
+     * A constraint or column the rows broke, as opposed to a failure that retrying smaller
+     * chunks would not get past. The batch services flush through the entity manager, so
+     * Hibernate's own exceptions arrive untranslated.
+     */
+    private static boolean isRefusedData(RuntimeException e) {
+        return e instanceof DataIntegrityViolationException
+                || e instanceof ConstraintViolationException
+                || e instanceof DataException;
+    }
+
+    private void markFailed(Long jobId, Exception cause) {
+        transactionTemplate.executeWithoutResult(transaction -> importJobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(ImportStatus.FAILED);
+            job.setError(truncate(cause.getMessage() == null ? cause.getClass().getSimpleName() : cause.getMessage(),
+                    MAX_MESSAGE_LENGTH));
+            job.setUpdatedAt(Instant.now());
+        }));
+    }
+
+    private static ImportRejection rejection(Long jobId, long line, String message) {
+        return new ImportRejection(null, jobId, line, truncate(message, MAX_MESSAGE_LENGTH));
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    /**
+     * Names the field a row could not be read into, instead of Jackson's full message
+     */
+    private static String describe(JsonProcessingException e) {
+        String field = e instanceof JsonMappingException mappingException
+                ? mappingException.getPath().stream()
+                        .map(reference -> reference.getFieldName() != null
+                                ? reference.getFieldName() : "[" + reference.getIndex() + "]")
+                        .collect(Collectors.joining("."))
+                : "";
+        if (field.isEmpty()) {
+            return "Malformed row: " + e.getOriginalMessage();
+        }
+        if (e instanceof InvalidFormatException invalidFormat) {
+            return field + ": invalid value '" + invalidFormat.getValue() + "'";
+        }
+        return field + ": invalid value";
+    }
+
+    private static ImportJobDTO convertToDTO(ImportJob job, List<ImportRejectionDTO> rejections) {
+        return new ImportJobDTO(job.getId(), job.getKind(), job.getFormat(), job.getSource(), job.getStatus(),
+                job.getChunkSize(), job.getRowsProcessed(), job.getSucceeded(), job.getRejected(), job.getError(),
+                job.getStartedAt(), job.getUpdatedAt(), rejections);
+    }
+
+    /**
+     * A data row of the file: the item it was read into, or why it could not be read
+     */
+    private record Row<T>(long line, T item, String error) {
+    }
+
+    private interface RowReader<T> {
+        /**
+         * The next data row, or null at the end of the file
+         */
+        Row<T> next() throws IOException;
+    }
+
+    /**
+     * Rows with a header line naming the DTO properties, e.g.
+     * {@code description,matchDate,matchTime,teamA,teamB,sport}. Empty fields count as absent.
+     */
+    private static class CsvRowReader<T> implements RowReader<T> {
+        private final CsvReader csv;
+        private final ObjectReader reader;
+        private List<String> header;
+
+        CsvRowReader(InputStream input, ObjectReader reader) {
+            this.csv = new CsvReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            this.reader = reader;
+        }
+
+        @Override
+        public Row<T> next() throws IOException {
+            if (header == null) {
+                header = csv.next();
+                if (header == null) {
+                    return null;
+                }
+                header = header.stream().map(String::trim).toList();
+            }
+            List<String> fields = csv.next();
+            if (fields == null) {
+                return null;
+            }
+            ObjectNode node = reader.getConfig().getNodeFactory().objectNode();
+            for (int i = 0; i < Math.min(header.size(), fields.size()); i++) {
+                if (!fields.get(i).isEmpty()) {
+                    node.put(header.get(i), fields.get(i));
+                }
+            }
+            try {
+                return new Row<>(csv.recordLine(), reader.readValue(node), null);
+            } catch (JsonProcessingException e) {
+                return new Row<>(csv.recordLine(), null, describe(e));
+            }
+        }
+    }
+
+    /**
+     * One JSON object per line; blank lines are skipped
+     */
+    private static class NdjsonRowReader<T> implements RowReader<T> {
+        private final BufferedReader lines;
+        private final ObjectReader reader;
+        private long line;
+
+        NdjsonRowReader(InputStream input, ObjectReader reader) {
+            this.lines = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            this.reader = reader;
+        }
+
+        @Override
+        public Row<T> next() throws IOException {
+            String text;
+            do {
+                text = lines.readLine();
+                line++;
+            } while (text != null && text.isBlank());
+            if (text == null) {
+                return null;
+            }
+            try {
+                return new Row<>(line, reader.readValue(text), null);
+            } catch (JsonProcessingException e) {
+                return new Row<>(line, null, describe(e));
+            }
+        }
+    }
+}
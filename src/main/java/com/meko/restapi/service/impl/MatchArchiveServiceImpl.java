@@ -0,0 +1,208 @@
+package com.meko.restapi.service.impl;
+
+import com.meko.restapi.dto.CursorPageDTO;
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.entity.ArchivedMatch;
+import com.meko.restapi.event.ChangeType;
+import com.meko.restapi.event.MatchChangedEvent;
+import com.meko.restapi.exception.BadRequestException;
+import com.meko.restapi.exception.ResourceNotFoundException;
+import com.meko.restapi.repository.ArchivedMatchOddsRepository;
+import com.meko.restapi.repository.ArchivedMatchRepository;
+import com.meko.restapi.repository.MatchOddsRepository;
+import com.meko.restapi.repository.MatchRepository;
+import com.meko.restapi.service.ChangeFeedService;
+import com.meko.restapi.service.MatchArchiveService;
+import com.meko.restapi.service.OddsHistoryService;
+import com.meko.restapi.util.DtoEntityConverter;
+import com.meko.restapi.util.MatchCursor;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Moves matches that kicked off more than app.archive.after ago, with their odds, from the
+ * live tables to matches_archive and match_odds_archive (app.archive.enabled). The live
+ * tables then only hold current and upcoming matches, so every query of the API stays as
+ * cheap as the current season. On PostgreSQL the archive is partitioned by month of the
+ * match date.
+ * <p>
+ * Each chunk of app.archive.chunk-size matches is one short transaction, like the
+ * retention purge: lock the oldest matches, copy them and their odds with one
+ * INSERT ... SELECT each, delete them from the live tables, and publish a DELETED event per
+ * match so caches, the board and the change feed follow. Archived matches are only read
+ * through {@link #getArchivedMatch} and {@link #getArchivedMatches}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MatchArchiveServiceImpl implements MatchArchiveService {
+
+    private final MatchRepository matchRepository;
+    private final MatchOddsRepository matchOddsRepository;
+    private final ArchivedMatchRepository archivedMatchRepository;
+    private final ArchivedMatchOddsRepository archivedMatchOddsRepository;
+    private final OddsHistoryService oddsHistoryService;
+    private final ChangeFeedService changeFeedService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.archive.after:30d}")
+    private Duration after;
+
+    @Value("${app.archive.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.pagination.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${app.pagination.max-page-size:500}")
+    private int maxPageSize;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void createTransactionTemplate() {
+        // every chunk commits on its own, so locks are held for one chunk only
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Scheduled(cron = "${app.archive.cron:0 0 3 * * *}")
+    public void archiveFinishedMatches() {
+        if (!enabled) {
+            return;
+        }
+        archiveMatchesBefore(LocalDate.now().minusDays(after.toDays()));
+    }
+
+    @Override
+    public long archiveMatchesBefore(LocalDate cutoff) {
+        long archived = 0;
+        int chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> archiveChunk(cutoff));
+            archived += chunk;
+        } while (chunk == chunkSize);
+        if (archived > 0) {
+            log.info("Archived {} matches played before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    private int archiveChunk(LocalDate cutoff) {
+        List<MatchRepository.PastMatch> matches = matchRepository.lockMatchesBefore(cutoff, Limit.of(chunkSize));
+        if (matches.isEmpty()) {
+            return 0;
+        }
+        Set<Long> ids = matches.stream().map(MatchRepository.PastMatch::getId).collect(Collectors.toSet());
+        archivedMatchRepository.createMonthlyPartitions(matches.stream()
+                .map(match -> YearMonth.from(match.getMatchDate()))
+                .collect(Collectors.toSet()));
+
+        Instant now = Instant.now();
+        archivedMatchRepository.copyFromLive(ids, now);
+        int odds = archivedMatchOddsRepository.copyFromLive(ids, now);
+        matchOddsRepository.deleteByMatchIdIn(ids);
+        // the archive keeps matches and odds; their price history and change log entries go
+        oddsHistoryService.deleteHistory(ids);
+        changeFeedService.deleteMatchEntries(ids);
+        matchRepository.deleteByIdIn(ids);
+        for (MatchRepository.PastMatch match : matches) {
+            eventPublisher.publishEvent(new MatchChangedEvent(ChangeType.DELETED, match.getId(),
+                    new MatchChangedEvent.Teams(match.getTeamA(), match.getTeamB()), null));
+        }
+        log.debug("Archived {} matches with {} odds", matches.size(), odds);
+        return matches.size();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MatchDTO getArchivedMatch(Long id) {
+        ArchivedMatch match = archivedMatchRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("ArchivedMatch", "id", id));
+        return withOdds(List.of(match), match.getMatchDate(), match.getMatchDate()).get(0);
+    }
+
+    /**
+     * Keyset pages over the matches played between the two dates, in kickoff order
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<MatchDTO> getArchivedMatches(LocalDate from, LocalDate to, String cursor, Integer size) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        int pageSize = resolvePageSize(size);
+        // Fetch one extra match to learn whether another page follows without a count query
+        Limit limit = Limit.of(pageSize + 1);
+        List<ArchivedMatch> matches;
+        if (cursor == null || cursor.isBlank()) {
+            matches = archivedMatchRepository.findFirstPage(from, to, limit);
+        } else {
+            MatchCursor position = MatchCursor.decode(cursor);
+            if (position.matchDate().isBefore(from)) {
+                throw new BadRequestException("Cursor is outside the requested dates");
+            }
+            matches = archivedMatchRepository.findPageAfter(to, position.matchDate(), position.matchTime(),
+                    position.id(), limit);
+        }
+
+        boolean hasMore = matches.size() > pageSize;
+        if (hasMore) {
+            matches = matches.subList(0, pageSize);
+        }
+        List<MatchDTO> items = withOdds(matches, from, to);
+        String nextCursor = hasMore ? MatchCursor.after(items.get(items.size() - 1)).encode() : null;
+        return new CursorPageDTO<>(items, nextCursor, hasMore);
+    }
+
+    /**
+     * One query for the odds of all the matches, bounded by their dates
+     */
+    private List<MatchDTO> withOdds(List<ArchivedMatch> matches, LocalDate from, LocalDate to) {
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> ids = matches.stream().map(ArchivedMatch::getId).collect(Collectors.toSet());
+        Map<Long, List<MatchOddsDTO>> oddsByMatch = archivedMatchOddsRepository.findByMatchIds(ids, from, to).stream()
+                .map(DtoEntityConverter::convertToDTO)
+                .collect(Collectors.groupingBy(MatchOddsDTO::getMatchId));
+        return matches.stream()
+                .map(match -> DtoEntityConverter.convertToDTO(match, oddsByMatch.getOrDefault(match.getId(), List.of())))
+                .toList();
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (size < 1) {
+            throw new BadRequestException("Page size must be positive");
+        }
+        return Math.min(size, maxPageSize);
+    }
+}
@@ -1,18 +1,57 @@
 package com.meko.restapi.service.impl;
 
+import com.meko.restapi.config.CacheConfig;
+import com.meko.restapi.config.ReplicaFallbackDataSource;
+import com.meko.restapi.dto.BatchItemResultDTO;
+import com.meko.restapi.dto.BatchResultDTO;
 import com.meko.restapi.dto.MatchOddsDTO;
 import com.meko.restapi.entity.Match;
 import com.meko.restapi.entity.MatchOdds;
+import com.meko.restapi.enumeration.UpsertOutcome;
+import com.meko.restapi.event.ChangeType;
+import com.meko.restapi.event.MatchOddsChangedEvent;
+import com.meko.restapi.exception.BadRequestException;
+import com.meko.restapi.exception.PreconditionFailedException;
 import com.meko.restapi.exception.ResourceNotFoundException;
 import com.meko.restapi.repository.MatchOddsRepository;
+import com.meko.restapi.repository.MatchOddsRow;
+import com.meko.restapi.repository.MatchOddsUpsertRepository.UpsertedOdds;
 import com.meko.restapi.repository.MatchRepository;
+import com.meko.restapi.repository.MatchRow;
 import com.meko.restapi.service.MatchOddsService;
+import com.meko.restapi.service.OddsWriteBehindService;
+import com.meko.restapi.util.BatchChunks;
 import com.meko.restapi.util.DtoEntityConverter;
+import com.meko.restapi.util.EntityVersion;
+import com.meko.restapi.util.PendingOdds;
+import com.meko.restapi.util.Upserted;
+import com.meko.restapi.util.ValidationUtils;
+import com.meko.restapi.util.Versioned;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,8 +59,33 @@ import java.util.stream.Collectors;
 @Transactional
 public class MatchOddsServiceImpl implements MatchOddsService {
 
+    private static final Set<String> FOREIGN_KEY_VIOLATIONS = Set.of("23503", "23506");
+
     private final MatchRepository matchRepository;
     private final MatchOddsRepository matchOddsRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OddsWriteBehindService oddsWriteBehindService;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.batch.max-size:5000}")
+    private int maxBatchSize;
+
+    @Value("${app.batch.flush-size:500}")
+    private int flushSize;
+
+    private Cache matchOddsCache;
+    private TransactionTemplate readOnlyTransactionTemplate;
+
+    @PostConstruct
+    void resolveCache() {
+        matchOddsCache = Objects.requireNonNull(cacheManager.getCache(CacheConfig.MATCH_ODDS_CACHE));
+        readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
     @Override
     public MatchOddsDTO createMatchOdds(MatchOddsDTO matchOddsDTO) {
         Match match = matchRepository.findById(matchOddsDTO.getMatchId())
@@ -33,41 +97,381 @@ public class MatchOddsServiceImpl implements MatchOddsService {
         matchOdds.setOdd(matchOddsDTO.getOdd());
 
         matchOdds = matchOddsRepository.save(matchOdds);
-        return DtoEntityConverter.convertToDTO(matchOdds);
+        matchRepository.touch(Set.of(match.getId()), Instant.now());
+        MatchOddsDTO created = DtoEntityConverter.convertToDTO(matchOdds);
+        eventPublisher.publishEvent(new MatchOddsChangedEvent(ChangeType.CREATED, created, matchOdds.getVersion()));
+        return created;
+    }
+
+    /**
+     * Validates every item, checks all referenced matches and the batch's (match, specifier)
+     * keys with one query each, so a key that exists already or repeats in the batch fails
+     * only its own item, and
+     * inserts the valid rows through JDBC batches (ids come from a pooled sequence, so Hibernate
+     * can batch). Each chunk of valid rows is stored in its own transaction, see
+     * {@link BatchChunks}, which also keeps the persistence context small.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public BatchResultDTO createMatchOddsBatch(List<MatchOddsDTO> matchOddsDTOs) {
+        if (matchOddsDTOs.size() > maxBatchSize) {
+            throw new BadRequestException("Batch size " + matchOddsDTOs.size() + " exceeds the limit of " + maxBatchSize);
+        }
+
+        Set<Long> matchIds = matchOddsDTOs.stream()
+                .filter(Objects::nonNull)
+                .map(MatchOddsDTO::getMatchId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existingMatchIds = matchIds.isEmpty() ? Set.of() : matchRepository.findExistingIds(matchIds);
+
+        Set<String> specifiers = matchOddsDTOs.stream()
+                .filter(dto -> dto != null && existingMatchIds.contains(dto.getMatchId()))
+                .map(MatchOddsDTO::getSpecifier)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<OddsKey> existingKeys = specifiers.isEmpty() ? Set.of()
+                : matchOddsRepository.findBoardOddsByMatchIdInAndSpecifierIn(existingMatchIds, specifiers).stream()
+                .map(odds -> new OddsKey(odds.getMatchId(), odds.getSpecifier()))
+                .collect(Collectors.toSet());
+
+        BatchItemResultDTO[] results = new BatchItemResultDTO[matchOddsDTOs.size()];
+        List<BatchChunks.Item<MatchOddsDTO>> valid = new ArrayList<>(matchOddsDTOs.size());
+        Map<OddsKey, Integer> firstByKey = new HashMap<>();
+        for (int i = 0; i < matchOddsDTOs.size(); i++) {
+            MatchOddsDTO dto = matchOddsDTOs.get(i);
+            String error = dto == null ? "Item is required" : ValidationUtils.describe(validator.validate(dto));
+            if (error == null && !existingMatchIds.contains(dto.getMatchId())) {
+                error = new ResourceNotFoundException("Match", "id", dto.getMatchId()).getMessage();
+            }
+            if (error == null && existingKeys.contains(OddsKey.of(dto))) {
+                error = "Match " + dto.getMatchId() + " already has odds for specifier '" + dto.getSpecifier() + "'";
+            }
+            if (error == null) {
+                Integer first = firstByKey.putIfAbsent(OddsKey.of(dto), i);
+                if (first != null) {
+                    error = "Same matchId and specifier as item " + first;
+                }
+            }
+            if (error != null) {
+                results[i] = BatchItemResultDTO.failed(i, error);
+            } else {
+                valid.add(new BatchChunks.Item<>(i, dto));
+            }
+        }
+
+        for (BatchItemResultDTO stored : BatchChunks.write(transactionTemplate, valid, flushSize, this::insertMatchOdds)) {
+            results[stored.getIndex()] = stored;
+        }
+        BatchResultDTO result = new BatchResultDTO();
+        for (BatchItemResultDTO itemResult : results) {
+            result.add(itemResult);
+        }
+        return result;
+    }
+
+    private List<BatchItemResultDTO> insertMatchOdds(List<BatchChunks.Item<MatchOddsDTO>> items) {
+        List<BatchItemResultDTO> results = new ArrayList<>(items.size());
+        Set<Long> changedMatchIds = new HashSet<>();
+        for (BatchChunks.Item<MatchOddsDTO> item : items) {
+            MatchOddsDTO dto = item.value();
+            MatchOdds matchOdds = DtoEntityConverter.convertToEntity(dto);
+            matchOdds.setMatch(entityManager.getReference(Match.class, dto.getMatchId()));
+            matchOdds = matchOddsRepository.save(matchOdds);
+            results.add(BatchItemResultDTO.created(item.index(), matchOdds.getId()));
+            changedMatchIds.add(dto.getMatchId());
+            eventPublisher.publishEvent(new MatchOddsChangedEvent(ChangeType.CREATED,
+                    new MatchOddsDTO(matchOdds.getId(), dto.getMatchId(), matchOdds.getSpecifier(), matchOdds.getOdd()),
+                    matchOdds.getVersion()));
+        }
+        entityManager.flush();
+        matchRepository.touch(changedMatchIds, Instant.now());
+        entityManager.clear();
+        return results;
     }
 
     @Override
     @Transactional(readOnly = true)
     public MatchOddsDTO getMatchOddsById(Long id) {
-        MatchOdds matchOdds = matchOddsRepository.findById(id)
+        PendingOdds pending = oddsWriteBehindService.pendingForOdds(id);
+        MatchOddsRow row = matchOddsRepository.findRowById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("MatchOdds", "id", id));
-        return DtoEntityConverter.convertToDTO(matchOdds);
+        return pending.apply(row.toDTO());
     }
 
+    /**
+     * Buffered write-behind updates are taken before the row is read, so the result is never
+     * older than an update that has been acknowledged
+     */
     @Override
+    @Transactional(readOnly = true)
+    public Versioned<MatchOddsDTO> getVersionedMatchOddsById(Long id) {
+        PendingOdds pending = oddsWriteBehindService.pendingForOdds(id);
+        MatchOddsRow row = matchOddsRepository.findRowById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("MatchOdds", "id", id));
+        return new Versioned<>(pending.apply(row.toDTO()), pending.applyToOdds(id, row.entityVersion()));
+    }
+
+    /**
+     * Served from the per-match cache, see {@link #getVersionedMatchOddsByMatchId}. The list is
+     * unmodifiable because cached instances are shared between callers. Buffered write-behind
+     * updates are not included; callers apply {@link OddsWriteBehindService#pendingForMatch}
+     * themselves.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<MatchOddsDTO> getMatchOddsByMatchId(Long matchId) {
-        return matchOddsRepository.findByMatchId(matchId).stream()
-                .map(DtoEntityConverter::convertToDTO)
-                .collect(Collectors.toList());
+        return cachedMatchOdds(matchId).value();
+    }
+
+    /**
+     * The cache holds each list together with the match version it was read with, in one
+     * statement, so the ETag always names the list it comes with, even while a cached list
+     * waits for its after-commit eviction. Concurrent misses for the same match share one load
+     * (see {@link com.meko.restapi.config.CallerLoadingCaffeineCache}); buffered write-behind
+     * updates are applied to the cached list afterwards.
+     * <p>
+     * Not transactional itself, so a cache hit and a caller waiting for another caller's load
+     * hold no pooled connection; a miss loads in a read-only transaction of its own. Inside a
+     * caller's transaction the list is read directly and not cached, as it may hold that
+     * transaction's uncommitted writes.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Versioned<List<MatchOddsDTO>> getVersionedMatchOddsByMatchId(Long matchId) {
+        PendingOdds pending = oddsWriteBehindService.pendingForMatch(matchId);
+        Versioned<List<MatchOddsDTO>> cached = cachedMatchOdds(matchId);
+        return new Versioned<>(pending.apply(cached.value()), pending.applyToMatch(matchId, cached.version()));
+    }
+
+    private Versioned<List<MatchOddsDTO>> cachedMatchOdds(Long matchId) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loadMatchOdds(matchId);
+        }
+        try {
+            return matchOddsCache.get(matchId,
+                    () -> readOnlyTransactionTemplate.execute(status -> loadMatchOdds(matchId)));
+        } catch (Cache.ValueRetrievalException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * On the primary: a miss right after the eviction that follows a commit would otherwise
+     * cache the replica's older list for the whole TTL
+     */
+    private Versioned<List<MatchOddsDTO>> loadMatchOdds(Long matchId) {
+        List<MatchRow> rows = ReplicaFallbackDataSource.onPrimary(() -> matchRepository.findRowsById(matchId));
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Match", "id", matchId);
+        }
+        List<MatchOddsDTO> odds = MatchRow.toDTOs(rows).get(0).getMatchOdds();
+        return new Versioned<>(List.copyOf(odds), rows.get(0).entityVersion());
+    }
+
+    /**
+     * Any change to the odds of a match bumps the match version, so it versions the list too
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public EntityVersion getMatchOddsVersionByMatchId(Long matchId) {
+        PendingOdds pending = oddsWriteBehindService.pendingForMatch(matchId);
+        EntityVersion version = matchRepository.findVersionById(matchId)
+                .orElseThrow(() -> new ResourceNotFoundException("Match", "id", matchId));
+        return pending.applyToMatch(matchId, version);
     }
 
     @Override
     public MatchOddsDTO updateMatchOdds(Long id, MatchOddsDTO matchOddsDTO) {
+        return updateMatchOdds(id, matchOddsDTO, null).value();
+    }
+
+    @Override
+    public Versioned<MatchOddsDTO> updateMatchOdds(Long id, MatchOddsDTO matchOddsDTO, Long expectedVersion) {
+        // buffered updates of the row go first, or their flush would overwrite this one
+        oddsWriteBehindService.flushPendingOdds(id);
         MatchOdds matchOdds = matchOddsRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("MatchOdds", "id", id));
+        if (expectedVersion != null && expectedVersion != matchOdds.getVersion()) {
+            throw new PreconditionFailedException("MatchOdds", id, versionOf(matchOdds).eTag());
+        }
 
         matchOdds.setSpecifier(matchOddsDTO.getSpecifier());
         matchOdds.setOdd(matchOddsDTO.getOdd());
 
-        matchOdds = matchOddsRepository.save(matchOdds);
-        return DtoEntityConverter.convertToDTO(matchOdds);
+        matchOdds = matchOddsRepository.saveAndFlush(matchOdds);
+        matchRepository.touch(Set.of(matchOdds.getMatch().getId()), Instant.now());
+        MatchOddsDTO updated = DtoEntityConverter.convertToDTO(matchOdds);
+        eventPublisher.publishEvent(new MatchOddsChangedEvent(ChangeType.UPDATED, updated, matchOdds.getVersion()));
+        return new Versioned<>(updated, versionOf(matchOdds));
+    }
+
+    /**
+     * One statement inserts or updates the row; a missing match fails its foreign key
+     */
+    @Override
+    public Upserted<MatchOddsDTO> upsertMatchOdds(MatchOddsDTO matchOddsDTO) {
+        List<UpsertedOdds> written;
+        try {
+            written = upsertByKey(List.of(matchOddsDTO));
+        } catch (DataIntegrityViolationException e) {
+            if (violatesForeignKey(e)) {
+                throw new ResourceNotFoundException("Match", "id", matchOddsDTO.getMatchId());
+            }
+            throw e;
+        }
+        if (!written.isEmpty()) {
+            UpsertedOdds row = written.get(0);
+            return new Upserted<>(convertToDTO(row), new EntityVersion(row.version(), null), outcomeOf(row));
+        }
+
+        OddsKey key = OddsKey.of(matchOddsDTO);
+        MatchOddsRepository.BoardOdds current = findUnchanged(Set.of(key)).get(key);
+        if (current == null) {
+            throw new ResourceNotFoundException("MatchOdds", "specifier", matchOddsDTO.getSpecifier());
+        }
+        return new Upserted<>(new MatchOddsDTO(current.getId(), current.getMatchId(), current.getSpecifier(), current.getOdd()),
+                new EntityVersion(current.getVersion(), null), UpsertOutcome.UNCHANGED);
+    }
+
+    /**
+     * Validates every item and checks the referenced matches with one query, like the batch
+     * insert, then writes all valid items with a single upsert statement. When several items
+     * share a match and specifier the last one wins and the earlier ones are reported as
+     * failed. Ids of unchanged rows are looked up afterwards, only if there are any.
+     */
+    @Override
+    public BatchResultDTO upsertMatchOddsBatch(List<MatchOddsDTO> matchOddsDTOs) {
+        if (matchOddsDTOs.size() > maxBatchSize) {
+            throw new BadRequestException("Batch size " + matchOddsDTOs.size() + " exceeds the limit of " + maxBatchSize);
+        }
+
+        Set<Long> matchIds = matchOddsDTOs.stream()
+                .filter(Objects::nonNull)
+                .map(MatchOddsDTO::getMatchId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existingMatchIds = matchIds.isEmpty() ? Set.of() : matchRepository.findExistingIds(matchIds);
+
+        BatchItemResultDTO[] results = new BatchItemResultDTO[matchOddsDTOs.size()];
+        Map<OddsKey, Integer> latest = new LinkedHashMap<>();
+        for (int i = 0; i < matchOddsDTOs.size(); i++) {
+            MatchOddsDTO dto = matchOddsDTOs.get(i);
+            String error = dto == null ? "Item is required" : ValidationUtils.describe(validator.validate(dto));
+            if (error == null && !existingMatchIds.contains(dto.getMatchId())) {
+                error = new ResourceNotFoundException("Match", "id", dto.getMatchId()).getMessage();
+            }
+            if (error != null) {
+                results[i] = BatchItemResultDTO.failed(i, error);
+                continue;
+            }
+            Integer superseded = latest.put(OddsKey.of(dto), i);
+            if (superseded != null) {
+                results[superseded] = BatchItemResultDTO.failed(superseded,
+                        "Superseded by item " + i + " with the same matchId and specifier");
+            }
+        }
+
+        List<UpsertedOdds> written = upsertByKey(latest.values().stream().map(matchOddsDTOs::get).toList());
+        Map<OddsKey, UpsertedOdds> writtenByKey = new HashMap<>();
+        written.forEach(row -> writtenByKey.put(new OddsKey(row.matchId(), row.specifier()), row));
+        Set<OddsKey> unchangedKeys = new HashSet<>(latest.keySet());
+        unchangedKeys.removeAll(writtenByKey.keySet());
+        Map<OddsKey, MatchOddsRepository.BoardOdds> unchanged = findUnchanged(unchangedKeys);
+
+        latest.forEach((key, i) -> {
+            UpsertedOdds row = writtenByKey.get(key);
+            MatchOddsRepository.BoardOdds current = unchanged.get(key);
+            if (row != null) {
+                results[i] = BatchItemResultDTO.upserted(i, row.id(), outcomeOf(row));
+            } else if (current != null) {
+                results[i] = BatchItemResultDTO.upserted(i, current.getId(), UpsertOutcome.UNCHANGED);
+            } else {
+                results[i] = BatchItemResultDTO.failed(i, "Deleted concurrently");
+            }
+        });
+
+        BatchResultDTO result = new BatchResultDTO();
+        for (BatchItemResultDTO itemResult : results) {
+            result.add(itemResult);
+        }
+        return result;
     }
 
     @Override
     public void deleteMatchOdds(Long id) {
-        if (!matchOddsRepository.existsById(id)) {
-            throw new ResourceNotFoundException("MatchOdds", "id", id);
+        MatchOdds matchOdds = matchOddsRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("MatchOdds", "id", id));
+        MatchOddsDTO deleted = DtoEntityConverter.convertToDTO(matchOdds);
+        matchOddsRepository.delete(matchOdds);
+        matchRepository.touch(Set.of(deleted.getMatchId()), Instant.now());
+        eventPublisher.publishEvent(new MatchOddsChangedEvent(ChangeType.DELETED, deleted, matchOdds.getVersion()));
+    }
+
+    /**
+     * Buffered write-behind updates of the affected matches are flushed first, or they would
+     * overwrite the upserted values later
+     */
+    private List<UpsertedOdds> upsertByKey(List<MatchOddsDTO> matchOddsDTOs) {
+        if (matchOddsDTOs.isEmpty()) {
+            return List.of();
+        }
+        matchOddsDTOs.stream().map(MatchOddsDTO::getMatchId).distinct().forEach(oddsWriteBehindService::flushPendingMatch);
+
+        List<UpsertedOdds> written = matchOddsRepository.upsertByKey(matchOddsDTOs);
+        Set<Long> changedMatchIds = written.stream().map(UpsertedOdds::matchId).collect(Collectors.toSet());
+        if (!changedMatchIds.isEmpty()) {
+            matchRepository.touch(changedMatchIds, Instant.now());
+        }
+        for (UpsertedOdds row : written) {
+            ChangeType type = outcomeOf(row) == UpsertOutcome.CREATED ? ChangeType.CREATED : ChangeType.UPDATED;
+            eventPublisher.publishEvent(new MatchOddsChangedEvent(type, convertToDTO(row), row.version()));
         }
-        matchOddsRepository.deleteById(id);
+        return written;
+    }
+
+    private Map<OddsKey, MatchOddsRepository.BoardOdds> findUnchanged(Set<OddsKey> keys) {
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        Set<Long> matchIds = keys.stream().map(OddsKey::matchId).collect(Collectors.toSet());
+        return matchOddsRepository.findBoardOddsByMatchIdIn(matchIds).stream()
+                .filter(odds -> keys.contains(new OddsKey(odds.getMatchId(), odds.getSpecifier())))
+                .collect(Collectors.toMap(odds -> new OddsKey(odds.getMatchId(), odds.getSpecifier()), odds -> odds));
+    }
+
+    /**
+     * Only the foreign key to the match tells a missing match apart; any other violation is
+     * reported as the conflict it is. PostgreSQL reports it as SQLSTATE 23503, H2 as 23506.
+     */
+    private static boolean violatesForeignKey(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException) {
+                return FOREIGN_KEY_VIOLATIONS.contains(sqlException.getSQLState());
+            }
+        }
+        return false;
+    }
+
+    // a row is created at version 0 and every update increments it
+    private static UpsertOutcome outcomeOf(UpsertedOdds row) {
+        return row.version() == 0 ? UpsertOutcome.CREATED : UpsertOutcome.UPDATED;
+    }
+
+    private static MatchOddsDTO convertToDTO(UpsertedOdds row) {
+        return new MatchOddsDTO(row.id(), row.matchId(), row.specifier(), row.odd());
+    }
+
+    private record OddsKey(Long matchId, String specifier) {
+        static OddsKey of(MatchOddsDTO dto) {
+            return new OddsKey(dto.getMatchId(), dto.getSpecifier());
+        }
+    }
+
+    private static EntityVersion versionOf(MatchOdds matchOdds) {
+        return new EntityVersion(matchOdds.getVersion(), null);
     }
 }
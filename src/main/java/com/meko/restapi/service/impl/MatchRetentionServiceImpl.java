@@ -0,0 +1,129 @@
+package com.meko.restapi.service.impl;
+
+import com.meko.restapi.event.ChangeType;
+import com.meko.restapi.event.MatchChangedEvent;
+import com.meko.restapi.repository.ArchivedMatchOddsRepository;
+import com.meko.restapi.repository.ArchivedMatchRepository;
+import com.meko.restapi.repository.MatchOddsRepository;
+import com.meko.restapi.repository.MatchRepository;
+import com.meko.restapi.service.ChangeFeedService;
+import com.meko.restapi.service.MatchRetentionService;
+import com.meko.restapi.service.OddsHistoryService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Purges matches that kicked off more than app.retention.keep ago, with their odds
+ * (app.retention.enabled). Each chunk of app.retention.chunk-size matches is one short
+ * transaction: lock the oldest matches, delete their odds and then the matches with one
+ * statement each, and publish a DELETED event per match so caches, the board and the change
+ * feed follow. Nothing is loaded as an entity, so the persistence context stays empty.
+ * <p>
+ * Archived matches of the same age are then deleted from the archive the same way, without
+ * events: they already left the live views when they were archived.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MatchRetentionServiceImpl implements MatchRetentionService {
+
+    private final MatchRepository matchRepository;
+    private final MatchOddsRepository matchOddsRepository;
+    private final ArchivedMatchRepository archivedMatchRepository;
+    private final ArchivedMatchOddsRepository archivedMatchOddsRepository;
+    private final OddsHistoryService oddsHistoryService;
+    private final ChangeFeedService changeFeedService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.retention.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.retention.keep:365d}")
+    private Duration keep;
+
+    @Value("${app.retention.chunk-size:500}")
+    private int chunkSize;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void createTransactionTemplate() {
+        // every chunk commits on its own, so locks are held for one chunk only
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Scheduled(cron = "${app.retention.cron:0 30 3 * * *}")
+    public void purgeExpiredMatches() {
+        if (!enabled) {
+            return;
+        }
+        purgeMatchesBefore(LocalDate.now().minusDays(keep.toDays()));
+    }
+
+    @Override
+    public long purgeMatchesBefore(LocalDate cutoff) {
+        long purged = inChunks(() -> purgeChunk(cutoff));
+        long purgedArchived = inChunks(() -> purgeArchivedChunk(cutoff));
+        if (purged > 0 || purgedArchived > 0) {
+            log.info("Purged {} matches and {} archived matches played before {}", purged, purgedArchived, cutoff);
+        }
+        return purged + purgedArchived;
+    }
+
+    private long inChunks(IntSupplier chunk) {
+        long total = 0;
+        int done;
+        do {
+            done = transactionTemplate.execute(status -> chunk.getAsInt());
+            total += done;
+        } while (done == chunkSize);
+        return total;
+    }
+
+    private int purgeChunk(LocalDate cutoff) {
+        List<MatchRepository.PastMatch> matches = matchRepository.lockMatchesBefore(cutoff, Limit.of(chunkSize));
+        if (matches.isEmpty()) {
+            return 0;
+        }
+        Set<Long> ids = matches.stream().map(MatchRepository.PastMatch::getId).collect(Collectors.toSet());
+        int odds = matchOddsRepository.deleteByMatchIdIn(ids);
+        oddsHistoryService.deleteHistory(ids);
+        changeFeedService.deleteMatchEntries(ids);
+        matchRepository.deleteByIdIn(ids);
+        for (MatchRepository.PastMatch match : matches) {
+            eventPublisher.publishEvent(new MatchChangedEvent(ChangeType.DELETED, match.getId(),
+                    new MatchChangedEvent.Teams(match.getTeamA(), match.getTeamB()), null));
+        }
+        log.debug("Purged {} matches with {} odds", matches.size(), odds);
+        return matches.size();
+    }
+
+    private int purgeArchivedChunk(LocalDate cutoff) {
+        List<Long> ids = archivedMatchRepository.findIdsByMatchDateBefore(cutoff, Limit.of(chunkSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archivedMatchOddsRepository.deleteByMatchIdIn(ids, cutoff);
+        archivedMatchRepository.deleteByIdIn(ids);
+        return ids.size();
+    }
+}
@@ -1,17 +1,65 @@
 package com.meko.restapi.service.impl;
 
+import com.meko.restapi.config.ReplicaFallbackDataSource;
+import com.meko.restapi.dto.BatchItemResultDTO;
+import com.meko.restapi.dto.BatchResultDTO;
+import com.meko.restapi.dto.CursorPageDTO;
 import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.dto.MatchSearchCriteria;
 import com.meko.restapi.entity.Match;
+import com.meko.restapi.entity.MatchOdds;
+import com.meko.restapi.enumeration.MatchField;
+import com.meko.restapi.event.ChangeType;
+import com.meko.restapi.event.MatchChangedEvent;
+import com.meko.restapi.event.MatchOddsChangedEvent;
+import com.meko.restapi.exception.BadRequestException;
+import com.meko.restapi.exception.PreconditionFailedException;
 import com.meko.restapi.exception.ResourceNotFoundException;
+import com.meko.restapi.repository.MatchOddsRepository;
 import com.meko.restapi.repository.MatchRepository;
+import com.meko.restapi.repository.MatchRow;
+import com.meko.restapi.repository.MatchSpecifications;
+import com.meko.restapi.service.ChangeFeedService;
 import com.meko.restapi.service.MatchService;
+import com.meko.restapi.service.OddsHistoryService;
+import com.meko.restapi.service.OddsWriteBehindService;
+import com.meko.restapi.util.BatchChunks;
 import com.meko.restapi.util.DtoEntityConverter;
+import com.meko.restapi.util.EntityVersion;
+import com.meko.restapi.util.MatchFields;
+import com.meko.restapi.util.MatchCursor;
+import com.meko.restapi.util.PendingOdds;
+import com.meko.restapi.util.SingleFlight;
+import com.meko.restapi.util.ValidationUtils;
+import com.meko.restapi.util.Versioned;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.meko.restapi.util.DtoEntityConverter.convertToEntity;
 
@@ -21,33 +69,324 @@ import static com.meko.restapi.util.DtoEntityConverter.convertToEntity;
 public class MatchServiceImpl implements MatchService {
     
     private final MatchRepository matchRepository;
+    private final MatchOddsRepository matchOddsRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OddsWriteBehindService oddsWriteBehindService;
+    private final OddsHistoryService oddsHistoryService;
+    private final ChangeFeedService changeFeedService;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.pagination.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${app.pagination.max-page-size:500}")
+    private int maxPageSize;
+
+    @Value("${app.batch.max-size:5000}")
+    private int maxBatchSize;
+
+    @Value("${app.batch.flush-size:500}")
+    private int flushSize;
+
+    @Value("${app.single-flight.timeout:2s}")
+    private Duration singleFlightTimeout;
+
+    private final SingleFlight<MatchRead, Versioned<MatchDTO>> matchLoads = new SingleFlight<>("match");
+
+    private TransactionTemplate readOnlyTransactionTemplate;
+
+    @PostConstruct
+    void bindMetrics() {
+        matchLoads.bindTo(meterRegistry);
+    }
+
+    @PostConstruct
+    void createReadOnlyTransactionTemplate() {
+        readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
     @Override
     public MatchDTO createMatch(MatchDTO matchDTO) {
         Match match = convertToEntity(matchDTO);
         match = matchRepository.save(match);
+        eventPublisher.publishEvent(new MatchChangedEvent(ChangeType.CREATED, match.getId(), null, teamsOf(match)));
         return DtoEntityConverter.convertToDTO(match);
     }
     
+    /**
+     * Inserts matches, including any opening odds nested in {@code matchOdds}, through JDBC
+     * batches. Invalid items are reported individually and do not abort the batch, and the
+     * valid ones are stored in chunks of their own transaction, see {@link BatchChunks}.
+     */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public BatchResultDTO createMatchesBatch(List<MatchDTO> matchDTOs) {
+        if (matchDTOs.size() > maxBatchSize) {
+            throw new BadRequestException("Batch size " + matchDTOs.size() + " exceeds the limit of " + maxBatchSize);
+        }
+
+        BatchItemResultDTO[] results = new BatchItemResultDTO[matchDTOs.size()];
+        List<BatchChunks.Item<MatchDTO>> valid = new ArrayList<>(matchDTOs.size());
+        for (int i = 0; i < matchDTOs.size(); i++) {
+            MatchDTO dto = matchDTOs.get(i);
+            String error = dto == null ? "Item is required" : validateWithOpeningOdds(dto);
+            if (error != null) {
+                results[i] = BatchItemResultDTO.failed(i, error);
+            } else {
+                valid.add(new BatchChunks.Item<>(i, dto));
+            }
+        }
+
+        for (BatchItemResultDTO stored : BatchChunks.write(transactionTemplate, valid, flushSize, this::insertMatches)) {
+            results[stored.getIndex()] = stored;
+        }
+        BatchResultDTO result = new BatchResultDTO();
+        for (BatchItemResultDTO itemResult : results) {
+            result.add(itemResult);
+        }
+        return result;
+    }
+
+    private List<BatchItemResultDTO> insertMatches(List<BatchChunks.Item<MatchDTO>> items) {
+        List<BatchItemResultDTO> results = new ArrayList<>(items.size());
+        for (BatchChunks.Item<MatchDTO> item : items) {
+            MatchDTO dto = item.value();
+            Match match = convertToEntity(dto);
+            if (dto.getMatchOdds() != null) {
+                for (MatchOddsDTO oddsDTO : dto.getMatchOdds()) {
+                    MatchOdds matchOdds = DtoEntityConverter.convertToEntity(oddsDTO);
+                    matchOdds.setMatch(match);
+                    match.getMatchOdds().add(matchOdds);
+                }
+            }
+            match = matchRepository.save(match);
+            results.add(BatchItemResultDTO.created(item.index(), match.getId()));
+            eventPublisher.publishEvent(new MatchChangedEvent(ChangeType.CREATED, match.getId(), null, teamsOf(match)));
+            for (MatchOdds matchOdds : match.getMatchOdds()) {
+                eventPublisher.publishEvent(new MatchOddsChangedEvent(ChangeType.CREATED,
+                        DtoEntityConverter.convertToDTO(matchOdds), matchOdds.getVersion()));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return results;
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public MatchDTO getMatchById(Long id) {
-        Match match = matchRepository.findById(id)
+        return getVersionedMatchById(id).value();
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Versioned<MatchDTO> getVersionedMatchById(Long id) {
+        return getVersionedMatchById(id, MatchFields.ALL);
+    }
+
+    /**
+     * The whole match, its version and its odds are read with one statement, so the body is
+     * never older than the ETag built from the version. A sparse match reads the version first
+     * and the selected columns after it. Buffered write-behind updates are taken before either.
+     * Concurrent reads of the same match with the same buffered updates and fields share one
+     * load, so the returned DTO may be seen by other callers and must not be modified. Reads
+     * pinned to the primary never join a load running on the replica.
+     * <p>
+     * Not transactional itself: callers wait for a shared load without a transaction, so they
+     * hold no pooled connection, and the load runs in a read-only transaction of its own.
+     * Inside a caller's transaction the match is read directly, seeing that transaction's writes.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Versioned<MatchDTO> getVersionedMatchById(Long id, MatchFields fields) {
+        PendingOdds pending = oddsWriteBehindService.pendingForMatch(id);
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loadMatch(id, fields, pending);
+        }
+        return matchLoads.load(new MatchRead(id, pending, fields, ReplicaFallbackDataSource.isPinnedToPrimary()),
+                singleFlightTimeout, () -> readOnlyTransactionTemplate.execute(status -> loadMatch(id, fields, pending)));
+    }
+
+    private Versioned<MatchDTO> loadMatch(Long id, MatchFields fields, PendingOdds pending) {
+        if (!fields.isAll()) {
+            EntityVersion version = matchRepository.findVersionById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Match", "id", id));
+            MatchDTO match = matchRepository.findSparse(List.of(id), fields).stream().findFirst()
+                    .orElseThrow(() -> new ResourceNotFoundException("Match", "id", id));
+            return new Versioned<>(pending.apply(match), pending.applyToMatch(id, version));
+        }
+        List<MatchRow> rows = matchRepository.findRowsById(id);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Match", "id", id);
+        }
+        return new Versioned<>(pending.apply(MatchRow.toDTOs(rows).get(0)),
+                pending.applyToMatch(id, rows.get(0).entityVersion()));
+    }
+
+    /**
+     * Called once a change to the match has committed, so that later reads do not join a
+     * load that may have started before it
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void forgetInFlightLoads(Long id) {
+        matchLoads.forget(read -> read.id().equals(id));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public EntityVersion getMatchVersion(Long id) {
+        PendingOdds pending = oddsWriteBehindService.pendingForMatch(id);
+        EntityVersion version = matchRepository.findVersionById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Match", "id", id));
-        return DtoEntityConverter.convertToDTO(match);
+        return pending.applyToMatch(id, version);
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<MatchDTO> getAllMatches() {
-        return matchRepository.findAll().stream()
-                .map(DtoEntityConverter::convertToDTO)
+        return getAllMatches(MatchFields.ALL);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MatchDTO> getAllMatches(MatchFields fields) {
+        PendingOdds pending = oddsWriteBehindService.pending();
+        List<MatchDTO> matches = fields.isAll()
+                ? MatchRow.toDTOs(matchRepository.findAllRows())
+                : matchRepository.findSparse(null, fields);
+        return matches.stream()
+                .map(pending::apply)
                 .collect(Collectors.toList());
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<MatchDTO> getMatchesPage(String cursor, Integer size) {
+        return getMatchesPage(cursor, size, MatchFields.ALL);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<MatchDTO> getMatchesPage(String cursor, Integer size, MatchFields fields) {
+        int pageSize = resolvePageSize(size);
+        PendingOdds pending = oddsWriteBehindService.pending();
+        // Fetch one extra id to learn whether another page follows without a count query
+        Limit limit = Limit.of(pageSize + 1);
+        List<Long> ids;
+        if (cursor == null || cursor.isBlank()) {
+            ids = matchRepository.findFirstPageIds(limit);
+        } else {
+            MatchCursor after = MatchCursor.decode(cursor);
+            ids = matchRepository.findPageIdsAfter(after.matchDate(), after.matchTime(), after.id(), limit);
+        }
+
+        boolean hasMore = ids.size() > pageSize;
+        if (hasMore) {
+            ids = ids.subList(0, pageSize);
+        }
+
+        List<MatchDTO> items = loadInOrder(ids, pending, fields);
+        if (hasMore && items.isEmpty()) {
+            // Every match of the page was deleted after its id was read; there is no cursor to
+            // continue from, but reading the page again skips them
+            return getMatchesPage(cursor, size, fields);
+        }
+        String nextCursor = hasMore ? MatchCursor.after(items.get(items.size() - 1)).encode() : null;
+        return new CursorPageDTO<>(items, nextCursor, hasMore);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<MatchDTO> searchMatches(MatchSearchCriteria criteria, String cursor, Integer size) {
+        return searchMatches(criteria, cursor, size, MatchFields.ALL);
+    }
+
+    /**
+     * Filters are combined into one Specification that selects the ids of the page in keyset
+     * order; the matches and their odds are then read with one more query.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<MatchDTO> searchMatches(MatchSearchCriteria criteria, String cursor, Integer size,
+                                                 MatchFields fields) {
+        int pageSize = resolvePageSize(size);
+        Specification<Match> specification = toSpecification(criteria);
+        PendingOdds pending = oddsWriteBehindService.pending();
+        if (cursor != null && !cursor.isBlank()) {
+            specification = specification.and(MatchSpecifications.after(MatchCursor.decode(cursor)));
+        }
+
+        List<Long> ids = matchRepository.findIds(specification, MatchSpecifications.KICKOFF_ORDER, pageSize + 1);
+
+        boolean hasMore = ids.size() > pageSize;
+        if (hasMore) {
+            ids = ids.subList(0, pageSize);
+        }
+
+        List<MatchDTO> items = loadInOrder(ids, pending, fields);
+        if (hasMore && items.isEmpty()) {
+            return searchMatches(criteria, cursor, size, fields);
+        }
+        String nextCursor = hasMore ? MatchCursor.after(items.get(items.size() - 1)).encode() : null;
+        return new CursorPageDTO<>(items, nextCursor, hasMore);
+    }
+
+    /**
+     * Merge-joins two id-ordered cursors (matches and odds) so the whole board is written
+     * with two queries and constant memory. Both select DTOs, so the persistence context
+     * stays empty.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportMatches(Consumer<MatchDTO> sink) {
+        PendingOdds buffered = oddsWriteBehindService.pending();
+        try (Stream<MatchDTO> matches = matchRepository.streamAllOrderedById();
+             Stream<MatchOddsDTO> odds = matchOddsRepository.streamAllOrderedByMatchId()) {
+            Iterator<MatchOddsDTO> oddsIterator = odds.iterator();
+            MatchOddsDTO pending = oddsIterator.hasNext() ? oddsIterator.next() : null;
+
+            for (Iterator<MatchDTO> it = matches.iterator(); it.hasNext(); ) {
+                MatchDTO match = it.next();
+                List<MatchOddsDTO> matchOdds = new ArrayList<>();
+                while (pending != null && pending.getMatchId() <= match.getId()) {
+                    if (pending.getMatchId().equals(match.getId())) {
+                        matchOdds.add(pending);
+                    }
+                    pending = oddsIterator.hasNext() ? oddsIterator.next() : null;
+                }
+                match.setMatchOdds(matchOdds);
+                sink.accept(buffered.apply(match));
+            }
+        }
+    }
+    
     @Override
     public MatchDTO updateMatch(Long id, MatchDTO matchDTO) {
+        return updateMatch(id, matchDTO, null).value();
+    }
+    
+    /**
+     * With an expected version (from If-Match) the update is refused when the match has
+     * moved on. The version check in the UPDATE statement covers writers that commit between
+     * our read and our flush. Buffered odds updates of the match are flushed first, since
+     * they change the version the client has to name.
+     */
+    @Override
+    public Versioned<MatchDTO> updateMatch(Long id, MatchDTO matchDTO, Long expectedVersion) {
+        if (expectedVersion != null) {
+            oddsWriteBehindService.flushPendingMatch(id);
+        }
         Match match = matchRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Match", "id", id));
+        if (expectedVersion != null && expectedVersion != match.getVersion()) {
+            throw new PreconditionFailedException("Match", id, versionOf(match).eTag());
+        }
+        MatchChangedEvent.Teams before = teamsOf(match);
         
         match.setDescription(matchDTO.getDescription());
         match.setMatchDate(matchDTO.getMatchDate());
@@ -57,14 +396,133 @@ public class MatchServiceImpl implements MatchService {
         match.setSport(matchDTO.getSport());
         
         match = matchRepository.save(match);
-        return DtoEntityConverter.convertToDTO(match);
+        // Flush so the response carries the incremented version
+        matchRepository.flush();
+        eventPublisher.publishEvent(new MatchChangedEvent(ChangeType.UPDATED, match.getId(), before, teamsOf(match)));
+        return new Versioned<>(DtoEntityConverter.convertToDTO(match), versionOf(match));
     }
     
+    /**
+     * Two DELETE statements instead of loading the match and removing its odds one by one
+     */
     @Override
     public void deleteMatch(Long id) {
-        if (!matchRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Match", "id", id);
+        MatchRepository.MatchTeams teams = matchRepository.lockTeamsById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Match", "id", id));
+        matchOddsRepository.deleteByMatchId(id);
+        oddsHistoryService.deleteHistory(Set.of(id));
+        changeFeedService.deleteMatchEntries(Set.of(id));
+        matchRepository.deleteByIdIn(Set.of(id));
+        eventPublisher.publishEvent(new MatchChangedEvent(ChangeType.DELETED, id,
+                new MatchChangedEvent.Teams(teams.getTeamA(), teams.getTeamB()), null));
+    }
+
+    private static EntityVersion versionOf(Match match) {
+        return new EntityVersion(match.getVersion(), match.getLastModified());
+    }
+
+    private static MatchChangedEvent.Teams teamsOf(Match match) {
+        return new MatchChangedEvent.Teams(match.getTeamA(), match.getTeamB());
+    }
+
+    private Specification<Match> toSpecification(MatchSearchCriteria criteria) {
+        if (criteria.getDateFrom() != null && criteria.getDateTo() != null
+                && criteria.getDateFrom().isAfter(criteria.getDateTo())) {
+            throw new BadRequestException("dateFrom must not be after dateTo");
+        }
+        if (criteria.getKickoffFrom() != null && criteria.getKickoffTo() != null
+                && criteria.getKickoffFrom().isAfter(criteria.getKickoffTo())) {
+            throw new BadRequestException("kickoffFrom must not be after kickoffTo");
+        }
+
+        List<Specification<Match>> filters = new ArrayList<>();
+        if (criteria.getSport() != null) {
+            filters.add(MatchSpecifications.hasSport(criteria.getSport()));
+        }
+        if (criteria.getTeam() != null && !criteria.getTeam().isBlank()) {
+            filters.add(MatchSpecifications.involvesTeam(criteria.getTeam().trim()));
+        }
+        if (criteria.getDateFrom() != null) {
+            filters.add(MatchSpecifications.onOrAfter(criteria.getDateFrom()));
+        }
+        if (criteria.getDateTo() != null) {
+            filters.add(MatchSpecifications.onOrBefore(criteria.getDateTo()));
+        }
+        if (criteria.getKickoffFrom() != null) {
+            filters.add(MatchSpecifications.kickoffAtOrAfter(criteria.getKickoffFrom()));
+        }
+        if (criteria.getKickoffTo() != null) {
+            filters.add(MatchSpecifications.kickoffAtOrBefore(criteria.getKickoffTo()));
         }
-        matchRepository.deleteById(id);
+        return Specification.allOf(filters);
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (size < 1) {
+            throw new BadRequestException("Page size must be positive");
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    /**
+     * Loads the matches (with odds) for a page of ids in one query and restores the
+     * keyset order, which an IN-list query does not preserve. A match deleted after its id
+     * was read is left out. Sparse pages still read the kickoff columns, since the next
+     * cursor is built from them.
+     */
+    private List<MatchDTO> loadInOrder(List<Long> ids, PendingOdds pending, MatchFields fields) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<MatchDTO> matches = fields.isAll()
+                ? MatchRow.toDTOs(matchRepository.findRowsByIdIn(ids))
+                : matchRepository.findSparse(ids, fields.with(MatchField.MATCH_DATE, MatchField.MATCH_TIME));
+        Map<Long, MatchDTO> byId = matches.stream()
+                .collect(Collectors.toMap(MatchDTO::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(pending::apply)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Validates the match and its nested opening odds. The odds' matchId is not required
+     * here because the match does not exist yet.
+     */
+    private String validateWithOpeningOdds(MatchDTO dto) {
+        String error = ValidationUtils.describe(validator.validate(dto));
+        if (error != null || dto.getMatchOdds() == null) {
+            return error;
+        }
+        Map<String, Integer> specifiers = new HashMap<>();
+        for (int j = 0; j < dto.getMatchOdds().size(); j++) {
+            MatchOddsDTO oddsDTO = dto.getMatchOdds().get(j);
+            if (oddsDTO == null) {
+                return "matchOdds[" + j + "]: must not be null";
+            }
+            String oddsError = ValidationUtils.describe(validator.validateProperty(oddsDTO, "specifier"));
+            if (oddsError == null) {
+                oddsError = ValidationUtils.describe(validator.validateProperty(oddsDTO, "odd"));
+            }
+            if (oddsError != null) {
+                return "matchOdds[" + j + "]." + oddsError;
+            }
+            Integer first = specifiers.putIfAbsent(oddsDTO.getSpecifier(), j);
+            if (first != null) {
+                return "matchOdds[" + j + "].specifier: same as matchOdds[" + first + "]";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads with different buffered updates or fields build different bodies, so they do not
+     * share a load
+     */
+    private record MatchRead(Long id, PendingOdds pending, MatchFields fields, boolean primary) {
     }
 }
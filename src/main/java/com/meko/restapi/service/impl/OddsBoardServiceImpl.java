@@ -0,0 +1,109 @@
+package com.meko.restapi.service.impl;
+
+import com.meko.restapi.event.ChangeType;
+import com.meko.restapi.event.MatchChangedEvent;
+import com.meko.restapi.event.MatchOddsChangedEvent;
+import com.meko.restapi.repository.MatchOddsRepository;
+import com.meko.restapi.service.OddsBoardService;
+import com.meko.restapi.util.OddsBoard;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Serves odds from an {@link OddsBoard} held in memory. Reads never touch the database;
+ * the board is rebuilt from a streamed projection and then kept current from committed
+ * odds and match changes.
+ */
+@Service
+@RequiredArgsConstructor
+public class OddsBoardServiceImpl implements OddsBoardService {
+
+    private final MatchOddsRepository matchOddsRepository;
+
+    private final Object changeLock = new Object();
+    private volatile OddsBoard board = new OddsBoard();
+    // guarded by changeLock; non-null while a rebuild is reading the table
+    private List<Object> changesDuringRebuild;
+
+    @Override
+    public int forEachOdds(Long matchId, OddsBoard.OddsConsumer consumer) {
+        return board.forEachOdds(matchId, consumer);
+    }
+
+    @Override
+    public void forEachOdds(OddsBoard.OddsConsumer consumer) {
+        board.forEachOdds(consumer);
+    }
+
+    @Override
+    public String specifierOf(Long matchId, Long oddsId) {
+        return board.specifierOf(matchId, oddsId);
+    }
+
+    /**
+     * Builds a fresh board off to the side and swaps it in. Changes committed while the
+     * table is being read are also queued and replayed on the new board; the board keeps
+     * the highest row version of every entry, so the replay is safe in any order.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void rebuildBoard() {
+        synchronized (changeLock) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+        OddsBoard rebuilt = new OddsBoard();
+        boolean complete = false;
+        try (Stream<MatchOddsRepository.BoardOdds> rows = matchOddsRepository.streamBoardOdds()) {
+            rows.forEach(row -> rebuilt.put(row.getMatchId(), row.getId(), row.getVersion(),
+                    row.getSpecifier(), row.getOdd()));
+            complete = true;
+        } finally {
+            synchronized (changeLock) {
+                if (complete) {
+                    changesDuringRebuild.forEach(change -> apply(rebuilt, change));
+                    board = rebuilt;
+                }
+                changesDuringRebuild = null;
+            }
+        }
+    }
+
+    @Override
+    public void applyOddsChange(MatchOddsChangedEvent event) {
+        record(event);
+    }
+
+    @Override
+    public void applyMatchChange(MatchChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            record(event);
+        }
+    }
+
+    private void record(Object change) {
+        synchronized (changeLock) {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+            apply(board, change);
+        }
+    }
+
+    private static void apply(OddsBoard target, Object change) {
+        if (change instanceof MatchOddsChangedEvent event) {
+            if (event.type() == ChangeType.DELETED) {
+                target.remove(event.odds().getMatchId(), event.odds().getId(), event.version());
+            } else {
+                target.put(event.odds().getMatchId(), event.odds().getId(), event.version(),
+                        event.odds().getSpecifier(), event.odds().getOdd());
+            }
+        } else if (change instanceof MatchChangedEvent event) {
+            target.removeMatch(event.matchId());
+        }
+    }
+}
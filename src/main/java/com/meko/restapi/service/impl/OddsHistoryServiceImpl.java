@@ -0,0 +1,243 @@
+package com.meko.restapi.service.impl;
+
+import com.meko.restapi.dto.OddsHistoryPointDTO;
+import com.meko.restapi.dto.OddsHistorySeriesDTO;
+import com.meko.restapi.entity.OddsHistoryChunk;
+import com.meko.restapi.entity.OddsHistoryTick;
+import com.meko.restapi.exception.BadRequestException;
+import com.meko.restapi.repository.OddsHistoryChunkRepository;
+import com.meko.restapi.repository.OddsHistoryTickRepository;
+import com.meko.restapi.service.OddsHistoryService;
+import com.meko.restapi.util.OddsTickCodec;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class OddsHistoryServiceImpl implements OddsHistoryService {
+
+    private final OddsHistoryChunkRepository chunkRepository;
+    private final OddsHistoryTickRepository tickRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.odds-history.max-ticks-per-chunk:512}")
+    private int maxTicksPerChunk;
+
+    @Value("${app.odds-history.compact-batch-size:5000}")
+    private int compactBatchSize;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void createTransactionTemplate() {
+        // each batch of ticks is compacted and deleted in a transaction of its own
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Records one tick as a row of its own. Runs in the caller's transaction, so the history
+     * commits or rolls back together with the odds change, but takes no lock and rewrites no
+     * chunk; {@link #compactTicks()} packs the ticks into chunks later.
+     */
+    @Override
+    public void recordTick(Long matchId, String specifier, double odd, boolean newSeries) {
+        tickRepository.save(new OddsHistoryTick(null, matchId, specifier,
+                Instant.now().truncatedTo(ChronoUnit.MILLIS), OddsTickCodec.toFixedPoint(odd), newSeries));
+    }
+
+    /**
+     * Moves recorded ticks into chunks, oldest first. A new series (odds just created) always
+     * starts a new chunk; otherwise the latest chunk of the specifier is extended until it is
+     * full or the UTC day changes, so each chunk is written once per batch of ticks instead
+     * of once per tick.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Scheduled(fixedDelayString = "${app.odds-history.compact-interval:5s}")
+    public void compactTicks() {
+        long compacted = 0;
+        int done;
+        do {
+            done = transactionTemplate.execute(status -> compactBatch());
+            compacted += done;
+        } while (done == compactBatchSize);
+        if (compacted > 0) {
+            log.debug("Compacted {} odds history ticks", compacted);
+        }
+    }
+
+    private int compactBatch() {
+        List<OddsHistoryTick> ticks = tickRepository.lockOldest(Limit.of(compactBatchSize));
+        if (ticks.isEmpty()) {
+            return 0;
+        }
+        Map<SeriesKey, List<OddsHistoryTick>> bySeries = new LinkedHashMap<>();
+        for (OddsHistoryTick tick : ticks) {
+            bySeries.computeIfAbsent(new SeriesKey(tick.getMatchId(), tick.getSpecifier()), k -> new ArrayList<>()).add(tick);
+        }
+
+        List<OddsHistoryChunk> written = new ArrayList<>();
+        bySeries.forEach((series, seriesTicks) -> {
+            OddsHistoryChunk chunk = seriesTicks.get(0).isNewSeries() ? null
+                    : chunkRepository.findFirstByMatchIdAndSpecifierOrderByFirstTsDescIdDesc(series.matchId(), series.specifier())
+                    .orElse(null);
+            for (OddsHistoryTick tick : seriesTicks) {
+                OddsHistoryChunk extended = append(chunk, tick);
+                if (extended != chunk) {
+                    written.add(extended);
+                    chunk = extended;
+                }
+            }
+        });
+        chunkRepository.saveAll(written);
+        tickRepository.deleteByIdIn(ticks.stream().map(OddsHistoryTick::getId).toList());
+        return ticks.size();
+    }
+
+    /**
+     * @return the chunk the tick went into, a new one if it did not fit in {@code chunk}
+     */
+    private OddsHistoryChunk append(OddsHistoryChunk chunk, OddsHistoryTick tick) {
+        Instant ts = tick.getTs();
+        if (tick.isNewSeries() || chunk == null || chunk.getTickCount() >= maxTicksPerChunk
+                || !chunk.getFirstTs().truncatedTo(ChronoUnit.DAYS).equals(ts.truncatedTo(ChronoUnit.DAYS))) {
+            chunk = new OddsHistoryChunk();
+            chunk.setMatchId(tick.getMatchId());
+            chunk.setSpecifier(tick.getSpecifier());
+            chunk.setFirstTs(ts);
+            chunk.setLastTs(ts);
+            chunk.setPayload(OddsTickCodec.append(null, 0, tick.getOddFixedPoint()));
+        } else {
+            // ticks are compacted in commit order, which may be a little behind their clocks
+            Instant timestamp = ts.isBefore(chunk.getLastTs()) ? chunk.getLastTs() : ts;
+            long millisDelta = timestamp.toEpochMilli() - chunk.getLastTs().toEpochMilli();
+            chunk.setPayload(OddsTickCodec.append(chunk.getPayload(), millisDelta,
+                    tick.getOddFixedPoint() - chunk.getLastOddFixedPoint()));
+            chunk.setLastTs(timestamp);
+        }
+        chunk.setTickCount(chunk.getTickCount() + 1);
+        chunk.setLastOddFixedPoint(tick.getOddFixedPoint());
+        return chunk;
+    }
+
+    /**
+     * Ticks not compacted yet are read after the chunks of their specifier, which hold
+     * everything older.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<OddsHistorySeriesDTO> getHistory(Long matchId, Instant from, Instant to, Duration bucket) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+        if (bucket != null && (bucket.isZero() || bucket.isNegative())) {
+            throw new BadRequestException("Bucket must be a positive duration");
+        }
+
+        Map<String, SeriesBuilder> series = new TreeMap<>();
+        for (OddsHistoryChunk chunk : chunkRepository.findOverlapping(matchId, from, to)) {
+            SeriesBuilder builder = series.computeIfAbsent(chunk.getSpecifier(), s -> new SeriesBuilder(bucket));
+            OddsTickCodec.decode(chunk.getPayload(), chunk.getFirstTs().toEpochMilli(), (millis, fixedPoint) -> {
+                if (millis >= from.toEpochMilli() && millis <= to.toEpochMilli()) {
+                    builder.add(millis, OddsTickCodec.fromFixedPoint(fixedPoint));
+                }
+            });
+        }
+        for (OddsHistoryTick tick : tickRepository.findInRange(matchId, from, to)) {
+            series.computeIfAbsent(tick.getSpecifier(), s -> new SeriesBuilder(bucket))
+                    .add(tick.getTs().toEpochMilli(), OddsTickCodec.fromFixedPoint(tick.getOddFixedPoint()));
+        }
+
+        List<OddsHistorySeriesDTO> result = new ArrayList<>();
+        series.forEach((specifier, builder) -> result.add(new OddsHistorySeriesDTO(specifier, builder.build())));
+        return result;
+    }
+
+    /**
+     * Removes the history of deleted matches; chunks and ticks have no foreign key to cascade
+     * from, so the deletes of matches call this in the same transaction
+     */
+    @Override
+    public void deleteHistory(Collection<Long> matchIds) {
+        int chunks = chunkRepository.deleteByMatchIdIn(matchIds);
+        int ticks = tickRepository.deleteByMatchIdIn(matchIds);
+        log.debug("Deleted {} history chunks and {} ticks of {} matches", chunks, ticks, matchIds.size());
+    }
+
+    private record SeriesKey(Long matchId, String specifier) {
+    }
+
+    /**
+     * Collects raw ticks, or first/last/min/max per bucket when a bucket width is given.
+     */
+    private static class SeriesBuilder {
+        private final long bucketMillis;
+        private final List<OddsHistoryPointDTO> points = new ArrayList<>();
+        private long bucketStart = Long.MIN_VALUE;
+        private long lastMillis = Long.MIN_VALUE;
+        private double first;
+        private double last;
+        private double min;
+        private double max;
+
+        SeriesBuilder(Duration bucket) {
+            this.bucketMillis = bucket == null ? 0 : bucket.toMillis();
+        }
+
+        void add(long millis, double odd) {
+            // as in a compacted chunk, a tick is never placed before the one preceding it
+            millis = Math.max(millis, lastMillis);
+            lastMillis = millis;
+            if (bucketMillis == 0) {
+                points.add(OddsHistoryPointDTO.tick(Instant.ofEpochMilli(millis), odd));
+                return;
+            }
+            long start = Math.floorDiv(millis, bucketMillis) * bucketMillis;
+            if (start != bucketStart) {
+                flush();
+                bucketStart = start;
+                first = odd;
+                min = odd;
+                max = odd;
+            }
+            last = odd;
+            min = Math.min(min, odd);
+            max = Math.max(max, odd);
+        }
+
+        List<OddsHistoryPointDTO> build() {
+            flush();
+            return points;
+        }
+
+        private void flush() {
+            if (bucketStart != Long.MIN_VALUE) {
+                points.add(OddsHistoryPointDTO.bucket(Instant.ofEpochMilli(bucketStart), first, last, min, max));
+                bucketStart = Long.MIN_VALUE;
+            }
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package com.meko.restapi.service.impl;
+
+import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.event.ChangeType;
+import com.meko.restapi.event.MatchOddsChangedEvent;
+import com.meko.restapi.repository.MatchOddsRepository;
+import com.meko.restapi.repository.MatchOddsUpsertRepository.VersionedUpdate;
+import com.meko.restapi.repository.MatchRepository;
+import com.meko.restapi.service.OddsBoardService;
+import com.meko.restapi.service.OddsWriteBehindService;
+import com.meko.restapi.util.OddsJournal;
+import com.meko.restapi.util.PendingOdds;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind for odds updates (app.odds-write-behind.enabled). An accepted update is
+ * journaled, kept as the latest value of its odds id, and acknowledged; a flush writes the
+ * buffered values with one batched UPDATE per row, every flush interval or as soon as
+ * max-pending odds are waiting. Any number of updates to the same odds between two flushes
+ * cost one UPDATE, one match version bump and one change event.
+ * <p>
+ * The buffer is read without locks. Writers hold the journal lock only to append a record
+ * to the page cache and buffer the update, so it is only visible once it is journaled, and a
+ * flush takes its batch and rotates the journal in one step. The fsync happens after the lock
+ * is released and is shared by every writer waiting for one (see {@link OddsJournal#sync}):
+ * the acknowledgement waits for the update to be durable, but writers do not queue up behind
+ * each other's fsyncs, and no thread blocks on a monitor, so a virtual thread never pins its
+ * carrier here. Reads may show an update while its fsync is still running; should the fsync
+ * fail, the caller gets an error but the update stays buffered and is still flushed.
+ * <p>
+ * Buffered updates leave the buffer and the journal only after their transaction has
+ * committed; if it fails, they stay for the next flush. On startup the journal is replayed
+ * into the buffer.
+ * <p>
+ * Only updates that keep the specifier of their odds are buffered, so a flush only ever
+ * changes odd values and cannot break the unique (match, specifier) key; an acknowledged
+ * update is never refused later. A specifier change is written synchronously and a conflict
+ * is reported to its caller.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OddsWriteBehindServiceImpl implements OddsWriteBehindService {
+
+    private final MatchOddsRepository matchOddsRepository;
+    private final MatchRepository matchRepository;
+    private final OddsBoardService oddsBoardService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.odds-write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.odds-write-behind.max-pending:1000}")
+    private int maxPending;
+
+    @Value("${app.odds-write-behind.journal-dir:odds-journal}")
+    private Path journalDirectory;
+
+    @Value("${app.odds-write-behind.journal-sync:true}")
+    private boolean journalSync;
+
+    private final Map<Long, PendingOdds.Update> byOdds = new ConcurrentHashMap<>();
+    // per match, an immutable map replaced on every change
+    private final Map<Long, Map<Long, PendingOdds.Update>> byMatch = new ConcurrentHashMap<>();
+    private final ReentrantLock journalLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // set once on startup; appends and rotation are guarded by journalLock, syncs are not
+    private OddsJournal journal;
+    // guarded by journalLock
+    private long sequence;
+    private TransactionTemplate transactionTemplate;
+    private Counter deadLettered;
+
+    @PostConstruct
+    void openJournal() throws IOException {
+        deadLettered = Counter.builder("odds.write-behind.dead-lettered")
+                .description("Buffered odds updates dropped because the database rejected them")
+                .register(meterRegistry);
+        // a flush may be asked for from inside a caller's transaction, but must commit on its own
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        if (!enabled) {
+            return;
+        }
+        journalLock.lock();
+        try {
+            // sequence numbers end up in ETags, so they continue from the clock rather than restart at zero
+            sequence = System.currentTimeMillis() * 1000;
+            journal = new OddsJournal(journalDirectory, journalSync);
+            List<OddsJournal.Entry> replayed = journal.replay();
+            replayed.forEach(this::buffer);
+            if (!replayed.isEmpty()) {
+                log.info("Replayed {} journaled odds updates for {} odds", replayed.size(), byOdds.size());
+            }
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void closeJournal() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Could not flush {} buffered odds updates on shutdown; they are replayed on startup",
+                    byOdds.size(), e);
+        }
+        journalLock.lock();
+        try {
+            journal.close();
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    /**
+     * Buffers the update when write-behind is enabled and the odds are on the board under
+     * the given match with the same specifier. Otherwise the caller writes it synchronously,
+     * which also reports unknown odds and specifiers another odds of the match already has.
+     */
+    @Override
+    public boolean accept(Long id, MatchOddsDTO matchOddsDTO) {
+        if (!enabled || !matchOddsDTO.getSpecifier().equals(oddsBoardService.specifierOf(matchOddsDTO.getMatchId(), id))) {
+            return false;
+        }
+        OddsJournal.Entry entry = new OddsJournal.Entry(id, matchOddsDTO.getMatchId(),
+                matchOddsDTO.getSpecifier(), matchOddsDTO.getOdd());
+        try {
+            long record;
+            journalLock.lock();
+            try {
+                record = journal.append(entry);
+                buffer(entry);
+            } finally {
+                journalLock.unlock();
+            }
+            journal.sync(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not journal the update of match odds " + id, e);
+        }
+
+        if (byOdds.size() >= maxPending && flushLock.tryLock()) {
+            try {
+                writePending();
+            } catch (RuntimeException e) {
+                log.warn("Could not flush {} buffered odds updates", byOdds.size(), e);
+            } finally {
+                flushLock.unlock();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public PendingOdds pending() {
+        return byOdds.isEmpty() ? PendingOdds.EMPTY : new PendingOdds(Map.copyOf(byOdds));
+    }
+
+    @Override
+    public PendingOdds pendingForMatch(Long matchId) {
+        Map<Long, PendingOdds.Update> updates = byMatch.get(matchId);
+        return updates == null ? PendingOdds.EMPTY : new PendingOdds(updates);
+    }
+
+    @Override
+    public PendingOdds pendingForOdds(Long id) {
+        PendingOdds.Update update = byOdds.get(id);
+        return update == null ? PendingOdds.EMPTY : new PendingOdds(Map.of(id, update));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.odds-write-behind.flush-interval:100ms}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            writePending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Called before a synchronous write that has to come after the buffered updates
+     */
+    @Override
+    public void flushPendingMatch(Long matchId) {
+        if (byMatch.containsKey(matchId)) {
+            flush();
+        }
+    }
+
+    @Override
+    public void flushPendingOdds(Long id) {
+        if (byOdds.containsKey(id)) {
+            flush();
+        }
+    }
+
+    // caller holds journalLock
+    private void buffer(OddsJournal.Entry entry) {
+        PendingOdds.Update update = new PendingOdds.Update(entry.oddsId(), entry.matchId(), entry.specifier(),
+                entry.odd(), ++sequence, Instant.now());
+        byOdds.put(update.oddsId(), update);
+        byMatch.compute(update.matchId(), (matchId, updates) -> {
+            Map<Long, PendingOdds.Update> changed = updates == null ? new HashMap<>() : new HashMap<>(updates);
+            changed.put(update.oddsId(), update);
+            return Map.copyOf(changed);
+        });
+    }
+
+    // caller holds flushLock
+    private void writePending() {
+        List<PendingOdds.Update> batch;
+        long segment;
+        journalLock.lock();
+        try {
+            if (byOdds.isEmpty()) {
+                return;
+            }
+            batch = List.copyOf(byOdds.values());
+            segment = rotateJournal();
+        } finally {
+            journalLock.unlock();
+        }
+
+        Set<PendingOdds.Update> done = new HashSet<>();
+        try {
+            writeOrSplit(batch, done);
+        } finally {
+            release(batch, done, segment);
+        }
+    }
+
+    /**
+     * A batch that breaks a constraint is split in halves, each written on its own, until the
+     * updates at fault are found; those are dead-lettered rather than retried forever. As only
+     * odd values are written, this is a safeguard against constraints the buffer cannot
+     * foresee, not a path an update takes in normal operation. Any other failure leaves the
+     * rest of the batch buffered for the next flush.
+     */
+    private void writeOrSplit(List<PendingOdds.Update> batch, Set<PendingOdds.Update> done) {
+        try {
+            done.addAll(transactionTemplate.execute(status -> write(batch)));
+        } catch (DataIntegrityViolationException e) {
+            if (batch.size() == 1) {
+                deadLetter(batch.get(0), e);
+                done.add(batch.get(0));
+                return;
+            }
+            writeOrSplit(batch.subList(0, batch.size() / 2), done);
+            writeOrSplit(batch.subList(batch.size() / 2, batch.size()), done);
+        }
+    }
+
+    private void deadLetter(PendingOdds.Update update, DataIntegrityViolationException e) {
+        deadLettered.increment();
+        log.warn("Dropping buffered update of match odds {} (match {}, specifier '{}', odd {}): {}",
+                update.oddsId(), update.matchId(), update.specifier(), update.odd(),
+                NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+    }
+
+    /**
+     * Drops the finished updates from the buffer and the journal segments the batch was taken
+     * from. Updates still buffered are journaled again first, unless a newer update of the
+     * same odds already is.
+     */
+    private void release(List<PendingOdds.Update> batch, Set<PendingOdds.Update> done, long segment) {
+        journalLock.lock();
+        try {
+            for (PendingOdds.Update update : done) {
+                byOdds.remove(update.oddsId(), update);
+                byMatch.computeIfPresent(update.matchId(), (matchId, updates) -> {
+                    if (!update.equals(updates.get(update.oddsId()))) {
+                        return updates;
+                    }
+                    Map<Long, PendingOdds.Update> changed = new HashMap<>(updates);
+                    changed.remove(update.oddsId());
+                    return changed.isEmpty() ? null : Map.copyOf(changed);
+                });
+            }
+            try {
+                long record = 0;
+                for (PendingOdds.Update update : batch) {
+                    if (!done.contains(update) && update.equals(byOdds.get(update.oddsId()))) {
+                        record = journal.append(new OddsJournal.Entry(update.oddsId(), update.matchId(), update.specifier(), update.odd()));
+                    }
+                }
+                journal.sync(record);
+                // later segments now hold every update that is still buffered
+                journal.deleteBefore(segment);
+            } catch (IOException e) {
+                log.warn("Could not delete flushed odds journal segments", e);
+            }
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    /**
+     * Reads the current rows, then writes those that differ from their buffered value with
+     * one batched UPDATE, each guarded by the version it was read at. Rows deleted in the
+     * meantime are skipped, and so are rows a synchronous write gave another specifier: that
+     * write replaced the whole row after the buffered update, which it supersedes. A row that
+     * a synchronous write changed concurrently is left for the next flush.
+     *
+     * @return the updates that are finished: written, unchanged, superseded or of deleted rows
+     */
+    private List<PendingOdds.Update> write(List<PendingOdds.Update> batch) {
+        Map<Long, PendingOdds.Update> updates = batch.stream()
+                .collect(Collectors.toMap(PendingOdds.Update::oddsId, Function.identity()));
+        Map<Long, MatchOddsRepository.BoardOdds> current = matchOddsRepository.findBoardOddsByIdIn(updates.keySet()).stream()
+                .collect(Collectors.toMap(MatchOddsRepository.BoardOdds::getId, Function.identity()));
+
+        List<PendingOdds.Update> finished = new ArrayList<>(batch.size());
+        List<MatchOddsRepository.BoardOdds> changed = new ArrayList<>();
+        for (PendingOdds.Update update : batch) {
+            MatchOddsRepository.BoardOdds row = current.get(update.oddsId());
+            if (row != null && update.specifier().equals(row.getSpecifier()) && update.odd() != row.getOdd()) {
+                changed.add(row);
+            } else {
+                finished.add(update);
+            }
+        }
+        if (changed.isEmpty()) {
+            return finished;
+        }
+
+        boolean[] written = matchOddsRepository.updateIfUnchanged(changed.stream()
+                .map(row -> {
+                    PendingOdds.Update update = updates.get(row.getId());
+                    return new VersionedUpdate(row.getId(), row.getVersion(), update.specifier(), update.odd());
+                })
+                .toList());
+        Set<Long> matchIds = new HashSet<>();
+        List<MatchOddsChangedEvent> events = new ArrayList<>();
+        for (int i = 0; i < written.length; i++) {
+            if (!written[i]) {
+                continue;
+            }
+            MatchOddsRepository.BoardOdds row = changed.get(i);
+            PendingOdds.Update update = updates.get(row.getId());
+            finished.add(update);
+            matchIds.add(row.getMatchId());
+            events.add(new MatchOddsChangedEvent(ChangeType.UPDATED,
+                    new MatchOddsDTO(row.getId(), row.getMatchId(), update.specifier(), update.odd()), row.getVersion() + 1));
+        }
+        if (!matchIds.isEmpty()) {
+            matchRepository.touch(matchIds, Instant.now());
+        }
+        events.forEach(eventPublisher::publishEvent);
+        log.debug("Flushed {} odds updates of {} matches", events.size(), matchIds.size());
+        return finished;
+    }
+
+    private long rotateJournal() {
+        try {
+            return journal.rotate();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not rotate the odds journal", e);
+        }
+    }
+}
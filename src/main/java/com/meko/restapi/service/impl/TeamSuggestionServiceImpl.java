@@ -0,0 +1,117 @@
+package com.meko.restapi.service.impl;
+
+import com.meko.restapi.dto.TeamSuggestionDTO;
+import com.meko.restapi.event.MatchChangedEvent;
+import com.meko.restapi.exception.BadRequestException;
+import com.meko.restapi.repository.MatchRepository;
+import com.meko.restapi.service.TeamSuggestionService;
+import com.meko.restapi.util.TeamNameIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Serves autocomplete from a {@link TeamNameIndex} held in memory. Lookups never touch the
+ * database; the index is rebuilt from a streamed projection and then kept current from
+ * committed match changes.
+ */
+@Service
+@RequiredArgsConstructor
+public class TeamSuggestionServiceImpl implements TeamSuggestionService {
+
+    private final MatchRepository matchRepository;
+
+    @Value("${app.team-suggest.default-limit:10}")
+    private int defaultLimit;
+
+    @Value("${app.team-suggest.max-limit:50}")
+    private int maxLimit;
+
+    private final ReentrantLock changeLock = new ReentrantLock();
+    private volatile TeamNameIndex index = new TeamNameIndex();
+    // guarded by changeLock; non-null while a rebuild is reading the table
+    private List<MatchChangedEvent> changesDuringRebuild;
+
+    @Override
+    public List<TeamSuggestionDTO> suggestTeams(String prefix, Integer limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new BadRequestException("Prefix must not be blank");
+        }
+        int maxResults = limit == null ? defaultLimit : limit;
+        if (maxResults < 1 || maxResults > maxLimit) {
+            throw new BadRequestException("Limit must be between 1 and " + maxLimit);
+        }
+        return index.suggest(prefix, maxResults).stream()
+                .map(s -> new TeamSuggestionDTO(s.team(), s.matchIds().length,
+                        Arrays.stream(s.matchIds()).boxed().toList()))
+                .toList();
+    }
+
+    /**
+     * Builds a fresh index off to the side and swaps it in. Changes committed while the
+     * table is being read may or may not be in the stream, so they are also queued and
+     * replayed on the new index in commit order; adds and removes are idempotent, which
+     * makes the replay safe either way.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        changeLock.lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            changeLock.unlock();
+        }
+        TeamNameIndex rebuilt = new TeamNameIndex();
+        boolean complete = false;
+        try (Stream<MatchRepository.MatchTeams> rows = matchRepository.streamTeams()) {
+            rows.forEach(row -> {
+                rebuilt.add(row.getTeamA(), row.getId());
+                rebuilt.add(row.getTeamB(), row.getId());
+            });
+            complete = true;
+        } finally {
+            changeLock.lock();
+            try {
+                if (complete) {
+                    changesDuringRebuild.forEach(change -> apply(rebuilt, change));
+                    index = rebuilt;
+                }
+                changesDuringRebuild = null;
+            } finally {
+                changeLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void applyMatchChange(MatchChangedEvent event) {
+        changeLock.lock();
+        try {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(event);
+            }
+            apply(index, event);
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    private static void apply(TeamNameIndex target, MatchChangedEvent event) {
+        if (event.before() != null) {
+            target.remove(event.before().teamA(), event.matchId());
+            target.remove(event.before().teamB(), event.matchId());
+        }
+        if (event.after() != null) {
+            target.add(event.after().teamA(), event.matchId());
+            target.add(event.after().teamB(), event.matchId());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.meko.restapi.util;
+
+import com.meko.restapi.dto.BatchItemResultDTO;
+import jakarta.persistence.PersistenceException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Writes the valid items of a batch in chunks, each in a transaction of its own, so a chunk
+ * that cannot be stored does not undo the chunks committed before it. The items of a failed
+ * chunk are retried one per transaction and only those that fail again are reported, which
+ * keeps the per-item results of a batch request honest. When the caller already runs a
+ * transaction, as an import chunk does, the chunks join it and a failure is rethrown: that
+ * transaction is rolled back anyway.
+ */
+@Slf4j
+public final class BatchChunks {
+
+    private BatchChunks() {
+    }
+
+    /**
+     * @param writer stores the items of one chunk inside its transaction, flushes them and
+     *               returns their results
+     */
+    public static <T> List<BatchItemResultDTO> write(TransactionTemplate transactionTemplate, List<Item<T>> items,
+                                                     int chunkSize, Function<List<Item<T>>, List<BatchItemResultDTO>> writer) {
+        boolean retryable = !TransactionSynchronizationManager.isActualTransactionActive();
+        List<BatchItemResultDTO> results = new ArrayList<>(items.size());
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            List<Item<T>> chunk = items.subList(from, Math.min(items.size(), from + chunkSize));
+            results.addAll(writeChunk(transactionTemplate, chunk, writer, retryable));
+        }
+        return results;
+    }
+
+    private static <T> List<BatchItemResultDTO> writeChunk(TransactionTemplate transactionTemplate, List<Item<T>> chunk,
+                                                           Function<List<Item<T>>, List<BatchItemResultDTO>> writer,
+                                                           boolean retryable) {
+        try {
+            return transactionTemplate.execute(transaction -> writer.apply(chunk));
+        } catch (DataAccessException | PersistenceException ex) {
+            if (!retryable) {
+                throw ex;
+            }
+            if (chunk.size() == 1) {
+                log.warn("Batch item {} could not be stored: {}", chunk.get(0).index(),
+                        NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+                return List.of(BatchItemResultDTO.failed(chunk.get(0).index(), storeFailure(ex)));
+            }
+            log.info("A chunk of {} batch items could not be stored, storing them one by one", chunk.size());
+            List<BatchItemResultDTO> results = new ArrayList<>(chunk.size());
+            for (Item<T> item : chunk) {
+                results.addAll(writeChunk(transactionTemplate, List.of(item), writer, true));
+            }
+            return results;
+        }
+    }
+
+    /**
+     * How an item the database refused is reported: the first line of the root cause
+     */
+    public static String storeFailure(Exception ex) {
+        return "Could not be stored: " + firstLine(NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+    }
+
+    private static String firstLine(String message) {
+        if (message == null) {
+            return "unknown error";
+        }
+        int end = message.indexOf('\n');
+        return end < 0 ? message : message.substring(0, end);
+    }
+
+    /**
+     * A valid item and its position in the request
+     */
+    public record Item<T>(int index, T value) {
+    }
+}
@@ -2,6 +2,8 @@ package com.meko.restapi.util;
 
 import com.meko.restapi.dto.MatchDTO;
 import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.entity.ArchivedMatch;
+import com.meko.restapi.entity.ArchivedMatchOdds;
 import com.meko.restapi.entity.Match;
 import com.meko.restapi.entity.MatchOdds;
 
@@ -41,6 +43,27 @@ public class DtoEntityConverter {
         return dto;
     }
 
+    /**
+     * Convert a Match entity to a MatchDTO using odds that were loaded separately,
+     * without initializing the lazy odds collection
+     */
+    public static MatchDTO convertToDTO(Match match, List<MatchOddsDTO> matchOdds) {
+        if (match == null) {
+            return null;
+        }
+
+        MatchDTO dto = new MatchDTO();
+        dto.setId(match.getId());
+        dto.setDescription(match.getDescription());
+        dto.setMatchDate(match.getMatchDate());
+        dto.setMatchTime(match.getMatchTime());
+        dto.setTeamA(match.getTeamA());
+        dto.setTeamB(match.getTeamB());
+        dto.setSport(match.getSport());
+        dto.setMatchOdds(matchOdds);
+        return dto;
+    }
+
     /**
      * Convert a MatchDTO to a Match entity
      */
@@ -75,6 +98,29 @@ public class DtoEntityConverter {
         return dto;
     }
 
+    /**
+     * Convert an archived match and its archived odds to a MatchDTO
+     */
+    public static MatchDTO convertToDTO(ArchivedMatch match, List<MatchOddsDTO> matchOdds) {
+        MatchDTO dto = new MatchDTO();
+        dto.setId(match.getId());
+        dto.setDescription(match.getDescription());
+        dto.setMatchDate(match.getMatchDate());
+        dto.setMatchTime(match.getMatchTime());
+        dto.setTeamA(match.getTeamA());
+        dto.setTeamB(match.getTeamB());
+        dto.setSport(match.getSport());
+        dto.setMatchOdds(matchOdds);
+        return dto;
+    }
+
+    /**
+     * Convert an ArchivedMatchOdds entity to a MatchOddsDTO
+     */
+    public static MatchOddsDTO convertToDTO(ArchivedMatchOdds matchOdds) {
+        return new MatchOddsDTO(matchOdds.getId(), matchOdds.getMatchId(), matchOdds.getSpecifier(), matchOdds.getOdd());
+    }
+
     /**
      * Convert a MatchOddsDTO to a MatchOdds entity
      * Note: This method doesn't set the Match property, which should be done by the service
@@ -0,0 +1,65 @@
+package com.meko.restapi.util;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Version and modification time of a row, rendered as HTTP validators. The ETag is strong:
+ * every write that changes the representation increments the version, and a format other
+ * than JSON is named in the tag ({@code "version-cbor"}), so no two encodings share a tag.
+ * <p>
+ * Odds updates buffered by write-behind change the representation before they reach the
+ * row. Such a representation carries the sequence number of the latest buffered update in
+ * {@code pending}, rendered as {@code "version+pending"}. Sequence numbers are never
+ * reused, so the tag still names exactly one representation; If-Match never accepts it.
+ */
+public record EntityVersion(long version, Instant lastModified, long pending) {
+
+    public EntityVersion(long version, Instant lastModified) {
+        this(version, lastModified, 0);
+    }
+
+    public String eTag() {
+        return eTag(null);
+    }
+
+    /**
+     * @param format the encoding of the representation, or null for JSON
+     */
+    public String eTag(String format) {
+        String tag = pending == 0 ? String.valueOf(version) : version + "+" + pending;
+        return "\"" + (format == null ? tag : tag + "-" + format) + "\"";
+    }
+
+    /**
+     * If-None-Match uses weak comparison, so a {@code W/} prefix is ignored.
+     */
+    public boolean matchesIfNoneMatch(String ifNoneMatch, String format) {
+        return ifNoneMatch != null && Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(eTag(format)));
+    }
+
+    /**
+     * The version a client expects from an If-Match header: null when the header is absent
+     * or {@code *}, or -1 when it names no version this server could have issued (weak or
+     * foreign tags never match). Every format of a version names the same version.
+     */
+    public static Long fromIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return -1L;
+        }
+        String opaque = tag.substring(1, tag.length() - 1);
+        int format = opaque.indexOf('-');
+        try {
+            return Long.parseLong(format < 0 ? opaque : opaque.substring(0, format));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.meko.restapi.util;
+
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the match list, ordered by (match_date, match_time, id).
+ * Encoded as an opaque URL-safe token so clients cannot depend on its contents.
+ */
+public record MatchCursor(LocalDate matchDate, LocalTime matchTime, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static MatchCursor after(MatchDTO match) {
+        return new MatchCursor(match.getMatchDate(), match.getMatchTime(), match.getId());
+    }
+
+    public String encode() {
+        String raw = matchDate + SEPARATOR + matchTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MatchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 3) {
+                throw new BadRequestException("Invalid cursor: " + token);
+            }
+            return new MatchCursor(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new BadRequestException("Invalid cursor: " + token);
+        }
+    }
+}
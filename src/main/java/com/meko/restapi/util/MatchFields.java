@@ -0,0 +1,113 @@
+package com.meko.restapi.util;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.meko.restapi.enumeration.MatchField;
+import com.meko.restapi.exception.BadRequestException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The parts of a match a client asked for with {@code ?fields=} and {@code ?include=odds}.
+ * Without either parameter a client gets every field and the odds, as before both existed.
+ * The id is always included, so sparse results can still be correlated and paged.
+ */
+public record MatchFields(Set<MatchField> fields, boolean includeOdds) {
+
+    /** Id of the Jackson filter on MatchDTO */
+    public static final String FILTER = "matchFields";
+
+    public static final String ODDS = "odds";
+    private static final String ODDS_PROPERTY = "matchOdds";
+
+    public static final MatchFields ALL = new MatchFields(EnumSet.allOf(MatchField.class), true);
+
+    /** Serializes every property; the default for mappers that write MatchDTO */
+    public static final FilterProvider SERIALIZE_ALL = new SimpleFilterProvider()
+            .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+
+    public MatchFields {
+        EnumSet<MatchField> copy = EnumSet.of(MatchField.ID);
+        copy.addAll(fields);
+        fields = Collections.unmodifiableSet(copy);
+    }
+
+    /**
+     * @param fields  comma-separated MatchDTO properties, {@code matchOdds} included; all of them if absent
+     * @param include comma-separated relations; only {@code odds} is known. Implied when fields is absent
+     */
+    public static MatchFields parse(String fields, String include) {
+        Set<String> included = split(include);
+        for (String relation : included) {
+            if (!relation.equals(ODDS)) {
+                throw new BadRequestException("Unknown include '" + relation + "'; expected " + ODDS);
+            }
+        }
+        Set<String> requested = split(fields);
+        if (requested.isEmpty()) {
+            return ALL;
+        }
+
+        EnumSet<MatchField> selected = EnumSet.noneOf(MatchField.class);
+        boolean odds = !included.isEmpty();
+        for (String property : requested) {
+            if (property.equals(ODDS_PROPERTY)) {
+                odds = true;
+            } else {
+                selected.add(MatchField.fromProperty(property).orElseThrow(() -> new BadRequestException(
+                        "Unknown field '" + property + "'; expected any of " + knownProperties())));
+            }
+        }
+        return new MatchFields(selected, odds);
+    }
+
+    public boolean isAll() {
+        return includeOdds && fields.size() == MatchField.values().length;
+    }
+
+    public boolean includes(MatchField field) {
+        return fields.contains(field);
+    }
+
+    /**
+     * The same selection with some fields added, e.g. those a cursor is built from
+     */
+    public MatchFields with(MatchField... more) {
+        EnumSet<MatchField> combined = EnumSet.copyOf(fields);
+        combined.addAll(Arrays.asList(more));
+        return new MatchFields(combined, includeOdds);
+    }
+
+    /**
+     * Writes only the selected properties of every MatchDTO in a response
+     */
+    public FilterProvider filters() {
+        Set<String> properties = fields.stream().map(MatchField::getProperty)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (includeOdds) {
+            properties.add(ODDS_PROPERTY);
+        }
+        return new SimpleFilterProvider().addFilter(FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(properties));
+    }
+
+    private static Set<String> split(String value) {
+        if (value == null) {
+            return Set.of();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(part -> !part.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static String knownProperties() {
+        return Arrays.stream(MatchField.values()).map(MatchField::getProperty).collect(Collectors.joining(", "))
+                + ", " + ODDS_PROPERTY;
+    }
+}
@@ -0,0 +1,207 @@
+package com.meko.restapi.util;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Current odds of every match, held in primitive arrays instead of entities or DTOs.
+ * Each match maps to an immutable {@code long[]} with {@link #STRIDE} slots per odds entry:
+ * <pre>
+ *   [i]     odds id
+ *   [i + 1] row version
+ *   [i + 2] specifier code, or -(deletion time in millis) for a deleted entry
+ *   [i + 3] fixed-point odd ({@link OddsTickCodec#SCALE})
+ * </pre>
+ * Specifiers are interned into a small dictionary, so reads hand out shared strings and
+ * allocate nothing per entry. Writers replace the array of one match atomically; readers
+ * never lock.
+ * <p>
+ * Changes may be applied in a different order than they were committed, so an entry only
+ * moves to a higher row version. Deleted odds and matches are remembered for
+ * {@link #TOMBSTONE_TTL_MILLIS} to stop a late create or update from bringing them back.
+ */
+public class OddsBoard {
+
+    public static final int STRIDE = 4;
+    public static final long TOMBSTONE_TTL_MILLIS = 60_000;
+
+    private static final long[] EMPTY = new long[0];
+
+    private final Map<Long, long[]> odds = new ConcurrentHashMap<>();
+    private final Map<Long, Long> deletedMatches = new ConcurrentHashMap<>();
+    private final Map<String, Integer> specifierCodes = new ConcurrentHashMap<>();
+    private volatile String[] specifiers = new String[0];
+    private volatile long lastTombstonePrune;
+
+    @FunctionalInterface
+    public interface OddsConsumer {
+        void accept(long matchId, long oddsId, String specifier, double odd);
+    }
+
+    /**
+     * Adds or replaces an odds entry, unless the board already holds a later version of it
+     */
+    public void put(long matchId, long oddsId, long version, String specifier, double odd) {
+        int code = code(specifier);
+        long fixedPoint = OddsTickCodec.toFixedPoint(odd);
+        write(matchId, oddsId, version, code, fixedPoint);
+    }
+
+    /**
+     * Removes an odds entry, keeping a tombstone so that an older write arriving later is ignored
+     */
+    public void remove(long matchId, long oddsId, long version) {
+        write(matchId, oddsId, version, -System.currentTimeMillis(), 0);
+    }
+
+    public void removeMatch(long matchId) {
+        long now = System.currentTimeMillis();
+        deletedMatches.put(matchId, now);
+        odds.remove(matchId);
+        if (now - lastTombstonePrune > TOMBSTONE_TTL_MILLIS) {
+            lastTombstonePrune = now;
+            deletedMatches.values().removeIf(deletedAt -> now - deletedAt > TOMBSTONE_TTL_MILLIS);
+        }
+    }
+
+    /**
+     * Passes every live odds entry of a match to the consumer, in insertion order
+     *
+     * @return the number of entries passed
+     */
+    public int forEachOdds(long matchId, OddsConsumer consumer) {
+        long[] entries = odds.get(matchId);
+        return entries == null ? 0 : forEach(matchId, entries, specifiers, consumer);
+    }
+
+    /**
+     * Passes every live odds entry of the board to the consumer, grouped by match
+     */
+    public void forEachOdds(OddsConsumer consumer) {
+        // the dictionary is read after each array, so it covers every code the array uses
+        odds.forEach((matchId, entries) -> forEach(matchId, entries, specifiers, consumer));
+    }
+
+    /**
+     * Whether the board holds a live entry for the odds under that match
+     */
+    public boolean contains(long matchId, long oddsId) {
+        return specifierOf(matchId, oddsId) != null;
+    }
+
+    /**
+     * The specifier of the odds under that match, or null if the board holds no live entry for them
+     */
+    public String specifierOf(long matchId, long oddsId) {
+        long[] entries = odds.get(matchId);
+        if (entries != null) {
+            String[] names = specifiers;
+            for (int i = 0; i < entries.length; i += STRIDE) {
+                if (entries[i] == oddsId) {
+                    return entries[i + 2] >= 0 ? names[(int) entries[i + 2]] : null;
+                }
+            }
+        }
+        return null;
+    }
+
+    public int matchCount() {
+        return odds.size();
+    }
+
+    private void write(long matchId, long oddsId, long version, long code, long fixedPoint) {
+        long now = System.currentTimeMillis();
+        // checked inside compute: removeMatch records the match before removing its array,
+        // so a write that runs after the removal always sees it
+        odds.compute(matchId, (id, entries) -> deletedMatches.containsKey(matchId)
+                ? entries
+                : write(entries, oddsId, version, code, fixedPoint, now));
+    }
+
+    private static int forEach(long matchId, long[] entries, String[] names, OddsConsumer consumer) {
+        int count = 0;
+        for (int i = 0; i < entries.length; i += STRIDE) {
+            long code = entries[i + 2];
+            if (code >= 0) {
+                consumer.accept(matchId, entries[i], names[(int) code], OddsTickCodec.fromFixedPoint(entries[i + 3]));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Copy of {@code entries} with the entry for {@code oddsId} set, minus expired tombstones.
+     * Returns {@code entries} itself when the write is older than what is already there.
+     */
+    private static long[] write(long[] entries, long oddsId, long version, long code, long fixedPoint, long now) {
+        if (entries == null) {
+            entries = EMPTY;
+        }
+        int existing = -1;
+        int expired = 0;
+        for (int i = 0; i < entries.length; i += STRIDE) {
+            if (entries[i] == oddsId) {
+                existing = i;
+            } else if (isExpiredTombstone(entries[i + 2], now)) {
+                expired++;
+            }
+        }
+        if (existing >= 0) {
+            long current = entries[existing + 1];
+            boolean currentDeleted = entries[existing + 2] < 0;
+            // a delete carries the final version of the row, so it wins over a write of the same version
+            if (version < current || version == current && (currentDeleted || code >= 0)) {
+                return entries;
+            }
+        }
+
+        int size = entries.length / STRIDE - expired + (existing >= 0 ? 0 : 1);
+        long[] written = new long[size * STRIDE];
+        int j = 0;
+        for (int i = 0; i < entries.length; i += STRIDE) {
+            if (i == existing) {
+                set(written, j, oddsId, version, code, fixedPoint);
+                j += STRIDE;
+            } else if (!isExpiredTombstone(entries[i + 2], now)) {
+                System.arraycopy(entries, i, written, j, STRIDE);
+                j += STRIDE;
+            }
+        }
+        if (existing < 0) {
+            set(written, j, oddsId, version, code, fixedPoint);
+        }
+        return written;
+    }
+
+    private static void set(long[] entries, int i, long oddsId, long version, long code, long fixedPoint) {
+        entries[i] = oddsId;
+        entries[i + 1] = version;
+        entries[i + 2] = code;
+        entries[i + 3] = fixedPoint;
+    }
+
+    private static boolean isExpiredTombstone(long code, long now) {
+        return code < 0 && now + code > TOMBSTONE_TTL_MILLIS;
+    }
+
+    private int code(String specifier) {
+        Integer code = specifierCodes.get(specifier);
+        if (code != null) {
+            return code;
+        }
+        synchronized (specifierCodes) {
+            code = specifierCodes.get(specifier);
+            if (code == null) {
+                String[] grown = Arrays.copyOf(specifiers, specifiers.length + 1);
+                code = specifiers.length;
+                grown[code] = specifier;
+                // publish the name before its code, so a reader never sees a code it cannot resolve
+                specifiers = grown;
+                specifierCodes.put(specifier, code);
+            }
+            return code;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.meko.restapi.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of odds updates that have been acknowledged but not yet written to the
+ * database. Records go to numbered segment files; {@link #rotate()} starts a new segment, and
+ * once everything in the older segments is in the database they are removed with
+ * {@link #deleteBefore(long)}.
+ * <p>
+ * Each record is stored as {@code length, crc32, payload}. A record cut short by a crash fails
+ * its length or checksum, which ends the replay of that segment.
+ * <p>
+ * Appending only writes to the page cache; {@link #sync(long)} forces it to the device. One
+ * force covers every record appended before it starts, so appenders that sync at the same
+ * time share it (group commit) instead of forcing once each.
+ * <p>
+ * Callers serialize {@link #append}, {@link #rotate} and {@link #deleteBefore}; {@link #sync}
+ * may run concurrently with them.
+ */
+public class OddsJournal implements Closeable {
+
+    public record Entry(long oddsId, long matchId, String specifier, double odd) {
+    }
+
+    private static final String PREFIX = "odds-";
+    private static final String SUFFIX = ".journal";
+
+    private final Path directory;
+    private final boolean sync;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(64);
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private long segment;
+    // replaced only while holding syncLock as well
+    private FileChannel channel;
+    private volatile long appended;
+    // guarded by syncLock
+    private long synced;
+
+    /**
+     * Opens the journal in {@code directory} with a new segment after any existing ones
+     *
+     * @param sync whether {@link #sync(long)} forces appended records to the storage device
+     */
+    public OddsJournal(Path directory, boolean sync) throws IOException {
+        this.directory = directory;
+        this.sync = sync;
+        Files.createDirectories(directory);
+        segment = segments().stream().mapToLong(Long::longValue).max().orElse(0) + 1;
+        channel = open(segment);
+    }
+
+    /**
+     * Entries of every segment older than the current one, oldest first
+     */
+    public List<Entry> replay() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        for (long older : segments()) {
+            if (older < segment) {
+                read(Files.readAllBytes(path(older)), entries);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Writes the entry without forcing it to the device
+     *
+     * @return the number of the record, to pass to {@link #sync(long)}
+     */
+    public long append(Entry entry) throws IOException {
+        buffer.reset();
+        DataOutputStream payload = new DataOutputStream(buffer);
+        payload.writeLong(entry.oddsId());
+        payload.writeLong(entry.matchId());
+        payload.writeUTF(entry.specifier());
+        payload.writeDouble(entry.odd());
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.toByteArray());
+        ByteBuffer record = ByteBuffer.allocate(8 + buffer.size())
+                .putInt(buffer.size())
+                .putInt((int) crc.getValue())
+                .put(buffer.toByteArray())
+                .flip();
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+        return ++appended;
+    }
+
+    /**
+     * Returns once the given record, and every record before it, is on the storage device.
+     * A force already running when the caller arrives may not cover its record, so the
+     * caller waits for it and then forces once more for everyone who arrived meanwhile.
+     */
+    public void sync(long record) throws IOException {
+        if (!sync) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (synced >= record) {
+                return;
+            }
+            long upTo = appended;
+            channel.force(false);
+            synced = upTo;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Closes the current segment and starts the next one
+     *
+     * @return the number of the new segment; every earlier segment is complete from now on
+     */
+    public long rotate() throws IOException {
+        syncLock.lock();
+        try {
+            // records of the closed segment cannot be forced through the new channel
+            if (sync) {
+                channel.force(false);
+            }
+            synced = appended;
+            channel.close();
+            channel = open(++segment);
+            return segment;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    public void deleteBefore(long segment) throws IOException {
+        for (long older : segments()) {
+            if (older < segment) {
+                Files.deleteIfExists(path(older));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        syncLock.lock();
+        try {
+            channel.close();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private static void read(byte[] bytes, List<Entry> entries) throws IOException {
+        ByteBuffer segment = ByteBuffer.wrap(bytes);
+        while (segment.remaining() >= 8) {
+            int length = segment.getInt();
+            int checksum = segment.getInt();
+            if (length < 0 || length > segment.remaining()) {
+                return;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(bytes, segment.position(), length);
+            if ((int) crc.getValue() != checksum) {
+                return;
+            }
+            DataInputStream payload = new DataInputStream(new ByteArrayInputStream(bytes, segment.position(), length));
+            entries.add(new Entry(payload.readLong(), payload.readLong(), payload.readUTF(), payload.readDouble()));
+            segment.position(segment.position() + length);
+        }
+    }
+
+    private List<Long> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path path(long segment) {
+        return directory.resolve(String.format("%s%012d%s", PREFIX, segment, SUFFIX));
+    }
+
+    private FileChannel open(long segment) throws IOException {
+        return FileChannel.open(path(segment), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,99 @@
+package com.meko.restapi.util;
+
+import java.util.Arrays;
+
+/**
+ * Compact encoding of an odds time series. Each tick is stored as two zig-zag varints:
+ * the timestamp delta in milliseconds and the odd delta in fixed-point units, both relative
+ * to the previous tick. Typical live ticks take 2-4 bytes instead of a full row.
+ */
+public class OddsTickCodec {
+
+    /** Odds are kept with four decimal places. */
+    public static final long SCALE = 10_000L;
+
+    private static final int MAX_TICK_BYTES = 20;
+
+    @FunctionalInterface
+    public interface TickConsumer {
+        void accept(long epochMillis, long oddFixedPoint);
+    }
+
+    public static long toFixedPoint(double odd) {
+        return Math.round(odd * SCALE);
+    }
+
+    public static double fromFixedPoint(long fixedPoint) {
+        return fixedPoint / (double) SCALE;
+    }
+
+    /**
+     * Returns a new payload with one tick appended, given the deltas from the previous tick
+     * (or from the chunk start and zero for the first tick).
+     */
+    public static byte[] append(byte[] payload, long millisDelta, long oddDelta) {
+        byte[] buffer = new byte[MAX_TICK_BYTES];
+        int length = writeVarLong(buffer, 0, zigZag(millisDelta));
+        length = writeVarLong(buffer, length, zigZag(oddDelta));
+
+        int offset = payload == null ? 0 : payload.length;
+        byte[] result = payload == null ? new byte[length] : Arrays.copyOf(payload, offset + length);
+        System.arraycopy(buffer, 0, result, offset, length);
+        return result;
+    }
+
+    /**
+     * Replays every tick of a payload whose first tick is relative to {@code startMillis}.
+     */
+    public static void decode(byte[] payload, long startMillis, TickConsumer consumer) {
+        long millis = startMillis;
+        long odd = 0;
+        int position = 0;
+        while (position < payload.length) {
+            long[] read = readVarLong(payload, position);
+            millis += unZigZag(read[0]);
+            position = (int) read[1];
+
+            read = readVarLong(payload, position);
+            odd += unZigZag(read[0]);
+            position = (int) read[1];
+
+            consumer.accept(millis, odd);
+        }
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int writeVarLong(byte[] buffer, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+
+    /**
+     * @return the decoded value and the position after it
+     */
+    private static long[] readVarLong(byte[] buffer, int position) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (position >= buffer.length) {
+                throw new IllegalArgumentException("Truncated odds history payload");
+            }
+            b = buffer[position++];
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return new long[]{value, position};
+    }
+}
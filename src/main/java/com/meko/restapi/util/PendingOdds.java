@@ -0,0 +1,114 @@
+package com.meko.restapi.util;
+
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.dto.MatchOddsDTO;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Odds updates accepted by write-behind but not yet in the database, as seen at one moment,
+ * keyed by odds id. Take the snapshot before reading the rows it is applied to: an update
+ * leaves the buffer only after its row has committed, so the rows read afterwards already
+ * hold every update the snapshot is missing.
+ */
+public final class PendingOdds {
+
+    public record Update(long oddsId, long matchId, String specifier, double odd, long sequence, Instant acceptedAt) {
+
+        /**
+         * Updates only carry new odd values; one whose row a synchronous write has since given
+         * another specifier is superseded by that write
+         */
+        boolean appliesTo(long matchId, String specifier) {
+            return this.matchId == matchId && this.specifier.equals(specifier);
+        }
+    }
+
+    public static final PendingOdds EMPTY = new PendingOdds(Map.of());
+
+    private final Map<Long, Update> updates;
+
+    public PendingOdds(Map<Long, Update> updates) {
+        this.updates = updates;
+    }
+
+    public boolean isEmpty() {
+        return updates.isEmpty();
+    }
+
+    public MatchOddsDTO apply(MatchOddsDTO odds) {
+        Update update = updates.get(odds.getId());
+        if (update == null || !update.appliesTo(odds.getMatchId(), odds.getSpecifier())) {
+            return odds;
+        }
+        return new MatchOddsDTO(odds.getId(), odds.getMatchId(), odds.getSpecifier(), update.odd());
+    }
+
+    public List<MatchOddsDTO> apply(List<MatchOddsDTO> odds) {
+        return isEmpty() ? odds : odds.stream().map(this::apply).toList();
+    }
+
+    /**
+     * Replaces the odds of the match in place
+     */
+    public MatchDTO apply(MatchDTO match) {
+        if (!isEmpty() && match.getMatchOdds() != null) {
+            match.setMatchOdds(apply(match.getMatchOdds()));
+        }
+        return match;
+    }
+
+    public OddsBoard.OddsConsumer apply(OddsBoard.OddsConsumer consumer) {
+        if (isEmpty()) {
+            return consumer;
+        }
+        return (matchId, oddsId, specifier, odd) -> {
+            Update update = updates.get(oddsId);
+            if (update != null && update.appliesTo(matchId, specifier)) {
+                consumer.accept(matchId, oddsId, specifier, update.odd());
+            } else {
+                consumer.accept(matchId, oddsId, specifier, odd);
+            }
+        };
+    }
+
+    /**
+     * The version of a match whose odds list includes its buffered updates
+     */
+    public EntityVersion applyToMatch(long matchId, EntityVersion version) {
+        Update latest = null;
+        for (Update update : updates.values()) {
+            if (update.matchId() == matchId && (latest == null || update.sequence() > latest.sequence())) {
+                latest = update;
+            }
+        }
+        return latest == null ? version : withUpdate(version, latest);
+    }
+
+    public EntityVersion applyToOdds(long oddsId, EntityVersion version) {
+        Update update = updates.get(oddsId);
+        return update == null ? version : withUpdate(version, update);
+    }
+
+    /**
+     * Equal snapshots hold the same updates, so reads applying them give the same result
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof PendingOdds pending && updates.equals(pending.updates);
+    }
+
+    @Override
+    public int hashCode() {
+        return updates.hashCode();
+    }
+
+    private static EntityVersion withUpdate(EntityVersion version, Update update) {
+        Instant lastModified = version.lastModified() == null || version.lastModified().isAfter(update.acceptedAt())
+                ? version.lastModified()
+                : update.acceptedAt();
+        return new EntityVersion(version.version(), lastModified, update.sequence());
+    }
+}
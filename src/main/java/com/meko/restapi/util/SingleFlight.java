@@ -0,0 +1,113 @@
+package com.meko.restapi.util;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent loads of the same key into one. The first caller runs the loader on its
+ * own thread and every caller that arrives while it runs waits for that result instead of
+ * loading again; nothing is kept once the load has finished, so this is not a cache. A caller
+ * that has waited longer than the timeout gives up on the flight and loads by itself, and a
+ * failed load fails every caller that shared it. As in CallerLoadingCaffeineCache no lock is
+ * held while loading, so waiting virtual threads are not pinned.
+ */
+public class SingleFlight<K, V> implements MeterBinder {
+
+    private final String name;
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder collapsed = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public SingleFlight(String name) {
+        this.name = name;
+    }
+
+    public V load(K key, Duration timeout, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            collapsed.increment();
+            try {
+                return leader.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException ex) {
+                throw rethrow(ex.getCause());
+            } catch (TimeoutException ex) {
+                timeouts.increment();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return loader.get();
+        }
+
+        loads.increment();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (Throwable ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Callers arriving after this start a new load for the matching keys; those already
+     * waiting still get the result of the load they joined
+     */
+    public void forget(Predicate<? super K> keys) {
+        inFlight.keySet().removeIf(keys);
+    }
+
+    public long getLoads() {
+        return loads.sum();
+    }
+
+    public long getCollapsed() {
+        return collapsed.sum();
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("singleflight.loads", loads, LongAdder::sum)
+                .description("Loads run by the first caller for a key")
+                .tag("name", name)
+                .register(registry);
+        FunctionCounter.builder("singleflight.collapsed", collapsed, LongAdder::sum)
+                .description("Callers that waited for a load already in flight instead of running their own")
+                .tag("name", name)
+                .register(registry);
+        FunctionCounter.builder("singleflight.timeouts", timeouts, LongAdder::sum)
+                .description("Waiting callers that gave up on the flight and loaded by themselves")
+                .tag("name", name)
+                .register(registry);
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+}
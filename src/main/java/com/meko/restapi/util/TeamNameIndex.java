@@ -0,0 +1,271 @@
+package com.meko.restapi.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory prefix index of team names for autocomplete. Names are folded (accents removed,
+ * lower case, punctuation collapsed) and every word start of a folded name is a key in one
+ * sorted array, so a lookup is a binary search followed by a scan of the matching keys.
+ * <p>
+ * Readers never lock: the sorted keys are an immutable snapshot, replaced only when a team
+ * appears or disappears, and each team publishes its match ids through an immutable view.
+ * Writers are serialized by a lock. Adding or removing the same (team, match) twice is a no-op.
+ */
+public class TeamNameIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    public record Suggestion(String team, long[] matchIds) {
+    }
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Map<String, Team> teams = new HashMap<>();
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new Team[0]);
+
+    /**
+     * Folds a name or query for comparison: "Ολυμπιακός F.C." and "olympiakos fc" style
+     * variants differ only in the characters that matter.
+     */
+    public static String fold(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        String folded = SEPARATORS.matcher(MARKS.matcher(decomposed).replaceAll(""))
+                .replaceAll(" ")
+                .toLowerCase(java.util.Locale.ROOT)
+                .replace('ς', 'σ');
+        return folded.trim();
+    }
+
+    public void add(String team, long matchId) {
+        if (team == null || fold(team).isEmpty()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            Team entry = teams.get(team);
+            if (entry == null) {
+                entry = new Team(team, fold(team));
+                teams.put(team, entry);
+                snapshot = snapshot.with(entry);
+            }
+            entry.add(matchId);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void remove(String team, long matchId) {
+        if (team == null) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            Team entry = teams.get(team);
+            if (entry != null && entry.remove(matchId) && entry.ids.size == 0) {
+                teams.remove(team);
+                snapshot = snapshot.without(entry);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public int size() {
+        return snapshot.teamCount;
+    }
+
+    /**
+     * Teams with a name or word starting with the folded prefix. Ranked by: exact name, name
+     * prefix, word prefix; then by number of matches (descending) and name.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String folded = prefix == null ? "" : fold(prefix);
+        if (folded.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        Snapshot current = snapshot;
+        // Bounded top-N kept sorted best first, so a short prefix matching thousands of
+        // teams costs a scan and a few comparisons per candidate, not a sort
+        Ranked[] top = new Ranked[limit];
+        int size = 0;
+        for (int i = current.lowerBound(folded); i < current.keys.length && current.keys[i].startsWith(folded); i++) {
+            Team team = current.teams[i];
+            int rank = !current.keys[i].equals(team.folded) ? 2 : team.folded.length() == folded.length() ? 0 : 1;
+            Ids ids = team.ids;
+            if (size == limit && compare(rank, ids.size, team, top[size - 1]) >= 0) {
+                continue;
+            }
+            Ranked candidate = new Ranked(team, rank, ids);
+            int existing = indexOf(top, size, team);
+            if (existing >= 0) {
+                if (top[existing].rank <= rank) {
+                    continue;
+                }
+                System.arraycopy(top, existing + 1, top, existing, --size - existing);
+            }
+            int insertAt = size == limit ? size - 1 : size++;
+            while (insertAt > 0 && compare(rank, ids.size, team, top[insertAt - 1]) < 0) {
+                top[insertAt] = top[insertAt - 1];
+                insertAt--;
+            }
+            top[insertAt] = candidate;
+        }
+
+        List<Suggestion> suggestions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            suggestions.add(new Suggestion(top[i].team.name, Arrays.copyOf(top[i].ids.values, top[i].ids.size)));
+        }
+        return suggestions;
+    }
+
+    private static int indexOf(Ranked[] ranked, int size, Team team) {
+        for (int i = 0; i < size; i++) {
+            if (ranked[i].team == team) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int compare(int rank, int matchCount, Team team, Ranked other) {
+        if (rank != other.rank) {
+            return Integer.compare(rank, other.rank);
+        }
+        if (matchCount != other.ids.size) {
+            return Integer.compare(other.ids.size, matchCount);
+        }
+        return team.name.compareTo(other.team.name);
+    }
+
+    private record Ranked(Team team, int rank, Ids ids) {
+    }
+
+    /**
+     * Sorted match ids; only the first {@code size} values are valid. Appends reuse the array
+     * when there is room, which is safe because readers of an older view never look past its size.
+     */
+    private record Ids(long[] values, int size) {
+    }
+
+    private static final class Team {
+
+        private final String name;
+        private final String folded;
+        private volatile Ids ids = new Ids(new long[2], 0);
+
+        private Team(String name, String folded) {
+            this.name = name;
+            this.folded = folded;
+        }
+
+        private void add(long matchId) {
+            Ids current = ids;
+            int position = Arrays.binarySearch(current.values, 0, current.size, matchId);
+            if (position >= 0) {
+                return;
+            }
+            int insertAt = -position - 1;
+            if (insertAt == current.size && current.size < current.values.length) {
+                current.values[current.size] = matchId;
+                ids = new Ids(current.values, current.size + 1);
+                return;
+            }
+            long[] values = new long[Math.max(current.size + 1, current.values.length * 2)];
+            System.arraycopy(current.values, 0, values, 0, insertAt);
+            values[insertAt] = matchId;
+            System.arraycopy(current.values, insertAt, values, insertAt + 1, current.size - insertAt);
+            ids = new Ids(values, current.size + 1);
+        }
+
+        private boolean remove(long matchId) {
+            Ids current = ids;
+            int position = Arrays.binarySearch(current.values, 0, current.size, matchId);
+            if (position < 0) {
+                return false;
+            }
+            long[] values = new long[current.values.length];
+            System.arraycopy(current.values, 0, values, 0, position);
+            System.arraycopy(current.values, position + 1, values, position, current.size - position - 1);
+            ids = new Ids(values, current.size - 1);
+            return true;
+        }
+
+        /**
+         * The folded name and every suffix of it that starts a word
+         */
+        private String[] keys() {
+            List<String> keys = new ArrayList<>();
+            keys.add(folded);
+            for (int i = folded.indexOf(' '); i >= 0; i = folded.indexOf(' ', i + 1)) {
+                keys.add(folded.substring(i + 1));
+            }
+            return keys.toArray(String[]::new);
+        }
+    }
+
+    private static final class Snapshot {
+
+        private final String[] keys;
+        private final Team[] teams;
+        private final int teamCount;
+
+        private Snapshot(String[] keys, Team[] teams) {
+            this.keys = keys;
+            this.teams = teams;
+            this.teamCount = (int) Arrays.stream(teams).distinct().count();
+        }
+
+        private int lowerBound(String key) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid].compareTo(key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private Snapshot with(Team team) {
+            String[] added = team.keys();
+            Arrays.sort(added);
+            String[] mergedKeys = new String[keys.length + added.length];
+            Team[] mergedTeams = new Team[mergedKeys.length];
+            int i = 0;
+            int j = 0;
+            for (int k = 0; k < mergedKeys.length; k++) {
+                if (j == added.length || (i < keys.length && keys[i].compareTo(added[j]) <= 0)) {
+                    mergedKeys[k] = keys[i];
+                    mergedTeams[k] = teams[i++];
+                } else {
+                    mergedKeys[k] = added[j++];
+                    mergedTeams[k] = team;
+                }
+            }
+            return new Snapshot(mergedKeys, mergedTeams);
+        }
+
+        private Snapshot without(Team team) {
+            String[] remainingKeys = new String[keys.length];
+            Team[] remainingTeams = new Team[teams.length];
+            int size = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (teams[i] != team) {
+                    remainingKeys[size] = keys[i];
+                    remainingTeams[size++] = teams[i];
+                }
+            }
+            return new Snapshot(Arrays.copyOf(remainingKeys, size), Arrays.copyOf(remainingTeams, size));
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.meko.restapi.util;
+
+import com.meko.restapi.enumeration.UpsertOutcome;
+
+/**
+ * A value written by an upsert, with the version it was written at and whether its row was
+ * created, updated or left as it was
+ */
+public record Upserted<T>(T value, EntityVersion version, UpsertOutcome outcome) {
+}
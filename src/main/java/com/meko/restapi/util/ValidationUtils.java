@@ -0,0 +1,26 @@
+package com.meko.restapi.util;
+
+import jakarta.validation.ConstraintViolation;
+
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * Helpers for validating items programmatically, where a single invalid item
+ * must be reported rather than fail the whole request.
+ */
+public class ValidationUtils {
+
+    /**
+     * Render violations as "field: message" pairs, or null when there are none
+     */
+    public static String describe(Collection<? extends ConstraintViolation<?>> violations) {
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,8 @@
+package com.meko.restapi.util;
+
+/**
+ * A value together with the version of the rows it was read from. The value is never older
+ * than the version.
+ */
+public record Versioned<T>(T value, EntityVersion version) {
+}
@@ -0,0 +1,10 @@
+-- Highest change log sequence number the retention purge has removed. A change token older
+-- than this may have skipped purged entries, so the feed refuses it and the client resyncs.
+
+create table change_log_purge (
+    id             integer not null,
+    purged_through bigint  not null,
+    primary key (id)
+);
+
+insert into change_log_purge (id, purged_through) values (1, 0);
@@ -0,0 +1,42 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update).
+-- Databases it created are baselined at version 0 (spring.flyway.baseline-on-migrate), so this
+-- runs on them too and only adds what they lack; V1_1 then converts the tables it kept.
+
+create sequence if not exists matches_seq start with 1 increment by 50;
+create sequence if not exists match_odds_seq start with 1 increment by 50;
+create sequence if not exists odds_history_chunks_seq start with 1 increment by 50;
+
+create table if not exists matches (
+    id          bigint       not null,
+    description varchar(255) not null,
+    match_date  date         not null,
+    match_time  time(6)      not null,
+    team_a      varchar(255) not null,
+    team_b      varchar(255) not null,
+    sport       varchar(255) not null check (sport in ('FOOTBALL', 'BASKETBALL')),
+    primary key (id)
+);
+
+create table if not exists match_odds (
+    id        bigint       not null,
+    match_id  bigint       not null,
+    specifier varchar(255) not null,
+    odd       float(53)    not null,
+    primary key (id),
+    constraint fk_match_odds_match foreign key (match_id) references matches (id)
+);
+
+create table if not exists odds_history_chunks (
+    id          bigint                      not null,
+    match_id    bigint                      not null,
+    specifier   varchar(255)                not null,
+    first_ts    timestamp(6) with time zone not null,
+    last_ts     timestamp(6) with time zone not null,
+    tick_count  integer                     not null,
+    last_odd_fp bigint                      not null,
+    payload     bytea                       not null,
+    primary key (id)
+);
+
+create index if not exists idx_matches_kickoff on matches (match_date, match_time, id);
+create index if not exists idx_odds_history_match_spec_ts on odds_history_chunks (match_id, specifier, first_ts);
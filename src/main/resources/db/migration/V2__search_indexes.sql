@@ -0,0 +1,12 @@
+-- Indexes for GET /api/matches/search and odds lookups. Each match index ends with the
+-- keyset order (match_date, match_time, id), so a filtered page is a single range scan.
+
+-- Odds by match: GET /api/match-odds/match/{id}, batch fetching, cascading deletes
+create index idx_match_odds_match_id on match_odds (match_id);
+
+-- sport [+ date range] [+ kickoff window]
+create index idx_matches_sport_kickoff on matches (sport, match_date, match_time, id);
+
+-- team on either side; PostgreSQL combines both with a BitmapOr
+create index idx_matches_team_a_kickoff on matches (team_a, match_date, match_time, id);
+create index idx_matches_team_b_kickoff on matches (team_b, match_date, match_time, id);
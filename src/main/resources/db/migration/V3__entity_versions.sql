@@ -0,0 +1,6 @@
+-- Optimistic locking and HTTP validators (ETag / Last-Modified).
+-- A match's version is also bumped by every change to its odds.
+
+alter table matches add column version bigint not null default 0;
+alter table matches add column last_modified timestamp(6) with time zone not null default current_timestamp;
+alter table match_odds add column version bigint not null default 0;
@@ -0,0 +1,21 @@
+-- Change feed (GET /api/changes). Sequence numbers are taken from change_log_head at the
+-- end of each writing transaction, so they are assigned in commit order and a reader that
+-- has seen seq N never misses a later commit with a smaller number.
+
+create table change_log (
+    seq         bigint                      not null,
+    entity_type varchar(20)                 not null check (entity_type in ('MATCH', 'MATCH_ODDS')),
+    entity_id   bigint                      not null,
+    match_id    bigint                      not null,
+    change_type varchar(20)                 not null check (change_type in ('CREATED', 'UPDATED', 'DELETED')),
+    changed_at  timestamp(6) with time zone not null,
+    primary key (seq)
+);
+
+create table change_log_head (
+    id       integer not null,
+    last_seq bigint  not null,
+    primary key (id)
+);
+
+insert into change_log_head (id, last_seq) values (1, 0);
@@ -0,0 +1,33 @@
+-- Bulk imports (POST /api/imports/...). Each chunk commits its rows together with the
+-- progress of its job, so an interrupted import resumes after the last committed chunk.
+
+create sequence import_jobs_seq start with 1 increment by 50;
+create sequence import_rejections_seq start with 1 increment by 50;
+
+create table import_jobs (
+    id             bigint                      not null,
+    kind           varchar(20)                 not null check (kind in ('MATCHES', 'MATCH_ODDS')),
+    format         varchar(20)                 not null check (format in ('CSV', 'NDJSON')),
+    source         varchar(255),
+    status         varchar(20)                 not null check (status in ('RUNNING', 'COMPLETED', 'FAILED')),
+    chunk_size     integer                     not null,
+    rows_processed bigint                      not null,
+    succeeded      bigint                      not null,
+    rejected       bigint                      not null,
+    error          varchar(1000),
+    started_at     timestamp(6) with time zone not null,
+    updated_at     timestamp(6) with time zone not null,
+    version        bigint                      not null,
+    primary key (id)
+);
+
+create table import_rejections (
+    id          bigint        not null,
+    job_id      bigint        not null,
+    line_number bigint        not null,
+    message     varchar(1000) not null,
+    primary key (id),
+    constraint fk_import_rejections_job foreign key (job_id) references import_jobs (id)
+);
+
+create index idx_import_rejections_job_line on import_rejections (job_id, line_number);
@@ -0,0 +1,13 @@
+-- Feeds address a price by match and specifier. Make that pair unique so odds can be
+-- upserted by it (PUT /api/match-odds/by-key).
+
+-- Older rows for the same match and specifier were shadowed by the newest one; keep only that
+delete from match_odds o
+where exists (select 1
+              from match_odds newer
+              where newer.match_id = o.match_id
+                and newer.specifier = o.specifier
+                and newer.id > o.id);
+
+alter table match_odds add constraint uk_match_odds_match_specifier unique (match_id, specifier);
+
@@ -0,0 +1,16 @@
+-- Ticks are recorded as one small row each and packed into odds_history_chunks in the
+-- background, so a price change no longer locks and rewrites the latest chunk of its series.
+
+create sequence odds_history_ticks_seq start with 1 increment by 50;
+
+create table odds_history_ticks (
+    id         bigint                      not null,
+    match_id   bigint                      not null,
+    specifier  varchar(255)                not null,
+    ts         timestamp(6) with time zone not null,
+    odd_fp     bigint                      not null,
+    new_series boolean                     not null,
+    primary key (id)
+);
+
+create index idx_odds_history_ticks_match on odds_history_ticks (match_id, ts);
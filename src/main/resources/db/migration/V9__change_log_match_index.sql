@@ -0,0 +1,4 @@
+-- Deleting, archiving or purging a match also removes its change log entries, so they are
+-- looked up by match.
+
+create index idx_change_log_match on change_log (match_id);
@@ -0,0 +1,107 @@
+package com.meko.restapi;
+
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.enumeration.Sport;
+import com.meko.restapi.service.MatchOddsService;
+import com.meko.restapi.service.MatchService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the application on a database laid out by the former ddl-auto=update: identity ids,
+ * no sequences and no odds history table, with rows already in it. Flyway has to bring it to the
+ * current schema before Hibernate validates it, and new ids must not collide with the old ones.
+ */
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:ddlautodb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH")
+@ActiveProfiles("test")
+@DirtiesContext
+class DdlAutoSchemaMigrationTests {
+
+    private static final String[] DDL_AUTO_SCHEMA = {
+            """
+            create table matches (match_date date not null, match_time time(6) not null,
+                id bigint generated by default as identity, description varchar(255) not null,
+                sport varchar(255) not null check (sport in ('FOOTBALL','BASKETBALL')),
+                team_a varchar(255) not null, team_b varchar(255) not null, primary key (id))""",
+            """
+            create table match_odds (odd float(53) not null, id bigint generated by default as identity,
+                match_id bigint not null, specifier varchar(255) not null, primary key (id))""",
+            "alter table match_odds add constraint FKbq5cxqyvr0yxmw4g3bkkp5hmh foreign key (match_id) references matches",
+            """
+            insert into matches (description, match_date, match_time, team_a, team_b, sport)
+            values ('OSFP-PAO', date '2030-01-10', time '18:00:00', 'OSFP', 'PAO', 'FOOTBALL'),
+                   ('AEK-PAOK', date '2030-01-11', time '20:30:00', 'AEK', 'PAOK', 'FOOTBALL')""",
+            """
+            insert into match_odds (match_id, specifier, odd)
+            select id, s.specifier, 1.9 from matches, (values ('1'), ('X'), ('2')) s(specifier)"""
+    };
+
+    @TestConfiguration
+    static class DdlAutoSchema {
+
+        /**
+         * Lays the old schema down as soon as the pool exists, before Flyway sees the database
+         */
+        @Bean
+        static BeanPostProcessor ddlAutoSchema() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof HikariDataSource dataSource) {
+                        new JdbcTemplate(dataSource).batchUpdate(DDL_AUTO_SCHEMA);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private MatchOddsService matchOddsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void existingRowsShouldBeKeptAndNewIdsShouldFollowThem() {
+        assertEquals(List.of("0", "1", "1.1"), jdbcTemplate.queryForList(
+                "select version from flyway_schema_history where version in ('0', '1', '1.1') order by installed_rank",
+                String.class));
+        assertEquals(2, matchService.getAllMatches().size());
+        long maxMatchId = jdbcTemplate.queryForObject("select max(id) from matches", Long.class);
+        long maxOddsId = jdbcTemplate.queryForObject("select max(id) from match_odds", Long.class);
+
+        MatchDTO match = new MatchDTO();
+        match.setDescription("ARIS-OFI");
+        match.setMatchDate(LocalDate.of(2030, 1, 12));
+        match.setMatchTime(LocalTime.of(19, 0));
+        match.setTeamA("ARIS");
+        match.setTeamB("OFI");
+        match.setSport(Sport.FOOTBALL);
+        MatchDTO created = matchService.createMatch(match);
+        MatchOddsDTO odds = matchOddsService.createMatchOdds(new MatchOddsDTO(null, created.getId(), "1", 2.05));
+
+        assertTrue(created.getId() > maxMatchId, "match id " + created.getId() + " reuses an existing id");
+        assertTrue(odds.getId() > maxOddsId, "odds id " + odds.getId() + " reuses an existing id");
+        assertEquals(3, matchService.getAllMatches().size());
+    }
+}
@@ -0,0 +1,98 @@
+package com.meko.restapi.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CallerLoadingCaffeineCacheTest {
+
+    private final CallerLoadingCaffeineCache cache =
+            new CallerLoadingCaffeineCache("test", Caffeine.newBuilder().build(), false);
+
+    @Test
+    void concurrentCallersShouldShareOneLoadRunOnTheFirstCaller() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> first = executor.submit(() -> cache.get(1L, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                release.await();
+                return Thread.currentThread().isVirtual() ? "value" : "loaded on another thread";
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<String> second = executor.submit(() -> cache.get(1L, () -> {
+                loads.incrementAndGet();
+                return "second";
+            }));
+            release.countDown();
+
+            assertEquals("value", first.get(5, TimeUnit.SECONDS));
+            assertEquals("value", second.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals("value", cache.get(1L).get());
+    }
+
+    @Test
+    void evictionDuringLoadShouldDiscardTheLoadedValue() {
+        String value = cache.get(1L, () -> {
+            cache.evict(1L);
+            return "stale";
+        });
+
+        assertEquals("stale", value);
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void loadThatStartedBeforeAnEvictionShouldNotOverwriteALaterLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> before = executor.submit(() -> cache.get(1L, () -> {
+                loading.countDown();
+                release.await();
+                return "before the write";
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            cache.evict(1L);
+            assertEquals("after the write", cache.get(1L, () -> "after the write"));
+            release.countDown();
+
+            assertEquals("before the write", before.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals("after the write", cache.get(1L).get());
+    }
+
+    @Test
+    void clearDuringLoadShouldDiscardTheLoadedValue() {
+        String value = cache.get(1L, () -> {
+            cache.clear();
+            return "stale";
+        });
+
+        assertEquals("stale", value);
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void failedLoadShouldNotBlockTheNextCaller() {
+        assertThrows(RuntimeException.class, () -> cache.get(1L, () -> {
+            throw new IllegalStateException("database down");
+        }));
+
+        assertEquals("value", cache.get(1L, () -> "value"));
+    }
+}
@@ -0,0 +1,149 @@
+package com.meko.restapi.config;
+
+import com.jayway.jsonpath.JsonPath;
+import com.meko.restapi.service.MatchService;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Two embedded databases with the same schema but no replication between them, so a read
+ * shows which one served it: a match written to the primary is invisible on the replica.
+ */
+@SpringBootTest(properties = {
+        "app.datasource.replica.jdbc-url=jdbc:h2:mem:replicadb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica.password=",
+        "app.datasource.replica.read-your-writes-window=1m"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReadReplicaRoutingIntegrationTest {
+
+    @TestConfiguration
+    static class ReplicaSchema {
+
+        @Bean
+        InitializingBean replicaMigration(@Qualifier("replicaDataSource") DataSource replica) {
+            return () -> Flyway.configure().dataSource(replica).load().migrate();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private final List<Long> createdMatchIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        createdMatchIds.forEach(matchService::deleteMatch);
+    }
+
+    @Test
+    @Order(1)
+    void readOnlyRequestsShouldUseReplicaUnlessClientJustWrote() throws Exception {
+        MvcResult created = createMatch();
+        Long id = ((Number) JsonPath.read(created.getResponse().getContentAsString(), "$.id")).longValue();
+        Cookie pin = created.getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+
+        mockMvc.perform(get("/api/matches/{id}", id))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/matches/{id}", id).cookie(pin))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.teamA").value("Asteras"));
+    }
+
+    @Test
+    @Order(2)
+    void cachedOddsShouldBeLoadedFromThePrimary() throws Exception {
+        Long id = ((Number) JsonPath.read(createMatch().getResponse().getContentAsString(), "$.id")).longValue();
+
+        // the replica lags (here: forever); a list cached from it would be served to everyone
+        mockMvc.perform(get("/api/matches/{id}", id))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/match-odds/match/{matchId}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @Order(3)
+    void streamedExportShouldKeepTheClientOnThePrimary() throws Exception {
+        Cookie pin = createMatch().getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+
+        MvcResult pinned = mockMvc.perform(get("/api/matches/export").cookie(pin))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(pinned))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Asteras")));
+
+        MvcResult unpinned = mockMvc.perform(get("/api/matches/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(unpinned))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @Order(4)
+    void readsShouldFallBackToPrimaryWhenReplicaIsDown() throws Exception {
+        Long id = ((Number) JsonPath.read(createMatch().getResponse().getContentAsString(), "$.id")).longValue();
+        replicaDataSource.unwrap(HikariDataSource.class).close();
+
+        mockMvc.perform(get("/api/matches/{id}", id))
+                .andExpect(status().isOk());
+    }
+
+    private MvcResult createMatch() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/matches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"description":"Asteras-Atromitos","matchDate":"%s","matchTime":"16:00",
+                                 "teamA":"Asteras","teamB":"Atromitos","sport":"FOOTBALL"}
+                                """.formatted(LocalDate.now().plusDays(1))))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(ReadYourWritesFilter.COOKIE_NAME))
+                .andReturn();
+        createdMatchIds.add(((Number) JsonPath.read(result.getResponse().getContentAsString(), "$.id")).longValue());
+        return result;
+    }
+}
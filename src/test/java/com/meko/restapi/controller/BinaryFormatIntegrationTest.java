@@ -0,0 +1,130 @@
+package com.meko.restapi.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.enumeration.Sport;
+import com.meko.restapi.service.MatchOddsService;
+import com.meko.restapi.service.MatchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional on purpose: the match created over Smile is removed through the service.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BinaryFormatIntegrationTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private MatchOddsService matchOddsService;
+
+    private Long matchId;
+    private Long createdMatchId;
+
+    @BeforeEach
+    void setUp() {
+        matchId = matchService.createMatch(match("Lamia", "Volos")).getId();
+        matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "1", 2.05));
+    }
+
+    @AfterEach
+    void tearDown() {
+        matchService.deleteMatch(matchId);
+        if (createdMatchId != null) {
+            matchService.deleteMatch(createdMatchId);
+        }
+    }
+
+    @Test
+    void cborResponseShouldCarryTheSameMatchAsJson() throws Exception {
+        byte[] json = mockMvc.perform(get("/api/matches/{id}", matchId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        byte[] cbor = mockMvc.perform(get("/api/matches/{id}", matchId).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        MatchDTO fromJson = objectMapper.readValue(json, MatchDTO.class);
+        MatchDTO fromCbor = cborConverter.getObjectMapper().readValue(cbor, MatchDTO.class);
+        assertEquals(fromJson, fromCbor);
+        assertTrue(cbor.length < json.length);
+    }
+
+    @Test
+    void smileRequestBodyShouldBeAcceptedAndAnsweredInSmile() throws Exception {
+        ObjectMapper smileMapper = smileConverter.getObjectMapper();
+
+        byte[] response = mockMvc.perform(post("/api/matches")
+                        .contentType(SMILE)
+                        .accept(SMILE)
+                        .content(smileMapper.writeValueAsBytes(match("Atromitos", "Asteras"))))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        MatchDTO created = smileMapper.readValue(response, MatchDTO.class);
+        createdMatchId = created.getId();
+        assertEquals("Atromitos", created.getTeamA());
+        assertEquals(LocalTime.of(20, 30), created.getMatchTime());
+
+        byte[] odds = mockMvc.perform(get("/api/match-odds/match/{matchId}", matchId).accept(SMILE))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        List<?> oddsList = smileMapper.readValue(odds, List.class);
+        assertEquals(1, oddsList.size());
+    }
+
+    private static MatchDTO match(String teamA, String teamB) {
+        MatchDTO matchDTO = new MatchDTO();
+        matchDTO.setDescription(teamA + "-" + teamB);
+        matchDTO.setMatchDate(LocalDate.now().plusDays(5));
+        matchDTO.setMatchTime(LocalTime.of(20, 30));
+        matchDTO.setTeamA(teamA);
+        matchDTO.setTeamB(teamB);
+        matchDTO.setSport(Sport.FOOTBALL);
+        return matchDTO;
+    }
+}
@@ -0,0 +1,193 @@
+package com.meko.restapi.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.enumeration.ChangeEntityType;
+import com.meko.restapi.enumeration.Sport;
+import com.meko.restapi.event.ChangeType;
+import com.meko.restapi.service.ChangeFeedService;
+import com.meko.restapi.service.MatchOddsService;
+import com.meko.restapi.service.MatchService;
+import com.meko.restapi.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional on purpose: entries are numbered when the writing transaction commits.
+ * The test profile serves them without a settle time.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ChangeFeedIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private MatchOddsService matchOddsService;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String watermark;
+    private Long matchId;
+    private Long otherMatchId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        watermark = JsonPath.read(mockMvc.perform(get("/api/changes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matches", empty()))
+                .andReturn().getResponse().getContentAsString(), "$.nextToken");
+
+        matchId = createMatch("Volos", "Lamia");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (matchId != null) {
+            matchService.deleteMatch(matchId);
+        }
+        if (otherMatchId != null) {
+            matchService.deleteMatch(otherMatchId);
+        }
+    }
+
+    private Long createMatch(String teamA, String teamB) {
+        MatchDTO matchDTO = new MatchDTO();
+        matchDTO.setDescription(teamA + "-" + teamB);
+        matchDTO.setMatchDate(LocalDate.now().plusDays(2));
+        matchDTO.setMatchTime(LocalTime.of(18, 30));
+        matchDTO.setTeamA(teamA);
+        matchDTO.setTeamB(teamB);
+        matchDTO.setSport(Sport.FOOTBALL);
+        return matchService.createMatch(matchDTO).getId();
+    }
+
+    @Test
+    void shouldReturnLatestStateOfChangedRowsAndTombstones() throws Exception {
+        MatchOddsDTO kept = matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "1", 2.1));
+        MatchOddsDTO removed = matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "X", 3.0));
+        matchOddsService.updateMatchOdds(kept.getId(), new MatchOddsDTO(null, matchId, "1", 2.4));
+        matchOddsService.deleteMatchOdds(removed.getId());
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/changes").param("since", watermark))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matches[*].id", contains(matchId.intValue())))
+                .andExpect(jsonPath("$.odds[*].id", contains(kept.getId().intValue())))
+                .andExpect(jsonPath("$.odds[0].odd").value(2.4))
+                .andExpect(jsonPath("$.deleted[*].id", contains(removed.getId().intValue())))
+                .andExpect(jsonPath("$.deleted[0].entityType").value("MATCH_ODDS"))
+                .andExpect(jsonPath("$.hasMore").value(false));
+        // change log page, purge mark, matches, odds
+        SqlStatementCounter.assertStatementCount(4);
+    }
+
+    @Test
+    void shouldPageThroughChangesAndEndWithMatchTombstone() throws Exception {
+        matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "2", 4.5));
+        otherMatchId = createMatch("Atromitos", "Asteras");
+        MatchOddsDTO otherOdds = matchOddsService.createMatchOdds(new MatchOddsDTO(null, otherMatchId, "1", 1.7));
+        matchService.deleteMatch(matchId);
+        Long deletedMatchId = matchId;
+        matchId = null;
+
+        // the entries of the deleted match went with it, only its tombstone is left
+        String body = mockMvc.perform(get("/api/changes").param("since", watermark).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matches[*].id", contains(otherMatchId.intValue())))
+                .andExpect(jsonPath("$.odds[*].id", contains(otherOdds.getId().intValue())))
+                .andExpect(jsonPath("$.deleted", empty()))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andReturn().getResponse().getContentAsString();
+        String next = JsonPath.read(body, "$.nextToken");
+
+        mockMvc.perform(get("/api/changes").param("since", next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matches", empty()))
+                .andExpect(jsonPath("$.deleted[*].id", contains(deletedMatchId.intValue())))
+                .andExpect(jsonPath("$.deleted[0].entityType").value("MATCH"))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void entriesShouldOnlyBeServedOnceTheyHaveSettled() throws Exception {
+        Object target = AopTestUtils.getTargetObject(changeFeedService);
+        ReflectionTestUtils.setField(target, "settleTime", Duration.ofHours(1));
+        try {
+            // a transaction that drew a smaller number may still be committing
+            mockMvc.perform(get("/api/changes").param("since", watermark))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.matches", empty()))
+                    .andExpect(jsonPath("$.nextToken").value(watermark));
+        } finally {
+            ReflectionTestUtils.setField(target, "settleTime", Duration.ZERO);
+        }
+        mockMvc.perform(get("/api/changes").param("since", watermark))
+                .andExpect(jsonPath("$.matches[*].id", contains(matchId.intValue())));
+    }
+
+    @Test
+    void aChangeRecordedOutsideATransactionShouldBeWrittenAtOnce() {
+        changeFeedService.recordChange(ChangeEntityType.MATCH, matchId, matchId, ChangeType.UPDATED);
+
+        assertEquals(List.of("CREATED", "UPDATED"), jdbcTemplate.queryForList(
+                "select change_type from change_log where match_id = ? order by seq", String.class, matchId));
+    }
+
+    @Test
+    void tokensOlderThanPurgedEntriesShouldBeRefused() throws Exception {
+        matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "1", 2.1));
+
+        assertTrue(changeFeedService.purgeEntriesBefore(Instant.now().plusSeconds(1)) >= 2);
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from change_log", Long.class));
+        // the client would otherwise never learn of the match it missed
+        mockMvc.perform(get("/api/changes").param("since", watermark))
+                .andExpect(status().isGone());
+
+        String head = JsonPath.read(mockMvc.perform(get("/api/changes"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), "$.nextToken");
+        assertTrue(Long.parseLong(head) > Long.parseLong(watermark));
+        matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "X", 3.3));
+        mockMvc.perform(get("/api/changes").param("since", head))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.odds[*].specifier", contains("X")));
+    }
+
+    @Test
+    void shouldRejectInvalidTokens() throws Exception {
+        mockMvc.perform(get("/api/changes").param("since", "abc")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/changes").param("since", "-1")).andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,172 @@
+package com.meko.restapi.controller;
+
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.enumeration.Sport;
+import com.meko.restapi.repository.MatchRepository;
+import com.meko.restapi.service.MatchOddsService;
+import com.meko.restapi.service.MatchService;
+import com.meko.restapi.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional on purpose: each request must see committed versions, as in production.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalRequestIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private MatchOddsService matchOddsService;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long matchId;
+
+    @BeforeEach
+    void setUp() {
+        MatchDTO matchDTO = new MatchDTO();
+        matchDTO.setDescription("OFI-PAS");
+        matchDTO.setMatchDate(LocalDate.now().plusDays(3));
+        matchDTO.setMatchTime(LocalTime.of(17, 15));
+        matchDTO.setTeamA("OFI");
+        matchDTO.setTeamB("PAS");
+        matchDTO.setSport(Sport.FOOTBALL);
+        matchId = matchService.createMatch(matchDTO).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        matchService.deleteMatch(matchId);
+    }
+
+    @Test
+    void unchangedMatchShouldBeAnsweredWith304FromAVersionLookup() throws Exception {
+        String eTag = mockMvc.perform(get("/api/matches/{id}", matchId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/matches/{id}", matchId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+        SqlStatementCounter.assertStatementCount(1);
+    }
+
+    @Test
+    void oddsChangesShouldInvalidateMatchAndOddsListETags() throws Exception {
+        String matchETag = eTag("/api/matches/{id}", matchId);
+        String oddsETag = eTag("/api/match-odds/match/{matchId}", matchId);
+
+        MatchOddsDTO odds = matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "X", 3.1));
+        mockMvc.perform(get("/api/match-odds/match/{matchId}", matchId).header(HttpHeaders.IF_NONE_MATCH, oddsETag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+        String afterCreate = eTag("/api/matches/{id}", matchId);
+        assertNotEquals(matchETag, afterCreate);
+
+        matchOddsService.updateMatchOdds(odds.getId(), new MatchOddsDTO(null, matchId, "X", 3.3));
+        mockMvc.perform(get("/api/matches/{id}", matchId).header(HttpHeaders.IF_NONE_MATCH, afterCreate))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matchOdds[0].odd").value(3.3));
+    }
+
+    @Test
+    void putShouldHonourIfMatch() throws Exception {
+        String eTag = eTag("/api/matches/{id}", matchId);
+        String body = """
+                {"description":"OFI-PAS (postponed)","matchDate":"%s","matchTime":"19:00",
+                 "teamA":"OFI","teamB":"PAS","sport":"FOOTBALL"}
+                """.formatted(LocalDate.now().plusDays(4));
+
+        String newETag = mockMvc.perform(put("/api/matches/{id}", matchId).header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(put("/api/matches/{id}", matchId).header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(get("/api/matches/{id}", matchId).header(HttpHeaders.IF_NONE_MATCH, newETag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void everyFormatShouldHaveItsOwnETag() throws Exception {
+        String json = eTag("/api/match-odds/match/{matchId}", matchId);
+        String cbor = mockMvc.perform(get("/api/match-odds/match/{matchId}", matchId).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(json, cbor);
+
+        // a client holding the JSON body must not get a 304 for the CBOR one
+        mockMvc.perform(get("/api/match-odds/match/{matchId}", matchId).accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, json))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/match-odds/match/{matchId}", matchId).accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, cbor))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, cbor));
+
+        String matchCbor = mockMvc.perform(get("/api/matches/{id}", matchId).accept(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String body = """
+                {"description":"OFI-PAS","matchDate":"%s","matchTime":"19:00",
+                 "teamA":"OFI","teamB":"PAS","sport":"FOOTBALL"}
+                """.formatted(LocalDate.now().plusDays(4));
+        mockMvc.perform(put("/api/matches/{id}", matchId).header(HttpHeaders.IF_MATCH, matchCbor)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void aMatchReadAgainAfterAnOddsWriteInTheSameTransactionShouldHaveItsNewVersion() {
+        transactionTemplate.executeWithoutResult(status -> {
+            long before = matchRepository.findById(matchId).orElseThrow().getVersion();
+            matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "1", 2.0));
+            assertEquals(before + 1, matchRepository.findById(matchId).orElseThrow().getVersion());
+        });
+    }
+
+    private String eTag(String uri, Object id) throws Exception {
+        return mockMvc.perform(get(uri, id))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,205 @@
+package com.meko.restapi.controller;
+
+import com.meko.restapi.dto.ImportJobDTO;
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.enumeration.ImportFormat;
+import com.meko.restapi.enumeration.ImportKind;
+import com.meko.restapi.enumeration.ImportStatus;
+import com.meko.restapi.enumeration.Sport;
+import com.meko.restapi.repository.MatchRepository;
+import com.meko.restapi.service.ImportService;
+import com.meko.restapi.service.MatchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional on purpose: the import commits one transaction per chunk, and those
+ * commits are what a resumed import relies on.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ImportIntegrationTest {
+
+    private static final String HEADER = "description,matchDate,matchTime,teamA,teamB,sport\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @AfterEach
+    void tearDown() {
+        importedMatches().forEach(match -> matchService.deleteMatch(match.getId()));
+    }
+
+    @Test
+    void csvImportShouldStoreValidRowsAndReportRejectedLines() throws Exception {
+        String csv = HEADER
+                + "\"Importia, derby\",2025-08-16,19:00,Importia,Kallithea,FOOTBALL\n"
+                + "Importia-Chania,2025-13-01,19:00,Importia,Chania,FOOTBALL\n"
+                + "\n"
+                + "Importia-Kifisia,2025-08-23,,Importia,Kifisia,FOOTBALL\n"
+                + "Importia-Levadiakos,2025-08-30,20:30,Importia,Levadiakos,BASKETBALL\n";
+
+        mockMvc.perform(post("/api/imports/matches").param("chunkSize", "2").param("source", "fixtures.csv")
+                        .contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.rowsProcessed").value(4))
+                .andExpect(jsonPath("$.succeeded").value(2))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.rejections[0].line").value(3))
+                .andExpect(jsonPath("$.rejections[0].message").value("matchDate: invalid value '2025-13-01'"))
+                .andExpect(jsonPath("$.rejections[1].line").value(5))
+                .andExpect(jsonPath("$.rejections[1].message").value("matchTime: Match time is required"));
+
+        List<MatchDTO> matches = importedMatches();
+        assertEquals(2, matches.size());
+        assertEquals("Importia, derby", matches.get(0).getDescription());
+    }
+
+    @Test
+    void ndjsonOddsImportShouldRejectMalformedLinesAndUnknownMatches() throws Exception {
+        Long matchId = matchService.createMatch(match("Importia", "Lamia")).getId();
+        String ndjson = """
+                {"matchId":%d,"specifier":"1","odd":1.75}
+                {"matchId":%d,"specifier":"X",
+                {"matchId":-1,"specifier":"2","odd":4.2}
+                {"matchId":%d,"specifier":"2","odd":4.2}
+                {"matchId":%d,"specifier":"1","odd":1.80}
+                """.formatted(matchId, matchId, matchId, matchId);
+
+        mockMvc.perform(post("/api/imports/match-odds").contentType("application/x-ndjson").content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.succeeded").value(2))
+                .andExpect(jsonPath("$.rejections[0].line").value(2))
+                .andExpect(jsonPath("$.rejections[1].line").value(3))
+                .andExpect(jsonPath("$.rejections[1].message").value("Match not found with id : '-1'"))
+                .andExpect(jsonPath("$.rejections[2].line").value(5))
+                .andExpect(jsonPath("$.rejections[2].message").value("Same matchId and specifier as item 0"));
+
+        assertEquals(2, matchService.getMatchById(matchId).getMatchOdds().size());
+    }
+
+    @Test
+    void rowRefusedByTheDatabaseShouldBeRejectedWithoutFailingTheImport() throws Exception {
+        String csv = HEADER
+                + "Importia-Ionikos,2025-10-04,17:00,Importia,Ionikos,FOOTBALL\n"
+                + "Importia-Egaleo,2025-10-11,17:00,Importia,Egaleo,FOOTBALL\n"
+                // valid for the DTO, but too long for the description column
+                + "I".repeat(300) + ",2025-10-18,17:00,Importia,Kalamata,FOOTBALL\n"
+                + "Importia-Chania,2025-10-25,17:00,Importia,Chania,FOOTBALL\n"
+                + "Importia-Niki,2025-11-01,17:00,Importia,Niki,FOOTBALL\n";
+
+        mockMvc.perform(post("/api/imports/matches").param("chunkSize", "4")
+                        .contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.rowsProcessed").value(5))
+                .andExpect(jsonPath("$.succeeded").value(4))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.rejections[0].line").value(4))
+                .andExpect(jsonPath("$.rejections[0].message").value(startsWith("Could not be stored: ")));
+
+        assertEquals(List.of("Importia-Chania", "Importia-Egaleo", "Importia-Ionikos", "Importia-Niki"),
+                importedMatches().stream().map(MatchDTO::getDescription).sorted().toList());
+    }
+
+    @Test
+    void failedImportShouldResumeAfterTheLastCommittedChunk() throws Exception {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int day = 1; day <= 7; day++) {
+            csv.append("Importia-Round").append(day).append(",2025-09-0").append(day)
+                    .append(",18:00,Importia,Round").append(day).append(",FOOTBALL\n");
+        }
+        byte[] file = csv.toString().getBytes(StandardCharsets.UTF_8);
+        // the connection drops in the middle of the fifth row
+        int dropAt = csv.indexOf("Importia-Round5") + 5;
+
+        ImportJobDTO failed = importService.runImport(ImportKind.MATCHES, ImportFormat.CSV,
+                new DroppingInputStream(file, dropAt), null, null, 2);
+        assertEquals(ImportStatus.FAILED, failed.getStatus());
+        assertEquals(4, failed.getRowsProcessed());
+        assertEquals(4, importedMatches().size());
+
+        mockMvc.perform(post("/api/imports/matches").param("resume", failed.getId().toString())
+                        .contentType("text/csv").content(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.rowsProcessed").value(7))
+                .andExpect(jsonPath("$.succeeded").value(7));
+        assertEquals(7, importedMatches().size());
+
+        mockMvc.perform(post("/api/imports/matches").param("resume", failed.getId().toString())
+                        .contentType("text/csv").content(file))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/imports"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(failed.getId()));
+    }
+
+    private List<MatchDTO> importedMatches() {
+        return matchRepository.findAll().stream()
+                .filter(match -> "Importia".equals(match.getTeamA()))
+                .map(match -> matchService.getMatchById(match.getId()))
+                .sorted((a, b) -> a.getMatchDate().compareTo(b.getMatchDate()))
+                .toList();
+    }
+
+    private static MatchDTO match(String teamA, String teamB) {
+        MatchDTO matchDTO = new MatchDTO();
+        matchDTO.setDescription(teamA + "-" + teamB);
+        matchDTO.setMatchDate(LocalDate.now().plusDays(2));
+        matchDTO.setMatchTime(LocalTime.of(18, 0));
+        matchDTO.setTeamA(teamA);
+        matchDTO.setTeamB(teamB);
+        matchDTO.setSport(Sport.FOOTBALL);
+        return matchDTO;
+    }
+
+    private static class DroppingInputStream extends InputStream {
+        private final ByteArrayInputStream data;
+        private int remaining;
+
+        DroppingInputStream(byte[] bytes, int dropAt) {
+            this.data = new ByteArrayInputStream(bytes);
+            this.remaining = dropAt;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining-- <= 0) {
+                throw new IOException("Connection reset");
+            }
+            return data.read();
+        }
+    }
+}
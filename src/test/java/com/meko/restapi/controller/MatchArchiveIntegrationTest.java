@@ -0,0 +1,139 @@
+package com.meko.restapi.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.enumeration.Sport;
+import com.meko.restapi.service.MatchArchiveService;
+import com.meko.restapi.service.MatchOddsService;
+import com.meko.restapi.service.MatchRetentionService;
+import com.meko.restapi.service.MatchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional on purpose: every chunk of the archiver commits in its own transaction.
+ * The matches are dated decades back, so no other test's matches are archived.
+ */
+@SpringBootTest(properties = "app.archive.chunk-size=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MatchArchiveIntegrationTest {
+
+    private static final LocalDate CUTOFF = LocalDate.of(1991, 1, 1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private MatchOddsService matchOddsService;
+
+    @Autowired
+    private MatchArchiveService matchArchiveService;
+
+    @Autowired
+    private MatchRetentionService matchRetentionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        matchRetentionService.purgeMatchesBefore(CUTOFF.plusDays(1));
+    }
+
+    @Test
+    void archivedMatchesShouldLeaveTheLiveTablesAndBeReadableFromTheArchive() throws Exception {
+        List<Long> archived = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            archived.add(createMatchWithOdds(CUTOFF.minusMonths(i + 1)));
+        }
+        Long live = createMatchWithOdds(CUTOFF);
+
+        assertEquals(3, matchArchiveService.archiveMatchesBefore(CUTOFF));
+
+        mockMvc.perform(get("/api/matches/{id}", archived.get(0)))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/matches/{id}", live))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/archive/matches/{id}", archived.get(0)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.teamA").value("Ionikos"))
+                .andExpect(jsonPath("$.matchOdds", hasSize(2)));
+        mockMvc.perform(get("/api/archive/matches/{id}", live))
+                .andExpect(status().isNotFound());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from odds_history_ticks where match_id = ?", Long.class, archived.get(0)));
+        assertEquals(List.of("DELETED"), jdbcTemplate.queryForList(
+                "select change_type from change_log where match_id = ?", String.class, archived.get(0)));
+
+        String first = mockMvc.perform(get("/api/archive/matches")
+                        .param("from", CUTOFF.minusYears(1).toString())
+                        .param("to", CUTOFF.toString())
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].id").value(archived.get(2)))
+                .andExpect(jsonPath("$.items[0].matchOdds", hasSize(2)))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(get("/api/archive/matches")
+                        .param("from", CUTOFF.minusYears(1).toString())
+                        .param("to", CUTOFF.toString())
+                        .param("size", "2")
+                        .param("cursor", JsonPath.<String>read(first, "$.nextCursor")))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id").value(archived.get(0)))
+                .andExpect(jsonPath("$.hasMore").value(false));
+
+        assertEquals(0, matchArchiveService.archiveMatchesBefore(CUTOFF));
+    }
+
+    @Test
+    void archivedMatchesShouldBeListedOnlyWithinTheRequestedDates() throws Exception {
+        createMatchWithOdds(CUTOFF.minusDays(40));
+        matchArchiveService.archiveMatchesBefore(CUTOFF);
+
+        mockMvc.perform(get("/api/archive/matches")
+                        .param("from", CUTOFF.minusDays(30).toString())
+                        .param("to", CUTOFF.toString()))
+                .andExpect(jsonPath("$.items", hasSize(0)));
+        mockMvc.perform(get("/api/archive/matches")
+                        .param("from", CUTOFF.toString())
+                        .param("to", CUTOFF.minusDays(30).toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Long createMatchWithOdds(LocalDate matchDate) {
+        MatchDTO matchDTO = new MatchDTO();
+        matchDTO.setDescription("Ionikos-Ethnikos");
+        matchDTO.setMatchDate(matchDate);
+        matchDTO.setMatchTime(LocalTime.of(15, 0));
+        matchDTO.setTeamA("Ionikos");
+        matchDTO.setTeamB("Ethnikos");
+        matchDTO.setSport(Sport.FOOTBALL);
+        Long id = matchService.createMatch(matchDTO).getId();
+        matchOddsService.createMatchOdds(new MatchOddsDTO(null, id, "1", 2.4));
+        matchOddsService.createMatchOdds(new MatchOddsDTO(null, id, "2", 2.9));
+        return id;
+    }
+}
@@ -0,0 +1,128 @@
+package com.meko.restapi.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.enumeration.Sport;
+import com.meko.restapi.service.MatchOddsService;
+import com.meko.restapi.service.MatchService;
+import com.meko.restapi.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class MatchOddsControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private MatchOddsService matchOddsService;
+
+    private Long matchId;
+
+    @BeforeEach
+    void setUp() {
+        MatchDTO matchDTO = new MatchDTO();
+        matchDTO.setDescription("Olympiacos vs Panathinaikos");
+        matchDTO.setMatchDate(LocalDate.now().plusDays(3));
+        matchDTO.setMatchTime(LocalTime.of(19, 30));
+        matchDTO.setTeamA("Olympiacos");
+        matchDTO.setTeamB("Panathinaikos");
+        matchDTO.setSport(Sport.FOOTBALL);
+        matchId = matchService.createMatch(matchDTO).getId();
+    }
+
+    @Test
+    void createMatchOddsBatchShouldReportOutcomePerItemAndInsertInBatches() throws Exception {
+        List<MatchOddsDTO> batch = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            batch.add(new MatchOddsDTO(null, matchId, "S" + i, 1.0 + i / 100.0));
+        }
+        batch.set(10, new MatchOddsDTO(null, matchId, "S10", -1.0));
+        batch.set(20, new MatchOddsDTO(null, 999999L, "S20", 2.0));
+        batch.set(30, new MatchOddsDTO(null, matchId, "S0", 2.0));
+        matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "S40", 1.5));
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(post("/api/match-odds/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(116))
+                .andExpect(jsonPath("$.failed").value(4))
+                .andExpect(jsonPath("$.results", hasSize(120)))
+                .andExpect(jsonPath("$.results[0].success").value(true))
+                .andExpect(jsonPath("$.results[0].id").isNumber())
+                .andExpect(jsonPath("$.results[10].error").value(containsString("odd")))
+                .andExpect(jsonPath("$.results[20].error").value(containsString("Match not found")))
+                .andExpect(jsonPath("$.results[30].error").value("Same matchId and specifier as item 0"))
+                .andExpect(jsonPath("$.results[40].error").value(containsString("already has odds for specifier 'S40'")));
+
+        // existence checks of the matches and their specifiers, a few pooled sequence calls and a few insert batches
+        SqlStatementCounter.assertStatementCountAtMost(11);
+
+        mockMvc.perform(get("/api/match-odds/match/" + matchId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(117)));
+    }
+
+    @Test
+    void oddsHistoryShouldRecordEveryPriceChange() throws Exception {
+        MatchOddsDTO odds = matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "1", 1.85));
+        matchOddsService.updateMatchOdds(odds.getId(), new MatchOddsDTO(null, matchId, "1", 1.80));
+        matchOddsService.updateMatchOdds(odds.getId(), new MatchOddsDTO(null, matchId, "1", 1.95));
+
+        mockMvc.perform(get("/api/match-odds/history/match/" + matchId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].specifier").value("1"))
+                .andExpect(jsonPath("$[0].points[*].odd", contains(1.85, 1.80, 1.95)));
+
+        mockMvc.perform(get("/api/match-odds/history/match/" + matchId).param("bucket", "PT1H"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].points[*].max", hasItem(1.95)))
+                .andExpect(jsonPath("$[0].points[*].min", hasItem(1.80)));
+    }
+
+    @Test
+    void createMatchOddsBatchShouldRejectOversizedBatch() throws Exception {
+        List<MatchOddsDTO> batch = new ArrayList<>();
+        for (int i = 0; i <= 5000; i++) {
+            batch.add(new MatchOddsDTO(null, matchId, "S" + i, 1.5));
+        }
+
+        mockMvc.perform(post("/api/match-odds/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isBadRequest());
+    }
+}
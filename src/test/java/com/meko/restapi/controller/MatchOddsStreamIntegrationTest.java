@@ -0,0 +1,138 @@
+package com.meko.restapi.controller;
+
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.enumeration.Sport;
+import com.meko.restapi.listener.OddsStreamBroadcaster;
+import com.meko.restapi.service.MatchOddsService;
+import com.meko.restapi.service.MatchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional on purpose: stream events are published after commit.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MatchOddsStreamIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private MatchOddsService matchOddsService;
+
+    @Autowired
+    private OddsStreamBroadcaster broadcaster;
+
+    private Long matchId;
+    private int maxSubscribers;
+
+    @BeforeEach
+    void setUp() {
+        MatchDTO matchDTO = new MatchDTO();
+        matchDTO.setDescription("Asteras-Levadiakos");
+        matchDTO.setMatchDate(LocalDate.now().plusDays(4));
+        matchDTO.setMatchTime(LocalTime.of(19, 30));
+        matchDTO.setTeamA("Asteras");
+        matchDTO.setTeamB("Levadiakos");
+        matchDTO.setSport(Sport.FOOTBALL);
+        matchId = matchService.createMatch(matchDTO).getId();
+        maxSubscribers = (int) ReflectionTestUtils.getField(broadcaster, "maxSubscribers");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(broadcaster, "maxSubscribers", maxSubscribers);
+        if (matchId != null) {
+            matchService.deleteMatch(matchId);
+        }
+    }
+
+    @Test
+    void matchStreamShouldSendSnapshotThenCommittedChanges() throws Exception {
+        matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "1", 1.9));
+        int before = broadcaster.getSubscriberCount();
+
+        MvcResult result = mockMvc.perform(get("/api/match-odds/stream/match/{matchId}", matchId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(before + 1, broadcaster.getSubscriberCount());
+        String snapshot = result.getResponse().getContentAsString();
+        assertTrue(snapshot.startsWith("event:snapshot"), snapshot);
+        assertTrue(snapshot.contains("\"specifier\":\"1\""), snapshot);
+
+        matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "X", 3.4));
+        awaitContent(result, "event:odds");
+        assertTrue(result.getResponse().getContentAsString().contains("\"specifier\":\"X\""));
+
+        result.getRequest().getAsyncContext().complete();
+        assertEquals(before, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void unknownMatchShouldReturn404WithoutKeepingASubscriberSlot() throws Exception {
+        int before = broadcaster.getSubscriberCount();
+        ReflectionTestUtils.setField(broadcaster, "maxSubscribers", before + 1);
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/match-odds/stream/match/{matchId}", Long.MAX_VALUE))
+                    .andExpect(status().isNotFound());
+        }
+        assertEquals(before, broadcaster.getSubscriberCount());
+
+        MvcResult result = mockMvc.perform(get("/api/match-odds/stream/match/{matchId}", matchId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(get("/api/match-odds/stream/sport/{sport}", Sport.FOOTBALL))
+                .andExpect(status().isServiceUnavailable());
+
+        result.getRequest().getAsyncContext().complete();
+        assertEquals(before, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void sportStreamShouldSendChangesOfItsMatches() throws Exception {
+        int before = broadcaster.getSubscriberCount();
+
+        MvcResult result = mockMvc.perform(get("/api/match-odds/stream/sport/{sport}", Sport.FOOTBALL))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals("", result.getResponse().getContentAsString());
+
+        matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "2", 4.1));
+        // other tests' football matches may publish on the same stream
+        awaitContent(result, "\"matchId\":" + matchId);
+        assertTrue(result.getResponse().getContentAsString().contains("event:odds"));
+
+        result.getRequest().getAsyncContext().complete();
+        assertEquals(before, broadcaster.getSubscriberCount());
+    }
+
+    private static void awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!result.getResponse().getContentAsString().contains(expected)) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for " + expected);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.meko.restapi.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.entity.MatchOdds;
+import com.meko.restapi.enumeration.Sport;
+import com.meko.restapi.repository.MatchOddsRepository;
+import com.meko.restapi.service.MatchOddsService;
+import com.meko.restapi.service.MatchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional on purpose: the odds caches and the board follow the upserts after commit,
+ * and constraint violations only surface at flush or commit.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MatchOddsUpsertIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private MatchOddsService matchOddsService;
+
+    @Autowired
+    private MatchOddsRepository matchOddsRepository;
+
+    private Long matchId;
+
+    @BeforeEach
+    void setUp() {
+        MatchDTO matchDTO = new MatchDTO();
+        matchDTO.setDescription("Asteras-Atromitos");
+        matchDTO.setMatchDate(LocalDate.now().plusDays(3));
+        matchDTO.setMatchTime(LocalTime.of(17, 0));
+        matchDTO.setTeamA("Asteras");
+        matchDTO.setTeamB("Atromitos");
+        matchDTO.setSport(Sport.FOOTBALL);
+        matchId = matchService.createMatch(matchDTO).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        matchService.deleteMatch(matchId);
+    }
+
+    @Test
+    void upsertShouldCreateThenUpdateTheOddsOfTheKey() throws Exception {
+        String created = mockMvc.perform(upsert("1", 1.85))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(jsonPath("$.odd").value(1.85))
+                .andReturn().getResponse().getContentAsString();
+        Integer id = JsonPath.read(created, "$.id");
+
+        mockMvc.perform(upsert("1", 1.9))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.id").value(id));
+        mockMvc.perform(upsert("1", 1.9))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        MatchOdds stored = matchOddsRepository.findById(id.longValue()).orElseThrow();
+        assertEquals(1.9, stored.getOdd());
+        assertEquals(1, stored.getVersion());
+        mockMvc.perform(get("/api/match-odds/match/{matchId}", matchId))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].odd").value(1.9));
+    }
+
+    @Test
+    void batchUpsertShouldReportTheOutcomeOfEveryItem() throws Exception {
+        MatchOddsDTO home = matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "1", 2.1));
+        MatchOddsDTO draw = matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "X", 3.3));
+
+        String body = """
+                [{"matchId":%1$d,"specifier":"1","odd":2.2},
+                 {"matchId":%1$d,"specifier":"X","odd":3.3},
+                 {"matchId":%1$d,"specifier":"2","odd":3.5},
+                 {"matchId":%1$d,"specifier":"2","odd":3.6},
+                 {"matchId":%2$d,"specifier":"1","odd":1.5},
+                 {"matchId":%1$d,"specifier":"O2.5","odd":-1.0}]""".formatted(matchId, Long.MAX_VALUE);
+        mockMvc.perform(put("/api/match-odds/by-key/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(3))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.results[0].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$.results[0].id").value(home.getId()))
+                .andExpect(jsonPath("$.results[1].outcome").value("UNCHANGED"))
+                .andExpect(jsonPath("$.results[1].id").value(draw.getId()))
+                .andExpect(jsonPath("$.results[2].error", containsString("Superseded by item 3")))
+                .andExpect(jsonPath("$.results[3].outcome").value("CREATED"))
+                .andExpect(jsonPath("$.results[4].error", containsString("Match not found")))
+                .andExpect(jsonPath("$.results[5].success").value(false));
+
+        List<MatchOddsDTO> stored = matchOddsService.getMatchOddsByMatchId(matchId);
+        assertEquals(3, stored.size());
+        assertEquals(3.6, stored.stream().filter(odds -> odds.getSpecifier().equals("2")).findFirst().orElseThrow().getOdd());
+    }
+
+    @Test
+    void upsertedRowsShouldTakeIdsFromThePooledGenerator() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (String specifier : List.of("1", "X", "2")) {
+            String created = mockMvc.perform(upsert(specifier, 2.0))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            ids.add(((Number) JsonPath.read(created, "$.id")).longValue());
+        }
+        MatchOddsDTO persisted = matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "GG", 1.7));
+        ids.add(persisted.getId());
+
+        // one block of 50 serves both paths, instead of a sequence call and a block per upserted row
+        assertEquals(ids.stream().sorted().distinct().toList(), ids);
+        assertTrue(ids.get(3) - ids.get(0) < 50, ids.toString());
+    }
+
+    @Test
+    void upsertForUnknownMatchShouldReturnNotFound() throws Exception {
+        mockMvc.perform(put("/api/match-odds/by-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"matchId\":%d,\"specifier\":\"1\",\"odd\":1.5}".formatted(Long.MAX_VALUE)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void updateToAnExistingSpecifierShouldConflict() throws Exception {
+        matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "1", 2.1));
+        MatchOddsDTO draw = matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "X", 3.3));
+
+        mockMvc.perform(put("/api/match-odds/{id}", draw.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"matchId\":%d,\"specifier\":\"1\",\"odd\":3.3}".formatted(matchId)))
+                .andExpect(status().isConflict());
+    }
+
+    private RequestBuilder upsert(String specifier, double odd) {
+        return put("/api/match-odds/by-key")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"matchId\":%d,\"specifier\":\"%s\",\"odd\":%s}".formatted(matchId, specifier, odd));
+    }
+}
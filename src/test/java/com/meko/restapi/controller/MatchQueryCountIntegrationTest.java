@@ -0,0 +1,178 @@
+package com.meko.restapi.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.entity.Match;
+import com.meko.restapi.entity.MatchOdds;
+import com.meko.restapi.enumeration.Sport;
+import com.meko.restapi.repository.MatchRepository;
+import com.meko.restapi.service.MatchService;
+import com.meko.restapi.support.SqlStatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class MatchQueryCountIntegrationTest {
+
+    private static final int MATCHES = 5;
+    private static final int ODDS_PER_MATCH = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long firstMatchId;
+
+    @BeforeEach
+    void setUp() {
+        matchRepository.deleteAll();
+        for (int i = 0; i < MATCHES; i++) {
+            Match match = new Match();
+            match.setDescription("Match " + i);
+            match.setMatchDate(LocalDate.now().plusDays(i));
+            match.setMatchTime(LocalTime.of(18, 0));
+            match.setTeamA("Home " + i);
+            match.setTeamB("Away " + i);
+            match.setSport(Sport.FOOTBALL);
+            for (int j = 0; j < ODDS_PER_MATCH; j++) {
+                MatchOdds odds = new MatchOdds();
+                odds.setMatch(match);
+                odds.setSpecifier(String.valueOf(j));
+                odds.setOdd(1.5 + j);
+                match.getMatchOdds().add(odds);
+            }
+            match = matchRepository.save(match);
+            if (firstMatchId == null) {
+                firstMatchId = match.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementCounter.reset();
+    }
+
+    @Test
+    void getAllMatchesShouldLoadMatchesAndOddsInOneStatement() throws Exception {
+        mockMvc.perform(get("/api/matches"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(MATCHES)))
+                .andExpect(jsonPath("$[0].matchOdds", hasSize(ODDS_PER_MATCH)));
+
+        SqlStatementCounter.assertStatementCount(1);
+    }
+
+    @Test
+    void getMatchByIdShouldNotDependOnNumberOfOdds() throws Exception {
+        mockMvc.perform(get("/api/matches/" + firstMatchId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matchOdds", hasSize(ODDS_PER_MATCH)));
+
+        SqlStatementCounter.assertStatementCount(1);
+    }
+
+    @Test
+    void matchOddsByMatchIdShouldReadVersionAndOddsInOneStatement() throws Exception {
+        mockMvc.perform(get("/api/match-odds/match/" + firstMatchId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$", hasSize(ODDS_PER_MATCH)));
+
+        SqlStatementCounter.assertStatementCount(1);
+    }
+
+    @Test
+    void matchesPageShouldWalkAllMatchesWithTwoStatementsPerPage() throws Exception {
+        String cursor = null;
+        int seen = 0;
+        do {
+            SqlStatementCounter.reset();
+            var request = get("/api/matches/page").param("size", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            SqlStatementCounter.assertStatementCount(2);
+
+            seen += JsonPath.<Integer>read(body, "$.items.length()");
+            cursor = JsonPath.read(body, "$.nextCursor");
+        } while (cursor != null);
+
+        assertEquals(MATCHES, seen);
+    }
+
+    @Test
+    void exportShouldStreamAllMatchesWithOddsInTwoStatements() {
+        List<MatchDTO> exported = new ArrayList<>();
+
+        matchService.exportMatches(exported::add);
+
+        SqlStatementCounter.assertStatementCount(2);
+        assertEquals(MATCHES, exported.size());
+        exported.forEach(match -> assertEquals(ODDS_PER_MATCH, match.getMatchOdds().size()));
+        exported.forEach(match -> match.getMatchOdds()
+                .forEach(odds -> assertEquals(match.getId(), odds.getMatchId())));
+    }
+
+    @Test
+    void readsShouldSelectProjectionsWithoutLoadingEntities() throws Exception {
+        double statementsBefore = requestSummaryTotal("hibernate.request.statements");
+        double loadsBefore = requestSummaryTotal("hibernate.request.entity.loads");
+
+        mockMvc.perform(get("/api/matches/" + firstMatchId))
+                .andExpect(status().isOk());
+
+        assertEquals(SqlStatementCounter.count(),
+                requestSummaryTotal("hibernate.request.statements") - statementsBefore);
+        assertEquals(1, requestSummaryTotal("hibernate.request.statements") - statementsBefore);
+        assertEquals(0, requestSummaryTotal("hibernate.request.entity.loads") - loadsBefore);
+    }
+
+    private double requestSummaryTotal(String name) {
+        DistributionSummary summary = meterRegistry.find(name)
+                .tags("uri", "/api/matches/{id}", "status", "200")
+                .summary();
+        return summary != null ? summary.totalAmount() : 0;
+    }
+
+    @Test
+    void matchesPageShouldRejectMalformedCursor() throws Exception {
+        mockMvc.perform(get("/api/matches/page").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+}
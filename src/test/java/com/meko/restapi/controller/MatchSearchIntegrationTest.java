@@ -0,0 +1,134 @@
+package com.meko.restapi.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.meko.restapi.entity.Match;
+import com.meko.restapi.entity.MatchOdds;
+import com.meko.restapi.enumeration.Sport;
+import com.meko.restapi.repository.MatchRepository;
+import com.meko.restapi.support.SqlStatementCounter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class MatchSearchIntegrationTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 5, 1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        matchRepository.deleteAll();
+        save("OSFP", "PAO", Sport.FOOTBALL, DAY, LocalTime.of(18, 0));
+        save("AEK", "OSFP", Sport.FOOTBALL, DAY.plusDays(1), LocalTime.of(20, 30));
+        save("PAOK", "ARIS", Sport.FOOTBALL, DAY.plusDays(2), LocalTime.of(16, 0));
+        save("OSFP", "PAO", Sport.BASKETBALL, DAY.plusDays(1), LocalTime.of(21, 0));
+        save("AEK", "PAOK", Sport.BASKETBALL, DAY.plusDays(5), LocalTime.of(19, 0));
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementCounter.reset();
+    }
+
+    @Test
+    void shouldCombineSportDateRangeAndKickoffWindow() throws Exception {
+        mockMvc.perform(get("/api/matches/search")
+                        .param("sport", "FOOTBALL")
+                        .param("dateFrom", DAY.toString())
+                        .param("dateTo", DAY.plusDays(2).toString())
+                        .param("kickoffFrom", "17:00")
+                        .param("kickoffTo", "21:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].matchTime").value("18:00:00"))
+                .andExpect(jsonPath("$.items[1].matchTime").value("20:30:00"))
+                .andExpect(jsonPath("$.items[0].matchOdds", hasSize(2)))
+                .andExpect(jsonPath("$.hasMore").value(false));
+
+        // matches, then the odds of the whole page in one batch
+        SqlStatementCounter.assertStatementCount(2);
+    }
+
+    @Test
+    void teamShouldMatchEitherSide() throws Exception {
+        mockMvc.perform(get("/api/matches/search").param("team", "OSFP"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(3)))
+                .andExpect(jsonPath("$.items[*].teamB", hasItem("OSFP")));
+    }
+
+    @Test
+    void shouldPageThroughResultsInKickoffOrder() throws Exception {
+        List<String> descriptions = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/api/matches/search").param("team", "PAOK").param("size", "1");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            descriptions.addAll(JsonPath.read(body, "$.items[*].description"));
+            cursor = JsonPath.read(body, "$.nextCursor");
+        } while (cursor != null);
+
+        assertEquals(List.of("PAOK-ARIS", "AEK-PAOK"), descriptions);
+    }
+
+    @Test
+    void shouldRejectInvertedRanges() throws Exception {
+        mockMvc.perform(get("/api/matches/search")
+                        .param("dateFrom", DAY.plusDays(1).toString())
+                        .param("dateTo", DAY.toString()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/matches/search")
+                        .param("kickoffFrom", "21:00")
+                        .param("kickoffTo", "18:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void save(String teamA, String teamB, Sport sport, LocalDate date, LocalTime time) {
+        Match match = new Match();
+        match.setDescription(teamA + "-" + teamB);
+        match.setTeamA(teamA);
+        match.setTeamB(teamB);
+        match.setSport(sport);
+        match.setMatchDate(date);
+        match.setMatchTime(time);
+        for (String specifier : List.of("1", "2")) {
+            MatchOdds odds = new MatchOdds();
+            odds.setMatch(match);
+            odds.setSpecifier(specifier);
+            odds.setOdd(1.9);
+            match.getMatchOdds().add(odds);
+        }
+        matchRepository.save(match);
+    }
+}
@@ -0,0 +1,164 @@
+package com.meko.restapi.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.meko.restapi.entity.Match;
+import com.meko.restapi.entity.MatchOdds;
+import com.meko.restapi.enumeration.Sport;
+import com.meko.restapi.repository.MatchRepository;
+import com.meko.restapi.support.SqlStatementCounter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class MatchSparseFieldsIntegrationTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 6, 1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long matchId;
+
+    @BeforeEach
+    void setUp() {
+        matchRepository.deleteAll();
+        matchId = save("OSFP", "PAO", Sport.FOOTBALL, DAY, LocalTime.of(18, 0));
+        save("AEK", "PAOK", Sport.FOOTBALL, DAY, LocalTime.of(20, 30));
+        save("ARIS", "OFI", Sport.BASKETBALL, DAY.plusDays(1), LocalTime.of(19, 0));
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementCounter.reset();
+    }
+
+    @Test
+    void withoutParametersEveryFieldAndTheOddsShouldBeReturned() throws Exception {
+        mockMvc.perform(get("/api/matches/{id}", matchId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(matchId))
+                .andExpect(jsonPath("$.description").value("OSFP-PAO"))
+                .andExpect(jsonPath("$.matchDate").value(DAY.toString()))
+                .andExpect(jsonPath("$.matchTime").value("18:00:00"))
+                .andExpect(jsonPath("$.teamA").value("OSFP"))
+                .andExpect(jsonPath("$.teamB").value("PAO"))
+                .andExpect(jsonPath("$.sport").value("FOOTBALL"))
+                .andExpect(jsonPath("$.matchOdds", hasSize(2)));
+    }
+
+    @Test
+    void fieldsShouldSelectOnlyTheirColumnsAndSkipTheOdds() throws Exception {
+        mockMvc.perform(get("/api/matches").param("fields", "teamA,teamB"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].id").exists())
+                .andExpect(jsonPath("$[0].teamA").value("OSFP"))
+                .andExpect(jsonPath("$[0].teamB").value("PAO"))
+                .andExpect(jsonPath("$[0].description").doesNotExist())
+                .andExpect(jsonPath("$[0].sport").doesNotExist())
+                .andExpect(jsonPath("$[0].matchOdds").doesNotExist());
+
+        SqlStatementCounter.assertStatementCount(1);
+        String sql = SqlStatementCounter.statements().get(0).toLowerCase();
+        assertFalse(sql.contains("match_odds"), sql);
+        assertFalse(sql.contains("description"), sql);
+    }
+
+    @Test
+    void includeShouldAddTheOddsToTheSelectedFields() throws Exception {
+        mockMvc.perform(get("/api/matches/{id}", matchId)
+                        .param("fields", "teamA")
+                        .param("include", "odds"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.teamA").value("OSFP"))
+                .andExpect(jsonPath("$.teamB").doesNotExist())
+                .andExpect(jsonPath("$.matchOdds", hasSize(2)))
+                .andExpect(jsonPath("$.matchOdds[*].specifier", containsInAnyOrder("1", "2")));
+    }
+
+    @Test
+    void sparsePagesShouldStillChainByCursor() throws Exception {
+        List<String> teams = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/api/matches/page").param("size", "2").param("fields", "teamA");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items[0].matchDate").doesNotExist())
+                    .andExpect(jsonPath("$.items[0].matchOdds").doesNotExist())
+                    .andReturn().getResponse().getContentAsString();
+            teams.addAll(JsonPath.read(body, "$.items[*].teamA"));
+            cursor = JsonPath.read(body, "$.nextCursor");
+        } while (cursor != null);
+
+        assertEquals(List.of("OSFP", "AEK", "ARIS"), teams);
+    }
+
+    @Test
+    void searchShouldHonourFields() throws Exception {
+        mockMvc.perform(get("/api/matches/search")
+                        .param("sport", "BASKETBALL")
+                        .param("fields", "teamB,sport"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].teamB").value("OFI"))
+                .andExpect(jsonPath("$.items[0].sport").value("BASKETBALL"))
+                .andExpect(jsonPath("$.items[0].teamA").doesNotExist());
+    }
+
+    @Test
+    void unknownFieldOrIncludeShouldBeRejected() throws Exception {
+        mockMvc.perform(get("/api/matches").param("fields", "teamA,venue"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/matches/{id}", matchId).param("include", "teams"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Long save(String teamA, String teamB, Sport sport, LocalDate date, LocalTime time) {
+        Match match = new Match();
+        match.setDescription(teamA + "-" + teamB);
+        match.setTeamA(teamA);
+        match.setTeamB(teamB);
+        match.setSport(sport);
+        match.setMatchDate(date);
+        match.setMatchTime(time);
+        for (String specifier : List.of("1", "2")) {
+            MatchOdds odds = new MatchOdds();
+            odds.setMatch(match);
+            odds.setSpecifier(specifier);
+            odds.setOdd(1.9);
+            match.getMatchOdds().add(odds);
+        }
+        return matchRepository.save(match).getId();
+    }
+}
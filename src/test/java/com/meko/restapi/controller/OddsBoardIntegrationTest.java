@@ -0,0 +1,95 @@
+package com.meko.restapi.controller;
+
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.enumeration.Sport;
+import com.meko.restapi.service.MatchOddsService;
+import com.meko.restapi.service.MatchService;
+import com.meko.restapi.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional on purpose: the board is updated after commit.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OddsBoardIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private MatchOddsService matchOddsService;
+
+    private Long matchId;
+
+    @BeforeEach
+    void setUp() {
+        MatchDTO matchDTO = new MatchDTO();
+        matchDTO.setDescription("Aris-Panserraikos");
+        matchDTO.setMatchDate(LocalDate.now().plusDays(6));
+        matchDTO.setMatchTime(LocalTime.of(21, 0));
+        matchDTO.setTeamA("Aris");
+        matchDTO.setTeamB("Panserraikos");
+        matchDTO.setSport(Sport.FOOTBALL);
+        matchId = matchService.createMatch(matchDTO).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (matchId != null) {
+            matchService.deleteMatch(matchId);
+        }
+    }
+
+    @Test
+    void boardShouldFollowOddsWritesWithoutQueries() throws Exception {
+        MatchOddsDTO home = matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "1", 1.65));
+        MatchOddsDTO draw = matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "X", 3.6));
+        matchOddsService.updateMatchOdds(home.getId(), new MatchOddsDTO(null, matchId, "1", 1.6));
+        matchOddsService.deleteMatchOdds(draw.getId());
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/match-odds/board/match/{matchId}", matchId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(home.getId()))
+                .andExpect(jsonPath("$[0].matchId").value(matchId))
+                .andExpect(jsonPath("$[0].specifier").value("1"))
+                .andExpect(jsonPath("$[0].odd").value(1.6));
+        SqlStatementCounter.assertStatementCount(0);
+
+        mockMvc.perform(get("/api/match-odds/board"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.matchId == " + matchId + ")].odd", contains(1.6)));
+    }
+
+    @Test
+    void deletedMatchShouldLeaveTheBoard() throws Exception {
+        matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "2", 5.25));
+        matchService.deleteMatch(matchId);
+
+        mockMvc.perform(get("/api/match-odds/board/match/{matchId}", matchId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", empty()));
+        matchId = null;
+    }
+}
@@ -0,0 +1,203 @@
+package com.meko.restapi.controller;
+
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.entity.MatchOdds;
+import com.meko.restapi.enumeration.Sport;
+import com.meko.restapi.repository.MatchOddsRepository;
+import com.meko.restapi.service.MatchOddsService;
+import com.meko.restapi.service.MatchService;
+import com.meko.restapi.service.OddsWriteBehindService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional on purpose: accepted updates are flushed in their own transactions.
+ * The flush interval is long enough that the tests decide when to flush.
+ */
+@SpringBootTest(properties = {
+        "app.odds-write-behind.enabled=true",
+        "app.odds-write-behind.flush-interval=1h"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OddsWriteBehindIntegrationTest {
+
+    @DynamicPropertySource
+    static void journalDirectory(DynamicPropertyRegistry registry) throws IOException {
+        registry.add("app.odds-write-behind.journal-dir", Files.createTempDirectory("odds-journal")::toString);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private MatchOddsService matchOddsService;
+
+    @Autowired
+    private MatchOddsRepository matchOddsRepository;
+
+    @Autowired
+    private OddsWriteBehindService oddsWriteBehindService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long matchId;
+
+    @BeforeEach
+    void setUp() {
+        MatchDTO matchDTO = new MatchDTO();
+        matchDTO.setDescription("Volos-Levadiakos");
+        matchDTO.setMatchDate(LocalDate.now().plusDays(2));
+        matchDTO.setMatchTime(LocalTime.of(18, 0));
+        matchDTO.setTeamA("Volos");
+        matchDTO.setTeamB("Levadiakos");
+        matchDTO.setSport(Sport.FOOTBALL);
+        matchId = matchService.createMatch(matchDTO).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        oddsWriteBehindService.flush();
+        matchService.deleteMatch(matchId);
+    }
+
+    @Test
+    void acceptedUpdatesShouldBeReadAtOnceAndFlushedAsOneWrite() throws Exception {
+        MatchOddsDTO odds = matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "1", 1.85));
+        long version = matchOddsRepository.findById(odds.getId()).orElseThrow().getVersion();
+
+        for (double odd : new double[] {1.9, 1.95, 2.05}) {
+            putOdds(odds.getId(), odd, null)
+                    .andExpect(status().isAccepted())
+                    .andExpect(jsonPath("$.odd").value(odd));
+        }
+        assertEquals(1.85, matchOddsRepository.findById(odds.getId()).orElseThrow().getOdd());
+
+        mockMvc.perform(get("/api/match-odds/{id}", odds.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.odd").value(2.05))
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("\"" + version + "+")));
+        mockMvc.perform(get("/api/matches/{id}", matchId))
+                .andExpect(jsonPath("$.matchOdds[0].odd").value(2.05));
+        mockMvc.perform(get("/api/match-odds/board/match/{matchId}", matchId))
+                .andExpect(jsonPath("$[0].odd").value(2.05));
+
+        oddsWriteBehindService.flush();
+
+        MatchOdds flushed = matchOddsRepository.findById(odds.getId()).orElseThrow();
+        assertEquals(2.05, flushed.getOdd());
+        assertEquals(version + 1, flushed.getVersion());
+        mockMvc.perform(get("/api/match-odds/{id}", odds.getId()))
+                .andExpect(jsonPath("$.odd").value(2.05))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (version + 1) + "\""));
+    }
+
+    @Test
+    void conditionalUpdateShouldComeAfterBufferedUpdates() throws Exception {
+        MatchOddsDTO odds = matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "1", 3.2));
+        String before = mockMvc.perform(get("/api/match-odds/{id}", odds.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        putOdds(odds.getId(), 3.25, null).andExpect(status().isAccepted());
+        String buffered = mockMvc.perform(get("/api/match-odds/{id}", odds.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        putOdds(odds.getId(), 3.4, before).andExpect(status().isPreconditionFailed());
+        putOdds(odds.getId(), 3.4, buffered).andExpect(status().isPreconditionFailed());
+        String flushed = mockMvc.perform(get("/api/match-odds/{id}", odds.getId()))
+                .andExpect(jsonPath("$.odd").value(3.25))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        putOdds(odds.getId(), 3.4, flushed).andExpect(status().isOk());
+        oddsWriteBehindService.flush();
+        assertEquals(3.4, matchOddsRepository.findById(odds.getId()).orElseThrow().getOdd());
+    }
+
+    @Test
+    void specifierChangeShouldBeWrittenSynchronously() throws Exception {
+        MatchOddsDTO home = matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "1", 1.85));
+        MatchOddsDTO draw = matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "X", 3.3));
+
+        // takes specifier 1, which the home odds already have
+        putOdds(draw.getId(), "1", 3.4, null).andExpect(status().isConflict());
+        putOdds(draw.getId(), "2", 3.4, null).andExpect(status().isOk());
+
+        assertTrue(oddsWriteBehindService.pending().isEmpty());
+        MatchOdds renamed = matchOddsRepository.findById(draw.getId()).orElseThrow();
+        assertEquals("2", renamed.getSpecifier());
+        assertEquals(3.4, renamed.getOdd());
+        assertEquals("1", matchOddsRepository.findById(home.getId()).orElseThrow().getSpecifier());
+    }
+
+    @Test
+    void bufferedUpdateShouldBeSupersededByAConcurrentSpecifierChange() throws Exception {
+        MatchOddsDTO odds = matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "1", 1.85));
+        double deadLettered = meterRegistry.counter("odds.write-behind.dead-lettered").count();
+
+        putOdds(odds.getId(), 1.9, null).andExpect(status().isAccepted());
+        // a synchronous write that committed after the update was accepted
+        MatchOdds row = matchOddsRepository.findById(odds.getId()).orElseThrow();
+        row.setSpecifier("H");
+        row.setOdd(1.7);
+        matchOddsRepository.save(row);
+
+        mockMvc.perform(get("/api/match-odds/{id}", odds.getId()))
+                .andExpect(jsonPath("$.specifier").value("H"))
+                .andExpect(jsonPath("$.odd").value(1.7));
+        oddsWriteBehindService.flush();
+
+        MatchOdds flushed = matchOddsRepository.findById(odds.getId()).orElseThrow();
+        assertEquals("H", flushed.getSpecifier());
+        assertEquals(1.7, flushed.getOdd());
+        assertTrue(oddsWriteBehindService.pending().isEmpty());
+        assertEquals(deadLettered, meterRegistry.counter("odds.write-behind.dead-lettered").count());
+    }
+
+    @Test
+    void unknownOddsShouldBeWrittenSynchronously() throws Exception {
+        putOdds(Long.MAX_VALUE, 1.5, null).andExpect(status().isNotFound());
+    }
+
+    private ResultActions putOdds(Long id, double odd, String ifMatch) throws Exception {
+        return putOdds(id, "1", odd, ifMatch);
+    }
+
+    private ResultActions putOdds(Long id, String specifier, double odd, String ifMatch) throws Exception {
+        var request = put("/api/match-odds/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"matchId\":%d,\"specifier\":\"%s\",\"odd\":%s}".formatted(matchId, specifier, odd));
+        if (ifMatch != null) {
+            request.header(HttpHeaders.IF_MATCH, ifMatch);
+        }
+        return mockMvc.perform(request);
+    }
+}
@@ -0,0 +1,125 @@
+package com.meko.restapi.listener;
+
+import com.meko.restapi.dto.OddsChangeDTO;
+import com.meko.restapi.event.ChangeType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OddsSubscriberTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void slowSubscriberShouldReceiveOnlyLatestPendingValuePerSpecifier() throws Exception {
+        CountDownLatch firstSendStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstSend = new CountDownLatch(1);
+        RecordingEmitter emitter = new RecordingEmitter(firstSendStarted, releaseFirstSend);
+        OddsSubscriber subscriber = new OddsSubscriber(emitter, executor);
+        subscriber.start(null);
+
+        subscriber.offer(change("1", 1.10));
+        assertTrue(firstSendStarted.await(5, TimeUnit.SECONDS));
+        // The client is blocked on the first write; these must coalesce
+        for (int i = 1; i <= 100; i++) {
+            subscriber.offer(change("1", 1.10 + i / 100.0));
+            subscriber.offer(change("X", 3.00 + i / 100.0));
+        }
+        releaseFirstSend.countDown();
+
+        emitter.awaitSends(3);
+        Thread.sleep(100);
+        assertEquals(3, emitter.sent.size());
+        assertEquals(1.10, emitter.sent.get(0).getOdd());
+        assertEquals(Set.of(2.10, 4.00), Set.of(emitter.sent.get(1).getOdd(), emitter.sent.get(2).getOdd()));
+    }
+
+    @Test
+    void changesOfferedBeforeStartShouldBeDeliveredAfterSnapshot() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter(new CountDownLatch(1), new CountDownLatch(0));
+        OddsSubscriber subscriber = new OddsSubscriber(emitter, executor);
+
+        subscriber.offer(change("1", 1.5));
+        Thread.sleep(50);
+        assertTrue(emitter.sent.isEmpty());
+
+        subscriber.start(List.of());
+        emitter.awaitSends(1);
+        assertEquals(1.5, emitter.sent.get(0).getOdd());
+    }
+
+    @Test
+    void failedWriteShouldCloseSubscriber() throws Exception {
+        SseEmitter emitter = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        OddsSubscriber subscriber = new OddsSubscriber(emitter, executor);
+        subscriber.start(null);
+
+        subscriber.offer(change("1", 1.5));
+        executor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+
+        assertTrue(subscriber.isClosed());
+    }
+
+    private static OddsChangeDTO change(String specifier, double odd) {
+        return new OddsChangeDTO(ChangeType.UPDATED, 7L, 1L, specifier, odd);
+    }
+
+    /**
+     * Captures sent changes; the first send blocks until released to simulate a slow client.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<OddsChangeDTO> sent = new CopyOnWriteArrayList<>();
+        private final CountDownLatch firstSendStarted;
+        private final CountDownLatch releaseFirstSend;
+
+        RecordingEmitter(CountDownLatch firstSendStarted, CountDownLatch releaseFirstSend) {
+            this.firstSendStarted = firstSendStarted;
+            this.releaseFirstSend = releaseFirstSend;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            builder.build().stream()
+                    .map(DataWithMediaType::getData)
+                    .filter(OddsChangeDTO.class::isInstance)
+                    .map(OddsChangeDTO.class::cast)
+                    .forEach(change -> {
+                        firstSendStarted.countDown();
+                        try {
+                            releaseFirstSend.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                        }
+                        sent.add(change);
+                    });
+        }
+
+        void awaitSends(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (sent.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+        }
+    }
+}
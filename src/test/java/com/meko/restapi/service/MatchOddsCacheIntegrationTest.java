@@ -0,0 +1,140 @@
+package com.meko.restapi.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.meko.restapi.config.CacheConfig;
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.enumeration.Sport;
+import com.meko.restapi.util.Versioned;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not transactional on purpose: cache invalidation only happens after a commit.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class MatchOddsCacheIntegrationTest {
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private MatchOddsService matchOddsService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long matchId;
+
+    @BeforeEach
+    void setUp() {
+        MatchDTO matchDTO = new MatchDTO();
+        matchDTO.setDescription("AEK vs PAOK");
+        matchDTO.setMatchDate(LocalDate.now().plusDays(1));
+        matchDTO.setMatchTime(LocalTime.of(21, 0));
+        matchDTO.setTeamA("AEK");
+        matchDTO.setTeamB("PAOK");
+        matchDTO.setSport(Sport.FOOTBALL);
+        matchId = matchService.createMatch(matchDTO).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        matchService.deleteMatch(matchId);
+    }
+
+    @Test
+    void repeatedReadsShouldBeServedFromCache() {
+        matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "1", 1.8));
+        CacheStats before = stats();
+
+        matchOddsService.getMatchOddsByMatchId(matchId);
+        matchOddsService.getMatchOddsByMatchId(matchId);
+
+        CacheStats delta = stats().minus(before);
+        assertEquals(1, delta.missCount());
+        assertEquals(1, delta.hitCount());
+    }
+
+    @Test
+    void versionedReadsShouldBeServedFromCacheWithTheVersionTheListWasReadWith() {
+        matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "1", 1.8));
+        CacheStats before = stats();
+
+        Versioned<List<MatchOddsDTO>> first = matchOddsService.getVersionedMatchOddsByMatchId(matchId);
+        Versioned<List<MatchOddsDTO>> second = matchOddsService.getVersionedMatchOddsByMatchId(matchId);
+
+        CacheStats delta = stats().minus(before);
+        assertEquals(1, delta.missCount());
+        assertEquals(1, delta.hitCount());
+        assertEquals(first, second);
+        assertEquals(matchOddsService.getMatchOddsVersionByMatchId(matchId).version(), first.version().version());
+    }
+
+    @Test
+    void cacheHitsShouldNotTakeAPooledConnection() {
+        matchOddsService.getVersionedMatchOddsByMatchId(matchId);
+        long borrowed = connectionsBorrowed();
+
+        matchOddsService.getVersionedMatchOddsByMatchId(matchId);
+        matchOddsService.getMatchOddsByMatchId(matchId);
+
+        assertEquals(borrowed, connectionsBorrowed());
+    }
+
+    @Test
+    void committedWritesShouldInvalidateCachedOdds() {
+        MatchOddsDTO odds = matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "1", 1.8));
+        assertEquals(1, matchOddsService.getMatchOddsByMatchId(matchId).size());
+
+        matchOddsService.updateMatchOdds(odds.getId(), new MatchOddsDTO(null, matchId, "1", 2.2));
+        assertEquals(2.2, matchOddsService.getMatchOddsByMatchId(matchId).get(0).getOdd());
+
+        matchOddsService.deleteMatchOdds(odds.getId());
+        assertTrue(matchOddsService.getMatchOddsByMatchId(matchId).isEmpty());
+    }
+
+    @Test
+    void rolledBackWritesShouldNotInvalidateCachedOdds() {
+        MatchOddsDTO odds = matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "1", 1.8));
+        List<MatchOddsDTO> cached = matchOddsService.getMatchOddsByMatchId(matchId);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            matchOddsService.updateMatchOdds(odds.getId(), new MatchOddsDTO(null, matchId, "1", 5.0));
+            status.setRollbackOnly();
+        });
+
+        assertSame(cached, matchOddsService.getMatchOddsByMatchId(matchId));
+        assertEquals(1.8, matchOddsService.getMatchOddsByMatchId(matchId).get(0).getOdd());
+    }
+
+    private long connectionsBorrowed() {
+        return meterRegistry.get("hikaricp.connections.usage").timer().count();
+    }
+
+    private CacheStats stats() {
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(CacheConfig.MATCH_ODDS_CACHE);
+        return cache.getNativeCache().stats();
+    }
+}
@@ -0,0 +1,121 @@
+package com.meko.restapi.service;
+
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.enumeration.Sport;
+import com.meko.restapi.exception.ResourceNotFoundException;
+import com.meko.restapi.repository.MatchOddsRepository;
+import com.meko.restapi.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not transactional on purpose: every chunk of the purge commits in its own transaction.
+ * The matches are dated decades back, so no other test's matches are purged.
+ */
+@SpringBootTest(properties = "app.retention.chunk-size=2")
+@ActiveProfiles("test")
+class MatchRetentionIntegrationTest {
+
+    private static final LocalDate CUTOFF = LocalDate.of(2001, 1, 1);
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private MatchOddsService matchOddsService;
+
+    @Autowired
+    private MatchRetentionService matchRetentionService;
+
+    @Autowired
+    private MatchOddsRepository matchOddsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> matchIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        for (Long id : matchIds) {
+            try {
+                matchService.deleteMatch(id);
+            } catch (ResourceNotFoundException e) {
+                // purged
+            }
+        }
+    }
+
+    @Test
+    void purgeShouldDeleteOldMatchesWithTheirOddsInChunks() {
+        List<Long> old = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            old.add(createMatchWithOdds(CUTOFF.minusDays(i + 1)));
+        }
+        Long kept = createMatchWithOdds(CUTOFF);
+
+        SqlStatementCounter.reset();
+        assertEquals(5, matchRetentionService.purgeMatchesBefore(CUTOFF));
+        // 3 chunks of select, delete odds, history chunks, history ticks, change log entries and
+        // matches, one tombstone per match, plus the select of the archive that finds nothing
+        SqlStatementCounter.assertStatementCountAtMost(3 * 6 + 5 * 2 + 1);
+
+        for (Long id : old) {
+            assertThrows(ResourceNotFoundException.class, () -> matchService.getMatchById(id));
+            assertTrue(matchOddsRepository.findByMatchId(id).isEmpty());
+            assertOnlyTombstoneLeft(id);
+        }
+        assertEquals(2, matchService.getMatchById(kept).getMatchOdds().size());
+        assertEquals(0, matchRetentionService.purgeMatchesBefore(CUTOFF));
+    }
+
+    @Test
+    void deleteMatchShouldDeleteItsOdds() {
+        Long id = createMatchWithOdds(CUTOFF);
+
+        matchService.deleteMatch(id);
+
+        assertThrows(ResourceNotFoundException.class, () -> matchService.getMatchById(id));
+        assertTrue(matchOddsRepository.findByMatchId(id).isEmpty());
+        assertOnlyTombstoneLeft(id);
+        assertThrows(ResourceNotFoundException.class, () -> matchService.deleteMatch(id));
+    }
+
+    private void assertOnlyTombstoneLeft(Long matchId) {
+        assertEquals(0, count("select count(*) from odds_history_chunks where match_id = ?", matchId));
+        assertEquals(0, count("select count(*) from odds_history_ticks where match_id = ?", matchId));
+        assertEquals(List.of("DELETED"), jdbcTemplate.queryForList(
+                "select change_type from change_log where match_id = ?", String.class, matchId));
+    }
+
+    private long count(String sql, Long matchId) {
+        return jdbcTemplate.queryForObject(sql, Long.class, matchId);
+    }
+
+    private Long createMatchWithOdds(LocalDate matchDate) {
+        MatchDTO matchDTO = new MatchDTO();
+        matchDTO.setDescription("Kalamata-Panachaiki");
+        matchDTO.setMatchDate(matchDate);
+        matchDTO.setMatchTime(LocalTime.of(16, 0));
+        matchDTO.setTeamA("Kalamata");
+        matchDTO.setTeamB("Panachaiki");
+        matchDTO.setSport(Sport.FOOTBALL);
+        Long id = matchService.createMatch(matchDTO).getId();
+        matchIds.add(id);
+        matchOddsService.createMatchOdds(new MatchOddsDTO(null, id, "1", 2.2));
+        matchOddsService.createMatchOdds(new MatchOddsDTO(null, id, "2", 3.1));
+        return id;
+    }
+}
@@ -1,23 +1,36 @@
 package com.meko.restapi.service;
 
+import com.meko.restapi.dto.CursorPageDTO;
 import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.dto.MatchOddsDTO;
 import com.meko.restapi.entity.Match;
 import com.meko.restapi.enumeration.Sport;
 import com.meko.restapi.exception.ResourceNotFoundException;
+import com.meko.restapi.repository.MatchOddsRepository;
 import com.meko.restapi.repository.MatchRepository;
+import com.meko.restapi.repository.MatchRow;
 import com.meko.restapi.service.impl.MatchServiceImpl;
+import com.meko.restapi.util.MatchCursor;
+import com.meko.restapi.util.PendingOdds;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -30,6 +43,21 @@ class MatchServiceTest {
     @Mock
     private MatchRepository matchRepository;
 
+    @Mock
+    private MatchOddsRepository matchOddsRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private OddsWriteBehindService oddsWriteBehindService;
+
+    @Mock
+    private OddsHistoryService oddsHistoryService;
+
+    @Mock
+    private ChangeFeedService changeFeedService;
+
     @InjectMocks
     private MatchServiceImpl matchService;
 
@@ -38,6 +66,25 @@ class MatchServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(oddsWriteBehindService.pending()).thenReturn(PendingOdds.EMPTY);
+        lenient().when(oddsWriteBehindService.pendingForMatch(anyLong())).thenReturn(PendingOdds.EMPTY);
+        // shared loads run in a read-only transaction of their own
+        ReflectionTestUtils.setField(matchService, "readOnlyTransactionTemplate",
+                new TransactionTemplate(new PlatformTransactionManager() {
+                    @Override
+                    public TransactionStatus getTransaction(TransactionDefinition definition) {
+                        return new SimpleTransactionStatus();
+                    }
+
+                    @Override
+                    public void commit(TransactionStatus status) {
+                    }
+
+                    @Override
+                    public void rollback(TransactionStatus status) {
+                    }
+                }));
+
         match = new Match();
         match.setId(1L);
         match.setDescription("Test Match");
@@ -60,7 +107,9 @@ class MatchServiceTest {
     @Test
     void getMatchByIdShouldReturnMatchWhenMatchExists() {
         // Given
-        when(matchRepository.findById(1L)).thenReturn(Optional.of(match));
+        when(matchRepository.findRowsById(1L)).thenReturn(List.of(
+                row(match, 10L, "1", 1.5),
+                row(match, 11L, "X", 3.2)));
 
         // When
         MatchDTO result = matchService.getMatchById(1L);
@@ -72,24 +121,25 @@ class MatchServiceTest {
         assertEquals("Team A", result.getTeamA());
         assertEquals("Team B", result.getTeamB());
         assertEquals(Sport.FOOTBALL, result.getSport());
-        verify(matchRepository).findById(1L);
+        assertEquals(List.of("1", "X"), result.getMatchOdds().stream().map(MatchOddsDTO::getSpecifier).toList());
+        verify(matchRepository).findRowsById(1L);
+        verify(matchRepository, never()).findById(anyLong());
     }
 
     @Test
     void getMatchByIdShouldThrowResourceNotFoundExceptionWhenMatchDoesNotExist() {
         // Given
-        when(matchRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(matchRepository.findRowsById(anyLong())).thenReturn(List.of());
 
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> matchService.getMatchById(1L));
-        verify(matchRepository).findById(1L);
+        verify(matchRepository).findRowsById(1L);
     }
 
     @Test
     void getAllMatchesShouldReturnAllMatches() {
         // Given
-        List<Match> matches = Arrays.asList(match);
-        when(matchRepository.findAll()).thenReturn(matches);
+        when(matchRepository.findAllRows()).thenReturn(List.of(row(match, null, null, null)));
 
         // When
         List<MatchDTO> result = matchService.getAllMatches();
@@ -100,7 +150,8 @@ class MatchServiceTest {
         assertEquals("Test Match", result.get(0).getDescription());
         assertEquals("Team A", result.get(0).getTeamA());
         assertEquals("Team B", result.get(0).getTeamB());
-        verify(matchRepository).findAll();
+        assertTrue(result.get(0).getMatchOdds().isEmpty());
+        verify(matchRepository).findAllRows();
     }
 
     @Test
@@ -156,24 +207,50 @@ class MatchServiceTest {
     @Test
     void deleteMatchShouldRemoveMatchWhenMatchExists() {
         // Given
-        when(matchRepository.existsById(1L)).thenReturn(true);
+        MatchRepository.MatchTeams teams = mock(MatchRepository.MatchTeams.class);
+        when(matchRepository.lockTeamsById(1L)).thenReturn(Optional.of(teams));
 
         // When
         matchService.deleteMatch(1L);
 
         // Then
-        verify(matchRepository).existsById(1L);
-        verify(matchRepository).deleteById(1L);
+        verify(matchOddsRepository).deleteByMatchId(1L);
+        verify(oddsHistoryService).deleteHistory(Set.of(1L));
+        verify(changeFeedService).deleteMatchEntries(Set.of(1L));
+        verify(matchRepository).deleteByIdIn(Set.of(1L));
+        verify(matchRepository, never()).findById(anyLong());
     }
 
     @Test
     void deleteMatchShouldThrowResourceNotFoundExceptionWhenMatchDoesNotExist() {
         // Given
-        when(matchRepository.existsById(1L)).thenReturn(false);
+        when(matchRepository.lockTeamsById(1L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> matchService.deleteMatch(1L));
-        verify(matchRepository).existsById(1L);
-        verify(matchRepository, never()).deleteById(anyLong());
+        verify(matchOddsRepository, never()).deleteByMatchId(anyLong());
+        verify(matchRepository, never()).deleteByIdIn(any());
+    }
+
+    @Test
+    void pageShouldSkipMatchesDeletedAfterTheirIdsWereRead() {
+        // Given
+        ReflectionTestUtils.setField(matchService, "maxPageSize", 100);
+        when(matchRepository.findFirstPageIds(any())).thenReturn(List.of(1L, 2L, 3L));
+        when(matchRepository.findRowsByIdIn(List.of(1L, 2L))).thenReturn(List.of(row(match, null, null, null)));
+
+        // When
+        CursorPageDTO<MatchDTO> page = matchService.getMatchesPage(null, 2);
+
+        // Then
+        assertEquals(List.of(1L), page.getItems().stream().map(MatchDTO::getId).toList());
+        assertTrue(page.isHasMore());
+        assertEquals(MatchCursor.after(matchDTO).encode(), page.getNextCursor());
+    }
+
+    private static MatchRow row(Match match, Long oddsId, String specifier, Double odd) {
+        return new MatchRow(match.getId(), match.getDescription(), match.getMatchDate(), match.getMatchTime(),
+                match.getTeamA(), match.getTeamB(), match.getSport(), match.getVersion(), match.getLastModified(),
+                oddsId, specifier, odd);
     }
-}
\ No newline at end of file
+}
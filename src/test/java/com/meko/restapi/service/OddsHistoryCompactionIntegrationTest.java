@@ -0,0 +1,89 @@
+package com.meko.restapi.service;
+
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.dto.MatchOddsDTO;
+import com.meko.restapi.dto.OddsHistoryPointDTO;
+import com.meko.restapi.dto.OddsHistorySeriesDTO;
+import com.meko.restapi.entity.OddsHistoryChunk;
+import com.meko.restapi.enumeration.Sport;
+import com.meko.restapi.repository.OddsHistoryChunkRepository;
+import com.meko.restapi.repository.OddsHistoryTickRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not transactional on purpose: compaction only sees committed ticks. The test profile
+ * pushes the scheduled run out of the way, so the test decides when ticks are compacted.
+ */
+@SpringBootTest(properties = "app.odds-history.compact-batch-size=3")
+@ActiveProfiles("test")
+class OddsHistoryCompactionIntegrationTest {
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private MatchOddsService matchOddsService;
+
+    @Autowired
+    private OddsHistoryService oddsHistoryService;
+
+    @Autowired
+    private OddsHistoryChunkRepository chunkRepository;
+
+    @Autowired
+    private OddsHistoryTickRepository tickRepository;
+
+    private Long matchId;
+
+    @AfterEach
+    void tearDown() {
+        if (matchId != null) {
+            matchService.deleteMatch(matchId);
+        }
+    }
+
+    @Test
+    void compactionShouldPackTheTicksIntoChunksWithoutChangingTheHistory() {
+        MatchDTO match = new MatchDTO();
+        match.setDescription("OSFP-PAO");
+        match.setMatchDate(LocalDate.now().plusDays(3));
+        match.setMatchTime(LocalTime.of(19, 30));
+        match.setTeamA("OSFP");
+        match.setTeamB("PAO");
+        match.setSport(Sport.FOOTBALL);
+        matchId = matchService.createMatch(match).getId();
+
+        MatchOddsDTO home = matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "1", 1.85));
+        matchOddsService.createMatchOdds(new MatchOddsDTO(null, matchId, "2", 3.10));
+        for (double odd : new double[]{1.80, 1.95, 2.00, 1.90}) {
+            matchOddsService.updateMatchOdds(home.getId(), new MatchOddsDTO(null, matchId, "1", odd));
+        }
+
+        Instant from = Instant.now().minus(1, ChronoUnit.HOURS);
+        Instant to = Instant.now().plus(1, ChronoUnit.HOURS);
+        List<OddsHistorySeriesDTO> recorded = oddsHistoryService.getHistory(matchId, from, to, null);
+        assertEquals(List.of(1.85, 1.80, 1.95, 2.00, 1.90), recorded.get(0).getPoints().stream()
+                .map(OddsHistoryPointDTO::getOdd).toList());
+
+        // batches of 3 ticks, so the first chunk of specifier 1 is extended by a later batch
+        oddsHistoryService.compactTicks();
+
+        assertTrue(tickRepository.findInRange(matchId, from, to).isEmpty());
+        List<OddsHistoryChunk> chunks = chunkRepository.findOverlapping(matchId, from, to);
+        assertEquals(List.of("1", "2"), chunks.stream().map(OddsHistoryChunk::getSpecifier).toList());
+        assertEquals(5, chunks.get(0).getTickCount());
+        assertEquals(recorded, oddsHistoryService.getHistory(matchId, from, to, null));
+    }
+}
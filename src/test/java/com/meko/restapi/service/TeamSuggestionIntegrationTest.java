@@ -0,0 +1,79 @@
+package com.meko.restapi.service;
+
+import com.meko.restapi.dto.MatchDTO;
+import com.meko.restapi.dto.TeamSuggestionDTO;
+import com.meko.restapi.enumeration.Sport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not transactional on purpose: the index only follows committed changes.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TeamSuggestionIntegrationTest {
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private TeamSuggestionService teamSuggestionService;
+
+    private Long matchId;
+
+    @BeforeEach
+    void setUp() {
+        MatchDTO matchDTO = new MatchDTO();
+        matchDTO.setDescription("Ηρακλής vs Άρης");
+        matchDTO.setMatchDate(LocalDate.now().plusDays(1));
+        matchDTO.setMatchTime(LocalTime.of(19, 0));
+        matchDTO.setTeamA("Ηρακλής");
+        matchDTO.setTeamB("Άρης Θεσσαλονίκης");
+        matchDTO.setSport(Sport.BASKETBALL);
+        matchId = matchService.createMatch(matchDTO).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (matchId != null) {
+            matchService.deleteMatch(matchId);
+        }
+    }
+
+    @Test
+    void createdMatchShouldBeSuggestedByAnyWordIgnoringAccents() {
+        assertEquals(List.of(new TeamSuggestionDTO("Άρης Θεσσαλονίκης", 1, List.of(matchId))),
+                teamSuggestionService.suggestTeams("θεσσαλον", null));
+        assertEquals(List.of("Ηρακλής"), teams("ΗΡΑΚΛΗΣ"));
+    }
+
+    @Test
+    void updatesAndDeletesShouldBeReflected() {
+        MatchDTO renamed = matchService.getMatchById(matchId);
+        renamed.setTeamA("Ηρακλής Αθηνών");
+        matchService.updateMatch(matchId, renamed);
+
+        assertEquals(List.of("Ηρακλής Αθηνών"), teams("αθην"));
+        assertEquals(List.of("Ηρακλής Αθηνών"), teams("ηρακλ"));
+
+        matchService.deleteMatch(matchId);
+        matchId = null;
+
+        assertTrue(teams("ηρακλ").isEmpty());
+        assertTrue(teams("αρη").isEmpty());
+    }
+
+    private List<String> teams(String prefix) {
+        return teamSuggestionService.suggestTeams(prefix, null).stream().map(TeamSuggestionDTO::getTeam).toList();
+    }
+}
@@ -0,0 +1,52 @@
+package com.meko.restapi.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hibernate statement inspector registered by the test profile. Every SQL statement
+ * Hibernate prepares passes through {@link #inspect(String)}, so tests can assert how
+ * many statements a request issued and catch N+1 regressions.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final AtomicInteger COUNT = new AtomicInteger();
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.incrementAndGet();
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.set(0);
+        STATEMENTS.clear();
+    }
+
+    public static int count() {
+        return COUNT.get();
+    }
+
+    /**
+     * The SQL of the statements counted since the last reset
+     */
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+
+    public static void assertStatementCount(int expected) {
+        assertEquals(expected, count(), "Unexpected number of SQL statements");
+    }
+
+    public static void assertStatementCountAtMost(int max) {
+        assertTrue(count() <= max, "Expected at most " + max + " SQL statements but got " + count());
+    }
+}
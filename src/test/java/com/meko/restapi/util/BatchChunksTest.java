@@ -0,0 +1,77 @@
+package com.meko.restapi.util;
+
+import com.meko.restapi.dto.BatchItemResultDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchChunksTest {
+
+    private final List<String> committed = new ArrayList<>();
+    private final List<Integer> chunkSizes = new ArrayList<>();
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate(new PlatformTransactionManager() {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    });
+
+    @Test
+    void aFailingItemShouldFailAloneAndTheOtherChunksShouldBeStored() {
+        List<BatchItemResultDTO> results = BatchChunks.write(transactionTemplate, items("a", "b", "c", "d", "bad", "f", "g"),
+                3, this::store);
+
+        assertEquals(IntStream.range(0, 7).boxed().toList(), results.stream().map(BatchItemResultDTO::getIndex).toList());
+        assertFalse(results.get(4).isSuccess());
+        assertTrue(results.get(4).getError().startsWith("Could not be stored: duplicate key"), results.get(4).getError());
+        assertEquals(6, results.stream().filter(BatchItemResultDTO::isSuccess).count());
+        assertEquals(List.of("a", "b", "c", "d", "f", "g"), committed);
+        // the failed chunk is retried one item at a time
+        assertEquals(List.of(3, 3, 1, 1, 1, 1), chunkSizes);
+    }
+
+    @Test
+    void insideTheCallersTransactionAFailureShouldBeRethrown() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThrows(DataIntegrityViolationException.class,
+                    () -> BatchChunks.write(transactionTemplate, items("a", "bad", "c"), 2, this::store));
+            assertEquals(List.of(2), chunkSizes);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+
+    private List<BatchItemResultDTO> store(List<BatchChunks.Item<String>> chunk) {
+        chunkSizes.add(chunk.size());
+        if (chunk.stream().anyMatch(item -> item.value().equals("bad"))) {
+            throw new DataIntegrityViolationException("could not execute batch",
+                    new IllegalStateException("duplicate key\nSQL statement: insert into ..."));
+        }
+        chunk.forEach(item -> committed.add(item.value()));
+        return chunk.stream().map(item -> BatchItemResultDTO.created(item.index(), (long) item.index())).toList();
+    }
+
+    private static List<BatchChunks.Item<String>> items(String... values) {
+        return IntStream.range(0, values.length).mapToObj(i -> new BatchChunks.Item<>(i, values[i])).toList();
+    }
+}
@@ -0,0 +1,46 @@
+package com.meko.restapi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+    @Test
+    void quotedFieldsMayContainCommasQuotesAndLineBreaks() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader(
+                "\uFEFFa,b,c\r\n\"x, y\",\"say \"\"hi\"\"\",\"two\nlines\"\n\n,,last\r\n"));
+
+        assertEquals(List.of("a", "b", "c"), csv.next());
+        assertEquals(1, csv.recordLine());
+        assertEquals(List.of("x, y", "say \"hi\"", "two\nlines"), csv.next());
+        assertEquals(2, csv.recordLine());
+        assertEquals(List.of("", "", "last"), csv.next());
+        assertEquals(5, csv.recordLine());
+        assertNull(csv.next());
+    }
+
+    @Test
+    void lastRecordNeedsNoLineBreak() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("1,X,3.1\r2,1,1.9"));
+
+        assertEquals(List.of("1", "X", "3.1"), csv.next());
+        assertEquals(List.of("2", "1", "1.9"), csv.next());
+        assertEquals(2, csv.recordLine());
+        assertNull(csv.next());
+    }
+
+    @Test
+    void unterminatedQuoteShouldFail() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("a,b\n\"open,1\n"));
+
+        assertEquals(List.of("a", "b"), csv.next());
+        EOFException e = assertThrows(EOFException.class, csv::next);
+        assertTrue(e.getMessage().contains("line 2"));
+    }
+}
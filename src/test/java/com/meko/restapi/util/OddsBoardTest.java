@@ -0,0 +1,75 @@
+package com.meko.restapi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OddsBoardTest {
+
+    @Test
+    void readsShouldReturnTheLatestVersionOfEachEntry() {
+        OddsBoard board = new OddsBoard();
+        board.put(1, 10, 0, "1", 1.85);
+        board.put(1, 11, 0, "X", 3.4);
+        board.put(2, 20, 0, "1", 2.2);
+        board.put(1, 10, 2, "1", 1.8);
+        // an update delivered after a later one is ignored
+        board.put(1, 10, 1, "1", 1.9);
+
+        assertEquals(List.of("1:10:1:1.8", "1:11:X:3.4"), read(board, 1));
+        assertEquals(List.of("2:20:1:2.2"), read(board, 2));
+        assertEquals(List.of(), read(board, 3));
+        assertEquals(2, board.matchCount());
+        assertTrue(board.contains(1, 11));
+        assertFalse(board.contains(2, 11));
+        assertEquals("X", board.specifierOf(1, 11));
+    }
+
+    @Test
+    void deletedEntriesShouldNotComeBackFromOlderWrites() {
+        OddsBoard board = new OddsBoard();
+        board.put(1, 10, 0, "1", 1.85);
+        board.remove(1, 10, 1);
+        board.put(1, 10, 1, "1", 1.7);
+        // a delete that arrives before the create it follows
+        board.remove(1, 11, 0);
+        board.put(1, 11, 0, "2", 4.0);
+
+        assertEquals(List.of(), read(board, 1));
+        assertFalse(board.contains(1, 10));
+        assertNull(board.specifierOf(1, 10));
+    }
+
+    @Test
+    void removedMatchShouldIgnoreLateWrites() {
+        OddsBoard board = new OddsBoard();
+        board.put(1, 10, 0, "1", 1.85);
+        board.removeMatch(1);
+        board.put(1, 11, 0, "X", 3.1);
+
+        assertEquals(List.of(), read(board, 1));
+        assertEquals(0, board.matchCount());
+    }
+
+    @Test
+    void fullBoardShouldVisitEveryLiveEntry() {
+        OddsBoard board = new OddsBoard();
+        board.put(1, 10, 0, "1", 1.85);
+        board.put(2, 20, 0, "O2.5", 1.95);
+        board.remove(2, 21, 0);
+
+        List<String> all = new ArrayList<>();
+        board.forEachOdds((matchId, oddsId, specifier, odd) -> all.add(matchId + ":" + oddsId + ":" + specifier + ":" + odd));
+        assertEquals(List.of("1:10:1:1.85", "2:20:O2.5:1.95"), all.stream().sorted().toList());
+    }
+
+    private static List<String> read(OddsBoard board, long matchId) {
+        List<String> entries = new ArrayList<>();
+        int count = board.forEachOdds(matchId, (id, oddsId, specifier, odd) -> entries.add(id + ":" + oddsId + ":" + specifier + ":" + odd));
+        assertEquals(entries.size(), count);
+        return entries;
+    }
+}
@@ -0,0 +1,95 @@
+package com.meko.restapi.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OddsJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopenedJournalShouldReplayEntriesNotYetDeleted() throws IOException {
+        try (OddsJournal journal = new OddsJournal(directory, true)) {
+            journal.append(new OddsJournal.Entry(10, 1, "1", 1.85));
+            long flushed = journal.rotate();
+            journal.append(new OddsJournal.Entry(11, 1, "X", 3.4));
+            journal.append(new OddsJournal.Entry(10, 1, "1", 1.8));
+            journal.deleteBefore(flushed);
+        }
+
+        try (OddsJournal journal = new OddsJournal(directory, false)) {
+            assertEquals(List.of(new OddsJournal.Entry(11, 1, "X", 3.4), new OddsJournal.Entry(10, 1, "1", 1.8)),
+                    journal.replay());
+        }
+    }
+
+    @Test
+    void concurrentSyncsShouldCoverEveryAppendedRecord() throws Exception {
+        ReentrantLock appendLock = new ReentrantLock();
+        try (OddsJournal journal = new OddsJournal(directory, true);
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int writer = 0; writer < 8; writer++) {
+                long matchId = writer;
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        long record;
+                        appendLock.lock();
+                        try {
+                            record = journal.append(new OddsJournal.Entry(i, matchId, "1", 1.5));
+                        } finally {
+                            appendLock.unlock();
+                        }
+                        journal.sync(record);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        }
+
+        try (OddsJournal journal = new OddsJournal(directory, false)) {
+            List<OddsJournal.Entry> replayed = journal.replay();
+            assertEquals(400, replayed.size());
+            assertEquals(400, new HashSet<>(replayed).size());
+        }
+    }
+
+    @Test
+    void tornRecordShouldEndTheReplayOfItsSegment() throws IOException {
+        try (OddsJournal journal = new OddsJournal(directory, false)) {
+            journal.append(new OddsJournal.Entry(20, 2, "O2.5", 1.95));
+            journal.append(new OddsJournal.Entry(21, 2, "U2.5", 1.9));
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try (OddsJournal journal = new OddsJournal(directory, false)) {
+            assertEquals(List.of(new OddsJournal.Entry(20, 2, "O2.5", 1.95)), journal.replay());
+        }
+    }
+}
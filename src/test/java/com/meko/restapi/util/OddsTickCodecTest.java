@@ -0,0 +1,57 @@
+package com.meko.restapi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OddsTickCodecTest {
+
+    @Test
+    void decodeShouldReplayAppendedTicks() {
+        long start = 1_711_886_400_000L;
+        long[][] ticks = {{start, 18_500}, {start + 250, 18_000}, {start + 250, 19_100}, {start + 3_600_000, 1_0000}};
+
+        byte[] payload = null;
+        long previousMillis = start;
+        long previousOdd = 0;
+        for (long[] tick : ticks) {
+            payload = OddsTickCodec.append(payload, tick[0] - previousMillis, tick[1] - previousOdd);
+            previousMillis = tick[0];
+            previousOdd = tick[1];
+        }
+
+        List<long[]> decoded = new ArrayList<>();
+        OddsTickCodec.decode(payload, start, (millis, odd) -> decoded.add(new long[]{millis, odd}));
+
+        assertEquals(ticks.length, decoded.size());
+        for (int i = 0; i < ticks.length; i++) {
+            assertArrayEquals(ticks[i], decoded.get(i));
+        }
+    }
+
+    @Test
+    void smallPriceMovesShouldTakeFewBytes() {
+        byte[] payload = OddsTickCodec.append(null, 0, OddsTickCodec.toFixedPoint(1.85));
+        int firstTickBytes = payload.length;
+
+        payload = OddsTickCodec.append(payload, 500, -OddsTickCodec.toFixedPoint(0.01));
+
+        assertTrue(payload.length - firstTickBytes <= 4);
+    }
+
+    @Test
+    void fixedPointShouldRoundTripFourDecimals() {
+        assertEquals(2.3456, OddsTickCodec.fromFixedPoint(OddsTickCodec.toFixedPoint(2.3456)));
+    }
+
+    @Test
+    void decodeShouldRejectTruncatedPayload() {
+        byte[] payload = OddsTickCodec.append(null, 1_000_000, 1_000_000);
+        byte[] truncated = java.util.Arrays.copyOf(payload, payload.length - 1);
+
+        assertThrows(IllegalArgumentException.class, () -> OddsTickCodec.decode(truncated, 0, (millis, odd) -> { }));
+    }
+}
@@ -0,0 +1,151 @@
+package com.meko.restapi.util;
+
+import com.meko.restapi.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final SingleFlight<Long, String> flight = new SingleFlight<>("test");
+
+    @Test
+    void concurrentCallersShouldShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> flight.load(1L, TIMEOUT, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return "value";
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                followers.add(executor.submit(() -> flight.load(1L, TIMEOUT, () -> {
+                    loads.incrementAndGet();
+                    return "own";
+                })));
+            }
+            waitUntil(() -> flight.getCollapsed() == 10);
+            release.countDown();
+
+            assertEquals("value", leader.get(5, TimeUnit.SECONDS));
+            for (Future<String> follower : followers) {
+                assertEquals("value", follower.get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, flight.getLoads());
+        assertEquals("next", flight.load(1L, TIMEOUT, () -> "next"));
+    }
+
+    @Test
+    void callerShouldLoadByItselfOnceTheTimeoutHasPassed() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> flight.load(1L, TIMEOUT, () -> {
+                loading.countDown();
+                await(release);
+                return "slow";
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            assertEquals("own", flight.load(1L, Duration.ofMillis(10), () -> "own"));
+            release.countDown();
+            assertEquals("slow", leader.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, flight.getTimeouts());
+    }
+
+    @Test
+    void failedLoadShouldFailItsFollowersButNotTheNextCaller() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> flight.load(1L, TIMEOUT, () -> {
+                loading.countDown();
+                await(release);
+                throw new ResourceNotFoundException("Match", "id", 1L);
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<String> follower = executor.submit(() -> flight.load(1L, TIMEOUT, () -> "own"));
+            waitUntil(() -> flight.getCollapsed() == 1);
+            release.countDown();
+
+            Exception leaderFailure = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+            Exception followerFailure = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(ResourceNotFoundException.class, leaderFailure.getCause());
+            assertInstanceOf(ResourceNotFoundException.class, followerFailure.getCause());
+        }
+        assertEquals("value", flight.load(1L, TIMEOUT, () -> "value"));
+    }
+
+    @Test
+    void forgottenKeyShouldStartANewLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> flight.load(1L, TIMEOUT, () -> {
+                loading.countDown();
+                await(release);
+                return "before the write";
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            flight.forget(key -> key == 1L);
+            assertEquals("after the write", flight.load(1L, TIMEOUT, () -> "after the write"));
+            release.countDown();
+            assertEquals("before the write", leader.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(2, flight.getLoads());
+        assertEquals(0, flight.getCollapsed());
+    }
+
+    @Test
+    void countersShouldBePublishedPerName() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        flight.bindTo(registry);
+        flight.load(1L, TIMEOUT, () -> "value");
+
+        assertEquals(1.0, registry.get("singleflight.loads").tag("name", "test").functionCounter().count());
+        assertEquals(0.0, registry.get("singleflight.collapsed").tag("name", "test").functionCounter().count());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.meko.restapi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TeamNameIndexTest {
+
+    @Test
+    void foldShouldIgnoreCaseAccentsAndPunctuation() {
+        assertEquals("olympiacos f c", TeamNameIndex.fold("  Olympiacos F.C. "));
+        assertEquals("atletico madrid", TeamNameIndex.fold("Atlético-Madrid"));
+        assertEquals(TeamNameIndex.fold("ΟΛΥΜΠΙΑΚΟΣ"), TeamNameIndex.fold("Ολυμπιακός"));
+    }
+
+    @Test
+    void suggestShouldRankExactThenNamePrefixThenWordPrefixThenMatchCount() {
+        TeamNameIndex index = new TeamNameIndex();
+        index.add("Real Madrid", 1);
+        index.add("Atlético Madrid", 2);
+        index.add("Atlético Madrid", 3);
+        index.add("Madrid", 4);
+        index.add("Madridistas", 5);
+        index.add("Madridistas", 6);
+        index.add("Madridistas", 7);
+
+        List<String> teams = index.suggest("MADRID", 10).stream().map(TeamNameIndex.Suggestion::team).toList();
+
+        assertEquals(List.of("Madrid", "Madridistas", "Atlético Madrid", "Real Madrid"), teams);
+        assertEquals(List.of("Madrid", "Madridistas"),
+                index.suggest("madrid", 2).stream().map(TeamNameIndex.Suggestion::team).toList());
+        assertEquals(List.of("Atlético Madrid"),
+                index.suggest("atletico m", 10).stream().map(TeamNameIndex.Suggestion::team).toList());
+    }
+
+    @Test
+    void addAndRemoveShouldBeIdempotentAndDropTeamsWithoutMatches() {
+        TeamNameIndex index = new TeamNameIndex();
+        index.add("PAOK", 9);
+        index.add("PAOK", 3);
+        index.add("PAOK", 3);
+        index.add("PAO", 5);
+
+        assertArrayEquals(new long[]{3, 9}, index.suggest("paok", 1).get(0).matchIds());
+        assertEquals(2, index.size());
+
+        index.remove("PAOK", 3);
+        index.remove("PAOK", 3);
+        assertArrayEquals(new long[]{9}, index.suggest("paok", 1).get(0).matchIds());
+
+        index.remove("PAOK", 9);
+        assertEquals(1, index.size());
+        assertEquals(List.of("PAO"), index.suggest("pa", 10).stream().map(TeamNameIndex.Suggestion::team).toList());
+        assertTrue(index.suggest("  ", 10).isEmpty());
+    }
+}